@@ -52,6 +52,12 @@ public interface AutomatedBrowser {
      */
     void destroy();
 
+    /**
+     * Return the browser to a clean state so it can be reused by another scenario. This closes any
+     * additional windows, clears cookies and storage, removes any proxy rules, and opens a blank page.
+     */
+    void resetSession();
+
     /**
      * Sleep for a period of seconds.
      *
@@ -10,20 +10,53 @@ import com.octopus.decorators.FirefoxDecorator;
 import com.octopus.decorators.HighlightDecorator;
 import com.octopus.decorators.ImplicitWaitDecorator;
 import com.octopus.decorators.MouseMovementDecorator;
+import com.octopus.decorators.TimingDecorator;
 import com.octopus.decorators.WebDriverDecorator;
+import com.octopus.exceptions.ConfigurationException;
+import com.octopus.utils.SystemPropertyUtils;
+import com.octopus.utils.impl.SystemPropertyUtilsImpl;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.commons.lang3.StringUtils;
 
 /**
  * A factory to create AutomatedBrowser instances with various configurations.
  */
 public class AutomatedBrowserFactory {
+    private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
+    /**
+     * Parsed chain definitions, keyed by spec, so each spec is only parsed and validated once.
+     */
+    private static final Map<String, BrowserChain> CHAIN_CACHE = new ConcurrentHashMap<>();
+    /**
+     * Named chains, keyed by the file they were loaded from.
+     */
+    private static final Map<String, Properties> NAMED_CHAINS = new ConcurrentHashMap<>();
 
     /**
      * Return a preconfigured AutomatedBrowser instance.
      *
-     * @param browser The name of the AutomatedBrowser to create
+     * @param browser The name of the AutomatedBrowser to create, the name of a chain defined in the
+     *                browserChainFile, or a chain spec like chrome(headless)+implicitWait(10)+proxy
      * @return a preconfigured AutomatedBrowser instance
      */
     public AutomatedBrowser getAutomatedBrowser(final String browser) {
+        final AutomatedBrowser automatedBrowser = createAutomatedBrowser(browser);
+
+        // A chain with a timing term is already timed where its spec asked, so it is not timed twice
+        return SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(Constants.ENABLE_TIMING, false) && !isTimedChain(browser)
+                ? TimingDecorator.decorate("", automatedBrowser)
+                : automatedBrowser;
+    }
+
+    private AutomatedBrowser createAutomatedBrowser(final String browser) {
 
         if ("Chrome".equalsIgnoreCase(browser)) {
             return getChromeBrowser(false);
@@ -41,6 +74,22 @@ public class AutomatedBrowserFactory {
             return getFirefoxBrowser(true);
         }
 
+        if ("ChromeHeadlessFast".equalsIgnoreCase(browser)) {
+            return getChromeBrowserFast(true);
+        }
+
+        if ("ChromeHeadlessFastNoProxy".equalsIgnoreCase(browser)) {
+            return getChromeBrowserFast(false);
+        }
+
+        if ("FirefoxHeadlessFast".equalsIgnoreCase(browser)) {
+            return getFirefoxBrowserFast(true);
+        }
+
+        if ("FirefoxHeadlessFastNoProxy".equalsIgnoreCase(browser)) {
+            return getFirefoxBrowserFast(false);
+        }
+
         if ("ChromeNoImplicitWait".equalsIgnoreCase(browser)) {
             return getChromeBrowserNoImplicitWait();
         }
@@ -77,144 +126,165 @@ public class AutomatedBrowserFactory {
             return getChromeBrowserNoImplicitWaitLambda(true);
         }
 
+        if ("ChromeHeadlessFastLambda".equalsIgnoreCase(browser)) {
+            return getChromeBrowserFastLambda();
+        }
+
         if ("ChromeNoImplicitWaitLambda".equalsIgnoreCase(browser)) {
             return getChromeBrowserNoImplicitWaitLambda(false);
         }
 
-        throw new IllegalArgumentException("Unknown browser " + browser);
+        return getChainBrowser(browser)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown browser " + browser));
+    }
+
+    /**
+     * Build a browser from a named chain in the chain definitions file, or from a spec string
+     * like <code>chrome(headless)+implicitWait(10)+proxy</code>.
+     *
+     * @param browser The name of a chain, or a chain spec.
+     * @return The browser, or empty if the browser is neither a named chain nor a spec.
+     */
+    private Optional<AutomatedBrowser> getChainBrowser(final String browser) {
+        return getChain(browser).map(BrowserChain::build);
+    }
+
+    /**
+     * @param browser The name of a chain, or a chain spec.
+     * @return The parsed chain, or empty if the browser is neither a named chain nor a spec.
+     */
+    private Optional<BrowserChain> getChain(final String browser) {
+        return Optional.ofNullable(browser)
+                .map(getNamedChains()::getProperty)
+                .or(() -> Optional.ofNullable(browser).filter(b -> StringUtils.containsAny(b, "+(")))
+                .map(s -> CHAIN_CACHE.computeIfAbsent(s, BrowserChain::parse));
+    }
+
+    /**
+     * @param browser The name of a chain, or a chain spec.
+     * @return true if the browser is a chain that includes the timing term.
+     */
+    private boolean isTimedChain(final String browser) {
+        return getChain(browser)
+                .map(chain -> chain.hasDecorator(BrowserChain.Term.TIMING))
+                .orElse(false);
+    }
+
+    /**
+     * @return The named chains defined in the file referenced by the browserChainFile system property.
+     */
+    private Properties getNamedChains() {
+        return NAMED_CHAINS.computeIfAbsent(
+                SYSTEM_PROPERTY_UTILS.getPropertyNullAsEmpty(Constants.BROWSER_CHAIN_FILE),
+                file -> {
+                    final Properties properties = new Properties();
+                    if (StringUtils.isNotBlank(file)) {
+                        try (Reader reader = Files.newBufferedReader(Paths.get(file))) {
+                            properties.load(reader);
+                        } catch (final IOException ex) {
+                            throw new ConfigurationException("Failed to read the browser chain file " + file, ex);
+                        }
+                    }
+                    return properties;
+                });
     }
 
     private AutomatedBrowser getChromeBrowser(final boolean headless) {
-        return new ChromeDecorator(headless,
-                new ImplicitWaitDecorator(10,
-                        new BrowserMobDecorator(
-                                new MouseMovementDecorator(
-                                        new HighlightDecorator(
-                                                new WebDriverDecorator()
-                                        )
-                                )
-                        )
-                )
-        );
+        final BrowserProfile profile = new BrowserProfile(headless, true, true, 10);
+        return buildBrowser(profile, browser -> new ChromeDecorator(headless, browser));
     }
 
     private AutomatedBrowser getFirefoxBrowser(final boolean headless) {
-        return new FirefoxDecorator(headless,
-                new ImplicitWaitDecorator(10,
-                        new BrowserMobDecorator(
-                                new MouseMovementDecorator(
-                                        new HighlightDecorator(
-                                                new WebDriverDecorator()
-                                        )
-                                )
-                        )
-                )
-        );
+        final BrowserProfile profile = new BrowserProfile(headless, true, true, 10);
+        return buildBrowser(profile, browser -> new FirefoxDecorator(headless, browser));
+    }
+
+    private AutomatedBrowser getChromeBrowserFast(final boolean proxy) {
+        final BrowserProfile profile = new BrowserProfile(true, false, proxy, 10);
+        return buildBrowser(profile, browser -> new ChromeDecorator(true, browser));
+    }
+
+    private AutomatedBrowser getFirefoxBrowserFast(final boolean proxy) {
+        final BrowserProfile profile = new BrowserProfile(true, false, proxy, 10);
+        return buildBrowser(profile, browser -> new FirefoxDecorator(true, browser));
     }
 
     private AutomatedBrowser getChromeBrowserNoImplicitWait() {
-        return new ChromeDecorator(
-                new BrowserMobDecorator(
-                        new MouseMovementDecorator(
-                                new HighlightDecorator(
-                                        new WebDriverDecorator()
-                                )
-                        )
-                )
-        );
+        final BrowserProfile profile = new BrowserProfile(false, true, true, 0);
+        return buildBrowser(profile, ChromeDecorator::new);
     }
 
     private AutomatedBrowser getChromeBrowserNoImplicitWaitNoProxy() {
-        return new ChromeDecorator(
-            new MouseMovementDecorator(
-                    new HighlightDecorator(
-                            new WebDriverDecorator()
-                    )
-            )
-        );
+        final BrowserProfile profile = new BrowserProfile(false, true, false, 0);
+        return buildBrowser(profile, ChromeDecorator::new);
     }
 
     private AutomatedBrowser getFirefoxBrowserNoImplicitWait() {
-        return new FirefoxDecorator(
-                new BrowserMobDecorator(
-                        new MouseMovementDecorator(
-                                new HighlightDecorator(
-                                        new WebDriverDecorator()
-                                )
-                        )
-                )
-        );
+        final BrowserProfile profile = new BrowserProfile(false, true, true, 0);
+        return buildBrowser(profile, FirefoxDecorator::new);
     }
 
     private AutomatedBrowser getFirefoxBrowserNoImplicitWaitNoProxy() {
-        return new FirefoxDecorator(
-                new MouseMovementDecorator(
-                        new HighlightDecorator(
-                                new WebDriverDecorator()
-                        )
-                )
-        );
+        final BrowserProfile profile = new BrowserProfile(false, true, false, 0);
+        return buildBrowser(profile, FirefoxDecorator::new);
     }
 
     private AutomatedBrowser getBrowserStackEdge() {
-        return new BrowserStackDecorator(
-                new BrowserStackEdgeDecorator(
-                        new ImplicitWaitDecorator(10,
-                                new MouseMovementDecorator(
-                                        new HighlightDecorator(
-                                                new WebDriverDecorator()
-                                        )
-                                )
-                        )
-                )
-        );
+        final BrowserProfile profile = new BrowserProfile(false, true, false, 10);
+        return buildBrowser(profile, browser -> new BrowserStackDecorator(new BrowserStackEdgeDecorator(browser)));
     }
 
     private AutomatedBrowser getBrowserStackEdgeNoImplicitWait() {
-        return new BrowserStackDecorator(
-                new BrowserStackEdgeDecorator(
-                        new MouseMovementDecorator(
-                                new HighlightDecorator(
-                                        new WebDriverDecorator()
-                                )
-                        )
-                )
-        );
+        final BrowserProfile profile = new BrowserProfile(false, true, false, 0);
+        return buildBrowser(profile, browser -> new BrowserStackDecorator(new BrowserStackEdgeDecorator(browser)));
     }
 
     private AutomatedBrowser getBrowserStackAndroid() {
-        return new BrowserStackDecorator(
-                new BrowserStackAndroidDecorator(
-                        new ImplicitWaitDecorator(10,
-                                new MouseMovementDecorator(
-                                        new HighlightDecorator(
-                                                new WebDriverDecorator()
-                                        )
-                                )
-                        )
-                )
-        );
+        final BrowserProfile profile = new BrowserProfile(false, true, false, 10);
+        return buildBrowser(profile, browser -> new BrowserStackDecorator(new BrowserStackAndroidDecorator(browser)));
     }
 
     private AutomatedBrowser getBrowserStackAndroidNoImplicitWait() {
-        return new BrowserStackDecorator(
-                new BrowserStackAndroidDecorator(
-                        new MouseMovementDecorator(
-                                new HighlightDecorator(
-                                        new WebDriverDecorator()
-                                )
-                        )
-                )
-        );
+        final BrowserProfile profile = new BrowserProfile(false, true, false, 0);
+        return buildBrowser(profile, browser -> new BrowserStackDecorator(new BrowserStackAndroidDecorator(browser)));
     }
 
     private AutomatedBrowser getChromeBrowserNoImplicitWaitLambda(final boolean headless) {
-        return new ChromeLambdaDecorator(headless,
-                new MouseMovementDecorator(
-                        new HighlightDecorator(
-                                new WebDriverDecorator()
-                        )
-                )
-        );
-    }
-}
\ No newline at end of file
+        final BrowserProfile profile = new BrowserProfile(headless, true, false, 0);
+        return buildBrowser(profile, browser -> new ChromeLambdaDecorator(headless, browser));
+    }
+
+    private AutomatedBrowser getChromeBrowserFastLambda() {
+        final BrowserProfile profile = new BrowserProfile(true, false, false, 0);
+        return buildBrowser(profile, browser -> new ChromeLambdaDecorator(true, browser));
+    }
+
+    /**
+     * Build a decorator chain from the capabilities of a profile. Decorators that have no effect
+     * for the profile are left out of the chain entirely, so they add no element lookups or
+     * script calls.
+     *
+     * @param profile The capabilities of the browser.
+     * @param driver  A function that wraps the chain in the decorators that create the driver.
+     * @return The complete decorator chain.
+     */
+    private AutomatedBrowser buildBrowser(
+            final BrowserProfile profile,
+            final Function<AutomatedBrowser, AutomatedBrowser> driver) {
+        AutomatedBrowser browser = new WebDriverDecorator();
+
+        if (profile.isInteractive()) {
+            browser = new MouseMovementDecorator(new HighlightDecorator(browser));
+        }
+
+        if (profile.isProxy()) {
+            browser = new BrowserMobDecorator(browser);
+        }
+
+        if (profile.getImplicitWait() > 0) {
+            browser = new ImplicitWaitDecorator(profile.getImplicitWait(), browser);
+        }
+
+        return driver.apply(browser);
+    }
+}
@@ -0,0 +1,302 @@
+package com.octopus;
+
+import com.octopus.decorators.BrowserMobDecorator;
+import com.octopus.decorators.BrowserStackAndroidDecorator;
+import com.octopus.decorators.BrowserStackDecorator;
+import com.octopus.decorators.BrowserStackEdgeDecorator;
+import com.octopus.decorators.ChromeDecorator;
+import com.octopus.decorators.ChromeLambdaDecorator;
+import com.octopus.decorators.FirefoxDecorator;
+import com.octopus.decorators.HighlightDecorator;
+import com.octopus.decorators.ImplicitWaitDecorator;
+import com.octopus.decorators.MouseMovementDecorator;
+import com.octopus.decorators.TimingDecorator;
+import com.octopus.decorators.WebDriverDecorator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A decorator chain definition parsed from a spec string like
+ * <code>chrome(headless)+implicitWait(10)+proxy+highlight</code>.
+ *
+ * <p>The spec lists a single driver term followed by any number of decorator terms. The terms
+ * can be written in any order after the driver, as the chain is always assembled in the same
+ * order as the chains built by AutomatedBrowserFactory. A WebDriverDecorator is always the
+ * innermost decorator.</p>
+ *
+ * <p>Every interaction, including hovering over and focusing on elements, is performed by the
+ * WebDriverDecorator, so the other terms only change how the interactions look or are timed. A chain
+ * without mouseMovement performs the same steps without gliding the cursor to each element.</p>
+ *
+ * <p>The timing term is the exception, as it can wrap the outside of the chain, the inside of
+ * the chain, or both, with timing(outer), timing(inner) or timing(both).</p>
+ *
+ * <p>Definitions are immutable, so they can be parsed once and used to build any number of
+ * browsers.</p>
+ */
+public class BrowserChain {
+    private static final String TIMING_OUTER = "outer";
+    private static final String TIMING_INNER = "inner";
+    private static final String TIMING_BOTH = "both";
+    private static final Pattern TERM_RE = Pattern.compile("^\\s*([A-Za-z]+)\\s*(?:\\(([^()]*)\\))?\\s*$");
+
+    /**
+     * The terms that can appear in a spec.
+     */
+    public enum Term {
+        CHROME("chrome", true),
+        CHROME_LAMBDA("chromeLambda", true),
+        FIREFOX("firefox", true),
+        BROWSER_STACK_EDGE("browserStackEdge", true),
+        BROWSER_STACK_ANDROID("browserStackAndroid", true),
+        TIMING("timing", false),
+        IMPLICIT_WAIT("implicitWait", false),
+        PROXY("proxy", false),
+        MOUSE_MOVEMENT("mouseMovement", false),
+        HIGHLIGHT("highlight", false);
+
+        private final String specName;
+        private final boolean driver;
+
+        Term(final String specName, final boolean driver) {
+            this.specName = specName;
+            this.driver = driver;
+        }
+
+        public String getSpecName() {
+            return specName;
+        }
+
+        public boolean isDriver() {
+            return driver;
+        }
+
+        public static Optional<Term> fromSpecName(final String specName) {
+            return Arrays.stream(values())
+                    .filter(t -> t.specName.equalsIgnoreCase(specName))
+                    .findFirst();
+        }
+    }
+
+    private final Term driver;
+    private final boolean headless;
+    private final int implicitWait;
+    private final String timing;
+    private final Set<Term> decorators;
+
+    private BrowserChain(final Term driver,
+                         final boolean headless,
+                         final int implicitWait,
+                         final String timing,
+                         final Set<Term> decorators) {
+        this.driver = driver;
+        this.headless = headless;
+        this.implicitWait = implicitWait;
+        this.timing = timing;
+        this.decorators = decorators;
+    }
+
+    /**
+     * Parse and validate a spec string.
+     *
+     * @param spec The spec string, made up of terms separated by a plus sign.
+     * @return The chain definition.
+     * @throws IllegalArgumentException if the spec is invalid.
+     */
+    public static BrowserChain parse(final String spec) {
+        if (StringUtils.isBlank(spec)) {
+            throw new IllegalArgumentException("The browser chain spec can not be empty");
+        }
+
+        Term driver = null;
+        boolean headless = false;
+        int implicitWait = 0;
+        String timing = null;
+        final Set<Term> decorators = EnumSet.noneOf(Term.class);
+
+        final String[] terms = spec.split("\\+", -1);
+        for (int i = 0; i < terms.length; ++i) {
+            final Matcher matcher = TERM_RE.matcher(terms[i]);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("The term \"" + terms[i].trim()
+                        + "\" in the browser chain spec \"" + spec + "\" is invalid");
+            }
+
+            final String name = matcher.group(1);
+            final String argument = StringUtils.trimToNull(matcher.group(2));
+            final Term term = Term.fromSpecName(name)
+                    .orElseThrow(() -> new IllegalArgumentException("The term \"" + name
+                            + "\" in the browser chain spec \"" + spec + "\" is not recognised"));
+
+            if (term.isDriver()) {
+                if (driver != null) {
+                    throw new IllegalArgumentException("The browser chain spec \"" + spec
+                            + "\" can only define one driver, but defines both " + driver.getSpecName()
+                            + " and " + term.getSpecName());
+                }
+                if (i != 0) {
+                    throw new IllegalArgumentException("The driver " + term.getSpecName()
+                            + " must be the first term in the browser chain spec \"" + spec + "\"");
+                }
+                driver = term;
+                headless = parseDriverArgument(spec, term, argument);
+            } else {
+                if (!decorators.add(term)) {
+                    throw new IllegalArgumentException("The term " + term.getSpecName()
+                            + " appears more than once in the browser chain spec \"" + spec + "\"");
+                }
+                if (term == Term.IMPLICIT_WAIT) {
+                    implicitWait = parseImplicitWait(spec, argument);
+                } else if (term == Term.TIMING) {
+                    timing = parseTiming(spec, argument);
+                } else if (argument != null) {
+                    throw new IllegalArgumentException("The term " + term.getSpecName()
+                            + " in the browser chain spec \"" + spec + "\" does not accept an argument");
+                }
+            }
+        }
+
+        if (driver == null) {
+            throw new IllegalArgumentException("The browser chain spec \"" + spec
+                    + "\" must start with a driver, like chrome or firefox");
+        }
+
+        if (isRemote(driver) && decorators.contains(Term.PROXY)) {
+            throw new IllegalArgumentException("The browser chain spec \"" + spec
+                    + "\" can not use a proxy with " + driver.getSpecName()
+                    + ", as the remote browser can not reach the local proxy");
+        }
+
+        return new BrowserChain(driver, headless, implicitWait, timing, decorators);
+    }
+
+    private static boolean parseDriverArgument(final String spec, final Term driver, final String argument) {
+        if (argument == null) {
+            return false;
+        }
+
+        if (isRemote(driver) || !"headless".equalsIgnoreCase(argument)) {
+            throw new IllegalArgumentException("The driver " + driver.getSpecName()
+                    + " in the browser chain spec \"" + spec + "\" does not accept the argument \""
+                    + argument + "\"");
+        }
+
+        return true;
+    }
+
+    private static int parseImplicitWait(final String spec, final String argument) {
+        final int implicitWait = Optional.ofNullable(argument)
+                .filter(a -> a.matches("\\d+"))
+                .map(Integer::parseInt)
+                .orElse(0);
+
+        if (implicitWait <= 0) {
+            throw new IllegalArgumentException("The term implicitWait in the browser chain spec \""
+                    + spec + "\" requires a positive number of seconds, like implicitWait(10)");
+        }
+
+        return implicitWait;
+    }
+
+    private static String parseTiming(final String spec, final String argument) {
+        final String timing = StringUtils.defaultIfBlank(argument, TIMING_OUTER).toLowerCase();
+
+        if (!List.of(TIMING_OUTER, TIMING_INNER, TIMING_BOTH).contains(timing)) {
+            throw new IllegalArgumentException("The term timing in the browser chain spec \""
+                    + spec + "\" accepts one of outer, inner or both, but was given \"" + argument + "\"");
+        }
+
+        return timing;
+    }
+
+    private static boolean isRemote(final Term driver) {
+        return driver == Term.BROWSER_STACK_EDGE || driver == Term.BROWSER_STACK_ANDROID;
+    }
+
+    public Term getDriver() {
+        return driver;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public int getImplicitWait() {
+        return implicitWait;
+    }
+
+    public boolean hasDecorator(final Term term) {
+        return decorators.contains(term);
+    }
+
+    /**
+     * @return The spec with the terms in the order the chain is assembled, from the outermost
+     * decorator to the innermost.
+     */
+    public String getCanonicalSpec() {
+        final List<String> terms = new ArrayList<>();
+        terms.add(driver.getSpecName() + (headless ? "(headless)" : ""));
+        for (final Term term : decorators) {
+            terms.add(switch (term) {
+                case IMPLICIT_WAIT -> term.getSpecName() + "(" + implicitWait + ")";
+                case TIMING -> term.getSpecName() + "(" + timing + ")";
+                default -> term.getSpecName();
+            });
+        }
+        return String.join("+", terms);
+    }
+
+    /**
+     * Build a new decorator chain from this definition.
+     *
+     * @return The outermost decorator of the chain.
+     */
+    public AutomatedBrowser build() {
+        AutomatedBrowser browser = new WebDriverDecorator();
+
+        if (TIMING_INNER.equals(timing) || TIMING_BOTH.equals(timing)) {
+            browser = TimingDecorator.decorate(TIMING_INNER, browser);
+        }
+
+        if (hasDecorator(Term.HIGHLIGHT)) {
+            browser = new HighlightDecorator(browser);
+        }
+
+        if (hasDecorator(Term.MOUSE_MOVEMENT)) {
+            browser = new MouseMovementDecorator(browser);
+        }
+
+        if (hasDecorator(Term.PROXY)) {
+            browser = new BrowserMobDecorator(browser);
+        }
+
+        if (hasDecorator(Term.IMPLICIT_WAIT)) {
+            browser = new ImplicitWaitDecorator(implicitWait, browser);
+        }
+
+        final AutomatedBrowser driverBrowser = switch (driver) {
+            case CHROME -> new ChromeDecorator(headless, browser);
+            case CHROME_LAMBDA -> new ChromeLambdaDecorator(headless, browser);
+            case FIREFOX -> new FirefoxDecorator(headless, browser);
+            case BROWSER_STACK_EDGE -> new BrowserStackDecorator(new BrowserStackEdgeDecorator(browser));
+            case BROWSER_STACK_ANDROID -> new BrowserStackDecorator(new BrowserStackAndroidDecorator(browser));
+            default -> throw new IllegalStateException("The term " + driver.getSpecName() + " is not a driver");
+        };
+
+        return TIMING_OUTER.equals(timing) || TIMING_BOTH.equals(timing)
+                ? TimingDecorator.decorate(TIMING_OUTER, driverBrowser)
+                : driverBrowser;
+    }
+
+    @Override
+    public String toString() {
+        return getCanonicalSpec();
+    }
+}
@@ -0,0 +1,58 @@
+package com.octopus;
+
+/**
+ * The capabilities of a browser profile, which determine which decorators make up its chain.
+ */
+public class BrowserProfile {
+    /**
+     * true if the browser runs without a visible window.
+     */
+    private final boolean headless;
+    /**
+     * true if the session is recorded or watched, so visual feedback like highlights and
+     * mouse movement is worth the extra round trips.
+     */
+    private final boolean recording;
+    /**
+     * true if traffic is routed through the BrowserMob proxy.
+     */
+    private final boolean proxy;
+    /**
+     * The implicit wait time in seconds, or 0 to leave implicit waits disabled.
+     */
+    private final int implicitWait;
+
+    public BrowserProfile(final boolean headless,
+                          final boolean recording,
+                          final boolean proxy,
+                          final int implicitWait) {
+        this.headless = headless;
+        this.recording = recording;
+        this.proxy = proxy;
+        this.implicitWait = implicitWait;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    public boolean isProxy() {
+        return proxy;
+    }
+
+    public int getImplicitWait() {
+        return implicitWait;
+    }
+
+    /**
+     * @return true if someone can see the browser, either on screen or in a recording, and so the
+     * highlight and mouse movement decorators are included in the chain.
+     */
+    public boolean isInteractive() {
+        return !headless || recording;
+    }
+}
@@ -181,4 +181,164 @@ public class Constants {
      * by the "simple by" lookup.
      */
     public static final String SAVE_SCREENSHOTS_OF_MATCHED_ELEMENTS = "saveScreenshotsOfMatchedMethods";
+
+    /**
+     * The system property defining the maximum number of locators whose matching strategy is cached
+     * by the "simple by" lookup.
+     */
+    public static final String LOCATOR_STRATEGY_CACHE_SIZE = "locatorStrategyCacheSize";
+    /**
+     * The default size of the locator strategy cache.
+     */
+    public static final int DEFAULT_LOCATOR_STRATEGY_CACHE_SIZE = 1000;
+
+    /**
+     * The system property pointing to a properties file of named browser chains, where each
+     * value is a chain spec like chrome(headless)+implicitWait(10)+proxy.
+     */
+    public static final String BROWSER_CHAIN_FILE = "browserChainFile";
+
+    /**
+     * The system property that can be set to wrap every browser in a TimingDecorator.
+     */
+    public static final String ENABLE_TIMING = "enableTiming";
+    /**
+     * The system property defining the JSON file that command latencies are written to. If it is not
+     * set, the latencies are written next to the Cucumber output files.
+     */
+    public static final String TIMING_REPORT_FILE = "timingReportFile";
+    /**
+     * The name of the command latency report written next to the Cucumber output files.
+     */
+    public static final String DEFAULT_TIMING_REPORT_FILE_NAME = "timings.json";
+
+    /**
+     * The system property defining how many idle browsers are kept warm for each browser name. Browsers
+     * are not pooled if this is 0.
+     */
+    public static final String BROWSER_POOL_SIZE = "browserPoolSize";
+    /**
+     * The default browser pool size.
+     */
+    public static final int DEFAULT_BROWSER_POOL_SIZE = 0;
+
+    /**
+     * The system property that can be set to true to share long-lived chromedriver and geckodriver services,
+     * instead of starting a new driver process for every browser.
+     */
+    public static final String SHARE_DRIVER_SERVICES = "shareDriverServices";
+
+    /**
+     * The system property that can be set to clone new Chrome profiles from a warmed profile template.
+     */
+    public static final String CHROME_PROFILE_TEMPLATE = "chromeProfileTemplate";
+    /**
+     * The system property defining a comma separated list of URLs opened when building a Chrome profile
+     * template, to cache the static assets of the site under test.
+     */
+    public static final String CHROME_PROFILE_TEMPLATE_URLS = "chromeProfileTemplateUrls";
+    /**
+     * The system property defining how long, in milliseconds, Chrome is left running to initialise a
+     * profile template.
+     */
+    public static final String CHROME_PROFILE_TEMPLATE_WARM_TIME = "chromeProfileTemplateWarmTime";
+    /**
+     * The default time to leave Chrome running to initialise a profile template.
+     */
+    public static final int DEFAULT_CHROME_PROFILE_TEMPLATE_WARM_TIME = 5000;
+
+    /**
+     * The system property that can be set to start the proxy and browser synchronously in the
+     * "I open the browser" step, rather than in the background.
+     */
+    public static final String DISABLE_ASYNC_BROWSER_STARTUP = "disableAsyncBrowserStartup";
+
+    /**
+     * The system property that can be set to true to shut down the browser after a failed scenario,
+     * rather than resetting it for the next scenario. Failed browsers are always shut down when browsers
+     * are not pooled.
+     */
+    public static final String QUIT_BROWSER_ON_FAILURE = "quitBrowserOnFailure";
+
+    /**
+     * The system property defining how many threads Cucumber runs scenarios with. Each thread runs its
+     * own browser.
+     */
+    public static final String CUCUMBER_THREADS = "cucumberThreads";
+    /**
+     * The default number of threads to run scenarios with.
+     */
+    public static final int DEFAULT_CUCUMBER_THREADS = 1;
+
+    /**
+     * The system property listing the browsers to run the features against in parallel, separated by commas.
+     * Each browser overrides the browser opened by the features.
+     */
+    public static final String BROWSER_TARGETS = "browserTargets";
+
+    /**
+     * The system property defining how many child JVMs to split the scenarios between. The scenarios are run
+     * in this JVM if this is less than 2.
+     */
+    public static final String SHARD_WORKERS = "shardWorkers";
+    /**
+     * The system property listing the X displays to assign to the shard workers, separated by commas, like
+     * ":99,:100". The workers inherit the display of this JVM if this is not set.
+     */
+    public static final String SHARD_DISPLAYS = "shardDisplays";
+    /**
+     * The system property defining the file that records the duration of each scenario, used to balance the
+     * scenarios between shard workers.
+     */
+    public static final String SHARD_TIMINGS_FILE = "shardTimingsFile";
+    /**
+     * The default shard timings file.
+     */
+    public static final String DEFAULT_SHARD_TIMINGS_FILE = "scenario-timings.json";
+
+    /**
+     * The system property that, when set to true, runs every nested feature in a new Cucumber runtime
+     * instead of calling the step definitions of this runtime directly.
+     */
+    public static final String DISABLE_IN_PROCESS_FEATURES = "disableInProcessFeatures";
+
+    /**
+     * The system property defining the loopback port to listen on for features to run. When set, the application
+     * stays running as a daemon, keeping the JVM, driver services and pooled browsers warm between runs.
+     */
+    public static final String DAEMON_PORT = "daemonPort";
+    /**
+     * The system property defining the URL of a running daemon, like http://localhost:9515. When set, the
+     * application passes its arguments and -D system properties to the daemon and streams back the output rather
+     * than running the features itself. Relative paths in the arguments are resolved against the working
+     * directory of the application, but relative paths in system properties resolve against the daemon's.
+     */
+    public static final String DAEMON_URL = "daemonUrl";
+
+    /**
+     * The system property defining the URL of the zip package holding the build of headless Chrome run by Lambda.
+     */
+    public static final String CHROME_HEADLESS_PACKAGE = "chromeHeadlessPackage";
+    /**
+     * The default headless Chrome package.
+     */
+    public static final String DEFAULT_CHROME_HEADLESS_PACKAGE =
+            "http://bamboo-support.s3.amazonaws.com/chrome-68-stable/stable-headless-chromium-amazonlinux-2017-03.zip";
+    /**
+     * The system property defining the expected SHA-256 checksum of the headless Chrome package.
+     */
+    public static final String CHROME_HEADLESS_PACKAGE_SHA256 = "chromeHeadlessPackageSha256";
+    /**
+     * The system property defining the URL of the zip package holding the Chrome driver run by Lambda.
+     */
+    public static final String CHROME_DRIVER_PACKAGE = "chromeDriverPackage";
+    /**
+     * The default Chrome driver package, which matches the version of the default headless Chrome package.
+     */
+    public static final String DEFAULT_CHROME_DRIVER_PACKAGE =
+            "http://bamboo-support.s3.amazonaws.com/chrome-68-stable/chromedriver_linux64.zip";
+    /**
+     * The system property defining the expected SHA-256 checksum of the Chrome driver package.
+     */
+    public static final String CHROME_DRIVER_PACKAGE_SHA256 = "chromeDriverPackageSha256";
 }
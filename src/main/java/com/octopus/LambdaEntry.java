@@ -3,16 +3,31 @@ package com.octopus;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.amazonaws.services.lambda.runtime.Context;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.octopus.decoratorbase.AutomatedBrowserBase;
 import com.octopus.eventhandlers.EventHandler;
 import com.octopus.eventhandlers.impl.SeqLogging;
 import com.octopus.eventhandlers.impl.SlackWebHook;
 import com.octopus.eventhandlers.impl.UploadToS3;
+import com.octopus.utils.BinaryCache;
+import com.octopus.utils.BrowserPool;
 import com.octopus.utils.EnvironmentAliasesProcessor;
-import com.octopus.utils.ZipUtils;
-import com.octopus.utils.impl.AutoDeletingTempDir;
+import com.octopus.utils.EventHandlerDispatcher;
+import com.octopus.utils.MultiBrowserRunner;
+import com.octopus.utils.ScenarioRerunner;
+import com.octopus.utils.SystemPropertyUtils;
 import com.octopus.utils.impl.AutoDeletingTempFile;
+import com.octopus.utils.impl.BinaryCacheImpl;
+import com.octopus.utils.impl.BrowserPoolImpl;
+import com.octopus.utils.impl.DaemonExecutor;
 import com.octopus.utils.impl.EnvironmentAliasesProcessorImpl;
-import com.octopus.utils.impl.ZipUtilsImpl;
+import com.octopus.utils.impl.EventHandlerDispatcherImpl;
+import com.octopus.utils.impl.MultiBrowserRunnerImpl;
+import com.octopus.utils.impl.ScenarioRerunnerImpl;
+import com.octopus.utils.impl.SystemPropertyUtilsImpl;
 import io.vavr.control.Try;
 import java.io.File;
 import java.io.IOException;
@@ -21,10 +36,22 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.commons.lang3.tuple.Pair;
 
 /**
  * The entry class when this application is called from an AWS Lambda.
@@ -36,9 +63,34 @@ public class LambdaEntry {
     private static final EnvironmentAliasesProcessor ENVIRONMENT_ALIASES_PROCESSOR =
             new EnvironmentAliasesProcessorImpl();
     /**
-     * A shared ZipUtilsImpl instance.
+     * A shared BinaryCacheImpl instance.
      */
-    private static final ZipUtils ZIP_UTILS = new ZipUtilsImpl();
+    private static final BinaryCache BINARY_CACHE = new BinaryCacheImpl();
+    /**
+     * The directories holding the inputs of event handlers that have not finished yet. They may still be
+     * running from a previous invocation, so these directories survive the cleanup of the temp folder.
+     */
+    private static final Set<File> PENDING_HANDLER_OUTPUTS = ConcurrentHashMap.newKeySet();
+    /**
+     * A shared EventHandlerDispatcherImpl instance.
+     */
+    private static final EventHandlerDispatcher EVENT_HANDLER_DISPATCHER = new EventHandlerDispatcherImpl();
+    /**
+     * A shared BrowserPoolImpl instance.
+     */
+    private static final BrowserPool BROWSER_POOL = new BrowserPoolImpl();
+    /**
+     * A shared SystemPropertyUtilsImpl instance.
+     */
+    private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
+    /**
+     * A shared MultiBrowserRunnerImpl instance.
+     */
+    private static final MultiBrowserRunner MULTI_BROWSER_RUNNER = new MultiBrowserRunnerImpl();
+    /**
+     * A shared ScenarioRerunnerImpl instance.
+     */
+    private static final ScenarioRerunner SCENARIO_RERUNNER = new ScenarioRerunnerImpl();
     /**
      * Header to set the number of times to retry a feature.
      */
@@ -47,31 +99,46 @@ public class LambdaEntry {
      * Header to set the sleep time before retries.
      */
     private static final String RETRY_SLEEP_HEADER = "Test-Retry-Sleep";
+    /**
+     * Header to set the number of threads to run scenarios with.
+     */
+    private static final String THREADS_HEADER = "Test-Threads";
+    /**
+     * Header listing the browsers to run the feature against in parallel, separated by commas.
+     */
+    private static final String BROWSERS_HEADER = "Test-Browsers";
+    /**
+     * Header to set the number of features in a batch to run at the same time.
+     */
+    private static final String CONCURRENCY_HEADER = "Test-Concurrency";
+    /**
+     * Header to set the number of seconds to wait for the critical event handlers to finish.
+     */
+    private static final String EVENT_HANDLER_TIMEOUT_HEADER = "Test-Event-Handler-Timeout";
     /**
      * All the event handlers we know about.
      */
-    private static final EventHandler[] EVENT_HANDLERS = new EventHandler[]{
+    private static final List<EventHandler> EVENT_HANDLERS = List.of(
             new UploadToS3(),
             new SlackWebHook(),
             new SeqLogging()
-    };
+    );
     /**
-     * Where to download a build of Chrome that works with Lambda.
+     * The Chrome driver executable in the Chrome driver package.
      */
-    private static final String CHROME_HEADLESS_PACKAGE =
-            "http://bamboo-support.s3.amazonaws.com/chrome-68-stable/stable-headless-chromium-amazonlinux-2017-03.zip";
+    private static final String CHROME_DRIVER_EXECUTABLE = "chromedriver";
     /**
-     * Where to download the Chrome driver that works with the version of Chrome we're using.
+     * The Chrome executable in the headless Chrome package.
      */
-    private static final String CHROME_DRIVER =
-            "http://bamboo-support.s3.amazonaws.com/chrome-68-stable/chromedriver_linux64.zip";
+    private static final String CHROME_HEADLESS_EXECUTABLE = "headless-chromium";
 
     /**
      * The Lambda entry point.
      *
      * @param input   The parsed Lambda input
      * @param context The Lambda context
-     * @return The output of the text Cucumber plugin
+     * @return The output of the json Cucumber plugin, or for a batch of features, an array with the result of
+     * each feature
      * @throws Throwable
      */
     public String runCucumber(final LambdaInput input, final Context context) throws Throwable {
@@ -81,121 +148,231 @@ public class LambdaEntry {
 
         cleanTmpFolder();
 
-        File outputFile = null;
-        File txtOutputFile = null;
-        File htmlOutput = null;
-        File junitOutput = null;
-
-        try (final AutoDeletingTempDir driverDirectory = new AutoDeletingTempDir(downloadChromeDriver())) {
-            try (final AutoDeletingTempDir chromeDirectory = new AutoDeletingTempDir(downloadChromeHeadless())) {
-                try (final AutoDeletingTempFile featureFile = new AutoDeletingTempFile(writeFeatureToFile(input.getFeature()))) {
-
-                    ENVIRONMENT_ALIASES_PROCESSOR.addHeaderVarsAsAliases(input.getHeaders());
-
-                    final int retryCount = NumberUtils.toInt(
-                            input.getHeaders().getOrDefault(RETRY_HEADER, "1"),
-                            1);
-
-                    final int retrySleep = NumberUtils.toInt(
-                            input.getHeaders().getOrDefault(RETRY_SLEEP_HEADER, "60"),
-                            60);
-
-                    int retValue = 0;
-
-                    for (int x = 0; x < retryCount; ++x) {
-                        outputFile = createCleanFile(outputFile, "output", ".json");
-                        txtOutputFile = createCleanFile(txtOutputFile, "output", ".txt");
-                        junitOutput = createCleanFile(junitOutput, "junit", ".xml");
-                        htmlOutput = createCleanDirectory(htmlOutput, "htmloutput");
-
-                        retValue = cucumber.api.cli.Main.run(
-                                new String[]{
-                                        "--monochrome",
-                                        "--strict",
-                                        "--glue", "com.octopus.decoratorbase",
-                                        "--plugin", "json:" + outputFile.toString(),
-                                        "--plugin", "pretty:" + txtOutputFile.toString(),
-                                        "--plugin", "html:" + htmlOutput.toString(),
-                                        "--plugin", "junit:" + junitOutput.toString(),
-                                        featureFile.getFile().getAbsolutePath()},
-                                Thread.currentThread().getContextClassLoader());
-                        if (retValue == 0) {
-                            break;
-                        }
-
-                        Try.run(() -> Thread.sleep(retrySleep));
-                    }
-
-                    System.out.println((retValue == 0 ? "SUCCEEDED" : "FAILED") + " Cucumber Test ID " + input.getId());
-
-                    final String featureFilePath = featureFile.getFile().getAbsolutePath();
-                    final String htmlOutputDir = htmlOutput.getAbsolutePath();
-                    final boolean status = retValue == 0;
-                    final String outputTextFile = FileUtils.readFileToString(txtOutputFile, Charset.defaultCharset());
-                    Arrays.stream(EVENT_HANDLERS).reduce(
-                            new HashMap<String, String>(),
-                            (results, handler) -> new HashMap<>(handler.finished(
-                                    input.getId(),
-                                    status,
-                                    featureFilePath,
-                                    outputTextFile,
-                                    htmlOutputDir,
-                                    input.getHeaders(),
-                                    results)),
-                            (a, b) -> a
-                    );
-
-                    return FileUtils.readFileToString(outputFile, Charset.defaultCharset());
-                }
+        try {
+            // The binaries are cached between invocations of a warm container, so they are not deleted
+            downloadChromeBinaries();
+
+            if (input.getFeatures() == null || input.getFeatures().isEmpty()) {
+                ENVIRONMENT_ALIASES_PROCESSOR.addHeaderVarsAsAliases(input.getHeaders());
+                return runFeature(input.getId(), input.getFeature(), input.getHeaders()).getRight();
             }
-        } finally {
-            FileUtils.deleteQuietly(outputFile);
-            FileUtils.deleteQuietly(txtOutputFile);
-            FileUtils.deleteQuietly(htmlOutput);
-            FileUtils.deleteQuietly(junitOutput);
 
+            return runBatch(input);
+        } finally {
+            releaseBrowsers();
             System.out.println("FINISHED Cucumber Test ID " + input.getId());
         }
     }
 
-    private File createCleanFile(final File last, final String prefix, final String suffix) throws IOException {
-        FileUtils.deleteQuietly(last);
-        return Files.createTempFile(prefix, suffix).toFile();
-    }
+    /**
+     * Run a batch of features, either one after the other, or concurrently up to the limit set by the
+     * concurrency header. Each feature runs in its own alias scope, so the aliases defined by the headers
+     * of one feature are not seen by the others.
+     *
+     * @param input The parsed Lambda input
+     * @return A json array with the id, status and json Cucumber report of each feature, in the order they were
+     * listed in the input
+     */
+    private String runBatch(final LambdaInput input) {
+        final Map<String, String> batchHeaders = Objects.requireNonNullElse(input.getHeaders(), Map.of());
+        ENVIRONMENT_ALIASES_PROCESSOR.addHeaderVarsAsAliases(batchHeaders);
 
-    private File createCleanDirectory(final File last, final String name) throws IOException {
-        FileUtils.deleteQuietly(last);
-        return Files.createTempDirectory(name).toFile();
-    }
+        final int concurrency = Math.max(NumberUtils.toInt(
+                batchHeaders.getOrDefault(CONCURRENCY_HEADER, "1"),
+                1), 1);
 
-    private File downloadChromeDriver() throws IOException {
-        final File extractedDir = downloadAndExtractFile(CHROME_DRIVER, "chrome_driver");
-        final String driver = extractedDir.getAbsolutePath() + "/chromedriver";
-        System.setProperty("webdriver.chrome.driver", driver);
-        new File(driver).setExecutable(true);
-        return extractedDir;
-    }
+        final List<LambdaFeatureInput> features = input.getFeatures();
+        final JsonArray results = new JsonArray();
 
-    private File downloadChromeHeadless() throws IOException {
-        final File extractedDir = downloadAndExtractFile(CHROME_HEADLESS_PACKAGE, "chrome_headless");
-        final String chrome = extractedDir.getAbsolutePath() + "/headless-chromium";
-        System.setProperty("chrome.binary", chrome);
-        new File(chrome).setExecutable(true);
-        return extractedDir;
+        if (concurrency == 1) {
+            // Running on this thread means any browser pooled by one feature can be reused by the next
+            for (int i = 0; i < features.size(); ++i) {
+                results.add(runBatchFeature(input.getId(), i, features.get(i), batchHeaders));
+            }
+            return results.toString();
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, features.size()));
+        try {
+            final List<CompletableFuture<JsonObject>> runs = new ArrayList<>();
+            for (int i = 0; i < features.size(); ++i) {
+                final int index = i;
+                runs.add(CompletableFuture.supplyAsync(
+                        () -> runBatchFeature(input.getId(), index, features.get(index), batchHeaders),
+                        executor));
+            }
+            runs.forEach(run -> results.add(DaemonExecutor.join(run)));
+            return results.toString();
+        } finally {
+            executor.shutdown();
+        }
     }
 
-    private File downloadAndExtractFile(final String download, final String tempDirPrefix) throws IOException {
-        File downloadedFile = null;
+    private JsonObject runBatchFeature(final String batchId,
+                                       final int index,
+                                       final LambdaFeatureInput feature,
+                                       final Map<String, String> batchHeaders) {
+        final String id = StringUtils.defaultIfBlank(feature.getId(), batchId + "-" + (index + 1));
+
+        final Map<String, String> headers = new HashMap<>(batchHeaders);
+        if (feature.getHeaders() != null) {
+            headers.putAll(feature.getHeaders());
+        }
+
+        final JsonObject result = new JsonObject();
+        result.addProperty("id", id);
+
+        // The index keeps the scopes apart if two features are given the same id
+        AutomatedBrowserBase.openAliasScope(
+                index + ":" + id,
+                ENVIRONMENT_ALIASES_PROCESSOR.getHeaderVarsAsAliases(feature.getHeaders()));
         try {
-            downloadedFile = File.createTempFile("download", ".zip");
-            FileUtils.copyURLToFile(new URL(download), downloadedFile);
-            final File extractedDir = Files.createTempDirectory(tempDirPrefix).toFile();
-            ZIP_UTILS.unzipFile(downloadedFile.getAbsolutePath(), extractedDir.getAbsolutePath());
-            return extractedDir;
+            final Pair<Boolean, String> featureResult = runFeature(id, feature.getFeature(), headers);
+            result.addProperty("passed", featureResult.getLeft());
+            result.add("report", Try.of(() -> JsonParser.parseString(featureResult.getRight()))
+                    .getOrElse(JsonNull.INSTANCE));
+        } catch (final Exception ex) {
+            System.out.println("FAILED Cucumber Test ID " + id + ": " + ex);
+            result.addProperty("passed", false);
+            result.addProperty("error", ex.toString());
+        } finally {
+            AutomatedBrowserBase.closeAliasScope();
+        }
+
+        return result;
+    }
+
+    /**
+     * Run a single feature, rerunning the failed scenarios as configured by the headers, and pass the results to the event handlers.
+     *
+     * @param id      The id of the feature run
+     * @param feature The feature, or the URL of the feature
+     * @param headers The headers configuring the run
+     * @return Whether the feature passed, and the output of the json Cucumber plugin
+     */
+    private Pair<Boolean, String> runFeature(final String id,
+                                             final String feature,
+                                             final Map<String, String> headers) throws IOException {
+        final File outputFile = Files.createTempFile("output", ".json").toFile();
+        final File txtOutputFile = Files.createTempFile("output", ".txt").toFile();
+        final File htmlOutput = Files.createTempDirectory("htmloutput").toFile();
+        final File junitOutput = Files.createTempFile("junit", ".xml").toFile();
+
+        try (final AutoDeletingTempFile featureFile = new AutoDeletingTempFile(writeFeatureToFile(feature))) {
+            final int retryCount = NumberUtils.toInt(
+                    headers.getOrDefault(RETRY_HEADER, "1"),
+                    1);
+
+            final int retrySleep = NumberUtils.toInt(
+                    headers.getOrDefault(RETRY_SLEEP_HEADER, "60"),
+                    60);
+
+            final int threads = Math.max(NumberUtils.toInt(
+                    headers.getOrDefault(THREADS_HEADER, "1"),
+                    1), 1);
+
+            final List<String> targets = Arrays.stream(headers.getOrDefault(BROWSERS_HEADER, "").split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::isNotBlank)
+                    .collect(Collectors.toList());
+
+            // The html report is a single file, which is saved in the html directory along with
+            // the reports of any other browsers and attempts
+            final List<String> args = List.of(
+                    "--monochrome",
+                    "--threads", String.valueOf(threads),
+                    "--glue", "com.octopus.decoratorbase",
+                    "--plugin", "json:" + outputFile.toString(),
+                    "--plugin", "pretty:" + txtOutputFile.toString(),
+                    "--plugin", "html:" + new File(htmlOutput, "index.html"),
+                    "--plugin", "junit:" + junitOutput.toString(),
+                    featureFile.getFile().getAbsolutePath());
+
+            final int retValue = SCENARIO_RERUNNER.run(
+                    args,
+                    retryCount,
+                    retrySleep,
+                    attemptArgs -> targets.isEmpty()
+                            ? io.cucumber.core.cli.Main.run(
+                                    attemptArgs.toArray(new String[0]),
+                                    Thread.currentThread().getContextClassLoader())
+                            : MULTI_BROWSER_RUNNER.run(targets, attemptArgs));
+
+            System.out.println((retValue == 0 ? "SUCCEEDED" : "FAILED") + " Cucumber Test ID " + id);
+
+            // The event handlers that miss the timeout keep reading the report and feature file after this
+            // method returns, so they are moved to a directory that is deleted when the last handler finishes
+            final File handlerOutput = Files.createTempDirectory("handleroutput").toFile();
+            PENDING_HANDLER_OUTPUTS.add(handlerOutput);
+            final File handlerHtmlOutput = new File(handlerOutput, htmlOutput.getName());
+            final File handlerFeatureFile = new File(handlerOutput, featureFile.getFile().getName());
+            try {
+                FileUtils.moveDirectory(htmlOutput, handlerHtmlOutput);
+                FileUtils.copyFile(featureFile.getFile(), handlerFeatureFile);
+            } catch (final IOException ex) {
+                releaseHandlerOutput(handlerOutput);
+                throw ex;
+            }
+
+            final String featureFilePath = handlerFeatureFile.getAbsolutePath();
+            final String htmlOutputDir = handlerHtmlOutput.getAbsolutePath();
+            final boolean status = retValue == 0;
+            final String outputTextFile = FileUtils.readFileToString(txtOutputFile, Charset.defaultCharset());
+            final int eventHandlerTimeout = NumberUtils.toInt(
+                    headers.getOrDefault(EVENT_HANDLER_TIMEOUT_HEADER, "60"),
+                    60);
+            EVENT_HANDLER_DISPATCHER.dispatch(
+                    EVENT_HANDLERS,
+                    headers,
+                    (handler, results) -> handler.finished(
+                            id,
+                            status,
+                            featureFilePath,
+                            outputTextFile,
+                            htmlOutputDir,
+                            headers,
+                            results),
+                    eventHandlerTimeout * 1000L,
+                    () -> releaseHandlerOutput(handlerOutput));
+
+            return Pair.of(status, FileUtils.readFileToString(outputFile, Charset.defaultCharset()));
         } finally {
-            FileUtils.deleteQuietly(downloadedFile);
+            FileUtils.deleteQuietly(outputFile);
+            FileUtils.deleteQuietly(txtOutputFile);
+            FileUtils.deleteQuietly(htmlOutput);
+            FileUtils.deleteQuietly(junitOutput);
         }
+    }
+
+    /**
+     * Fetch Chrome and the Chrome driver at the same time, as the downloads dominate the cold start time.
+     */
+    private void downloadChromeBinaries() {
+        final CompletableFuture<Void> driver = CompletableFuture.runAsync(this::downloadChromeDriver, DaemonExecutor.INSTANCE);
+        downloadChromeHeadless();
+        DaemonExecutor.join(driver);
+    }
+
+    private void downloadChromeDriver() {
+        final File extractedDir = BINARY_CACHE.getExtractedPackage(
+                "chrome_driver",
+                StringUtils.defaultIfBlank(
+                        SYSTEM_PROPERTY_UTILS.getPropertyEmptyAsNull(Constants.CHROME_DRIVER_PACKAGE),
+                        Constants.DEFAULT_CHROME_DRIVER_PACKAGE),
+                SYSTEM_PROPERTY_UTILS.getPropertyEmptyAsNull(Constants.CHROME_DRIVER_PACKAGE_SHA256),
+                Set.of(CHROME_DRIVER_EXECUTABLE));
+        System.setProperty("webdriver.chrome.driver", new File(extractedDir, CHROME_DRIVER_EXECUTABLE).getAbsolutePath());
+    }
 
+    private void downloadChromeHeadless() {
+        final File extractedDir = BINARY_CACHE.getExtractedPackage(
+                "chrome_headless",
+                StringUtils.defaultIfBlank(
+                        SYSTEM_PROPERTY_UTILS.getPropertyEmptyAsNull(Constants.CHROME_HEADLESS_PACKAGE),
+                        Constants.DEFAULT_CHROME_HEADLESS_PACKAGE),
+                SYSTEM_PROPERTY_UTILS.getPropertyEmptyAsNull(Constants.CHROME_HEADLESS_PACKAGE_SHA256),
+                Set.of(CHROME_HEADLESS_EXECUTABLE));
+        System.setProperty("chrome.binary", new File(extractedDir, CHROME_HEADLESS_EXECUTABLE).getAbsolutePath());
     }
 
     private File writeFeatureToFile(final String feature) throws IOException {
@@ -211,15 +388,38 @@ public class LambdaEntry {
         return featureFile;
     }
 
+    /**
+     * Close every browser opened by the invocation, including idle pooled browsers. A warm container is
+     * frozen between invocations, and the next invocation deletes the profiles of any browser left running.
+     */
+    private void releaseBrowsers() {
+        AutomatedBrowserBase.getInstances().forEach(instance -> Try.run(instance::closeBrowser));
+        AutomatedBrowserBase.clearInstances();
+        BROWSER_POOL.drain();
+    }
+
     /**
      * Before we start, try cleaning the tmp directory to remove
-     * any left over files.
+     * any left over files. The binary cache is kept for the next run.
      */
+    private void releaseHandlerOutput(final File handlerOutput) {
+        FileUtils.deleteQuietly(handlerOutput);
+        PENDING_HANDLER_OUTPUTS.remove(handlerOutput);
+    }
+
+    private boolean isSameFile(final File first, final File second) {
+        return Try.of(() -> first.getCanonicalFile().equals(second.getCanonicalFile())).getOrElse(false);
+    }
+
     private void cleanTmpFolder() {
-        try {
-            FileUtils.cleanDirectory(new File("/tmp"));
-        } catch (IOException e) {
-            // silent failure
+        final File[] files = new File("/tmp").listFiles();
+        if (files == null) {
+            return;
         }
+
+        Arrays.stream(files)
+                .filter(file -> !BINARY_CACHE.isCacheDirectory(file))
+                .filter(file -> PENDING_HANDLER_OUTPUTS.stream().noneMatch(pending -> isSameFile(pending, file)))
+                .forEach(FileUtils::deleteQuietly);
     }
-}
\ No newline at end of file
+}
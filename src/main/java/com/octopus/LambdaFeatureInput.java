@@ -0,0 +1,37 @@
+package com.octopus;
+
+import java.util.Map;
+
+/**
+ * A class representing one feature in a batch of features run by AWS Lambda. The headers are combined with, and
+ * override, the headers of the batch.
+ */
+public class LambdaFeatureInput {
+    private String id;
+    private String feature;
+    private Map<String, String> headers;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(final String id) {
+        this.id = id;
+    }
+
+    public String getFeature() {
+        return feature;
+    }
+
+    public void setFeature(final String feature) {
+        this.feature = feature;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(final Map<String, String> headers) {
+        this.headers = headers;
+    }
+}
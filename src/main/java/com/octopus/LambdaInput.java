@@ -1,14 +1,17 @@
 package com.octopus;
 
+import java.util.List;
 import java.util.Map;
 
 /**
- * A class representing the input required when the app is launched from AWS Lambda.
+ * A class representing the input required when the app is launched from AWS Lambda. The input either defines a
+ * single feature, or a batch of features.
  */
 public class LambdaInput {
     private String id;
     private String feature;
     private Map<String, String> headers;
+    private List<LambdaFeatureInput> features;
 
     public String getId() {
         return id;
@@ -33,4 +36,12 @@ public class LambdaInput {
     public void setHeaders(final Map<String, String> headers) {
         this.headers = headers;
     }
-}
\ No newline at end of file
+
+    public List<LambdaFeatureInput> getFeatures() {
+        return features;
+    }
+
+    public void setFeatures(final List<LambdaFeatureInput> features) {
+        this.features = features;
+    }
+}
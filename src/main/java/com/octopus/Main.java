@@ -5,16 +5,38 @@ import static com.octopus.Constants.DUMP_OPTIONS;
 
 import com.octopus.decoratorbase.AutomatedBrowserBase;
 import com.octopus.decorators.WebDriverDecorator;
+import com.octopus.utils.BrowserPool;
+import com.octopus.utils.CucumberArgsUtils;
+import com.octopus.utils.DaemonClient;
+import com.octopus.utils.DriverServiceManager;
 import com.octopus.utils.EnvironmentAliasesProcessor;
+import com.octopus.utils.FeatureDaemon;
+import com.octopus.utils.MultiBrowserRunner;
+import com.octopus.utils.ScenarioRerunner;
+import com.octopus.utils.ShardCoordinator;
 import com.octopus.utils.SystemPropertyUtils;
+import com.octopus.utils.impl.BrowserPoolImpl;
+import com.octopus.utils.impl.CucumberArgsUtilsImpl;
+import com.octopus.utils.impl.DaemonClientImpl;
+import com.octopus.utils.impl.DriverServiceManagerImpl;
 import com.octopus.utils.impl.EnvironmentAliasesProcessorImpl;
+import com.octopus.utils.impl.FeatureDaemonImpl;
+import com.octopus.utils.impl.MultiBrowserRunnerImpl;
+import com.octopus.utils.impl.ScenarioRerunnerImpl;
+import com.octopus.utils.impl.ShardCoordinatorImpl;
 import com.octopus.utils.impl.SystemPropertyUtilsImpl;
 import io.vavr.control.Try;
 import java.awt.GraphicsEnvironment;
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
 
 /**
  * The application entry class.
@@ -32,6 +54,38 @@ public class Main {
      * The shared SystemPropertyUtilsImpl instance.
      */
     private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
+    /**
+     * The shared BrowserPoolImpl instance.
+     */
+    private static final BrowserPool BROWSER_POOL = new BrowserPoolImpl();
+    /**
+     * The shared DriverServiceManagerImpl instance.
+     */
+    private static final DriverServiceManager DRIVER_SERVICE_MANAGER = new DriverServiceManagerImpl();
+    /**
+     * The shared MultiBrowserRunnerImpl instance.
+     */
+    private static final MultiBrowserRunner MULTI_BROWSER_RUNNER = new MultiBrowserRunnerImpl();
+    /**
+     * The shared ShardCoordinatorImpl instance.
+     */
+    private static final ShardCoordinator SHARD_COORDINATOR = new ShardCoordinatorImpl();
+    /**
+     * The shared ScenarioRerunnerImpl instance.
+     */
+    private static final ScenarioRerunner SCENARIO_RERUNNER = new ScenarioRerunnerImpl();
+    /**
+     * The shared FeatureDaemonImpl instance.
+     */
+    private static final FeatureDaemon FEATURE_DAEMON = new FeatureDaemonImpl();
+    /**
+     * The shared DaemonClientImpl instance.
+     */
+    private static final DaemonClient DAEMON_CLIENT = new DaemonClientImpl();
+    /**
+     * The shared CucumberArgsUtilsImpl instance.
+     */
+    private static final CucumberArgsUtils CUCUMBER_ARGS_UTILS = new CucumberArgsUtilsImpl();
     /**
      * We track the args so we can relaunch Cucumber with the same options.
      */
@@ -44,9 +98,30 @@ public class Main {
      */
     public static void main(final String[] args) {
         Main.args = args;
-        catchShutdown();
         configureLogging();
+
+        // A client only forwards the arguments, so it has no browsers to clean up
+        final String daemonUrl = SYSTEM_PROPERTY_UTILS.getPropertyEmptyAsNull(Constants.DAEMON_URL);
+        if (daemonUrl != null) {
+            final Map<String, String> properties = SYSTEM_PROPERTY_UTILS.getCommandLineProperties();
+            properties.remove(Constants.DAEMON_URL);
+            System.exit(DAEMON_CLIENT.run(
+                    daemonUrl,
+                    CUCUMBER_ARGS_UTILS.resolvePaths(Arrays.asList(args), new File("").getAbsoluteFile()),
+                    properties,
+                    System.out));
+        }
+
+        catchShutdown();
         dumpOptions();
+
+        final int daemonPort = SYSTEM_PROPERTY_UTILS.getPropertyAsInt(Constants.DAEMON_PORT, 0);
+        if (daemonPort > 0) {
+            // The daemon keeps the JVM running until it is stopped
+            FEATURE_DAEMON.start(daemonPort, Main::runDaemonRequest);
+            return;
+        }
+
         final int retValue = runCucumber(args);
         System.exit(retValue);
     }
@@ -57,40 +132,98 @@ public class Main {
 
     private static int runCucumber(final String[] args) {
         try {
-            int retValue = 0;
-            final ArrayList<String> options = new ArrayList<>(Constants.DEFAULT_CUCUMBER_OPTIONS);
-            Collections.addAll(options, args);
+            return runFeatures(args);
+        } finally {
+            shutdown();
+        }
+    }
 
-            ENVIRONMENT_ALIASES_PROCESSOR.addSystemPropVarsAsAliases();
+    /**
+     * Run the features requested of the daemon. The browsers opened by the features are closed afterwards, but
+     * the browser pool and driver services are kept for the next request. The aliases of the previous request
+     * are discarded, as they may have come from different system properties.
+     */
+    private static int runDaemonRequest(final List<String> args) {
+        Main.args = args.toArray(new String[0]);
+        AutomatedBrowserBase.resetAliases();
+        try {
+            return runFeatures(Main.args);
+        } finally {
+            Try.run(Main::releaseBrowsers);
+        }
+    }
 
-            for (int x = 0; x < SYSTEM_PROPERTY_UTILS.getPropertyAsInt(Constants.RETRY_COUNT, 1); ++x) {
-                retValue = io.cucumber.core.cli.Main.run(
-                        options.toArray(new String[0]),
-                        Thread.currentThread().getContextClassLoader());
+    private static int runFeatures(final String[] args) {
+        final ArrayList<String> options = new ArrayList<>(Constants.DEFAULT_CUCUMBER_OPTIONS);
+        Collections.addAll(options, args);
+        addThreads(options);
 
-                if (retValue == 0) {
-                    break;
-                }
+        ENVIRONMENT_ALIASES_PROCESSOR.addSystemPropVarsAsAliases();
 
-                Try.run(() -> Thread.sleep(Constants.RETRY_DELAY));
-            }
-            return retValue;
-        } finally {
-            shutdown();
+        // Each worker retries its own scenarios, and adds the default options itself
+        final int workers = SYSTEM_PROPERTY_UTILS.getPropertyAsInt(Constants.SHARD_WORKERS, 0);
+        if (workers > 1) {
+            return SHARD_COORDINATOR.run(Arrays.asList(args), workers);
+        }
+
+        final List<String> targets = getBrowserTargets();
+
+        return SCENARIO_RERUNNER.run(
+                options,
+                SYSTEM_PROPERTY_UTILS.getPropertyAsInt(Constants.RETRY_COUNT, 1),
+                Constants.RETRY_DELAY,
+                attemptArgs -> targets.isEmpty()
+                        ? io.cucumber.core.cli.Main.run(
+                                attemptArgs.toArray(new String[0]),
+                                Thread.currentThread().getContextClassLoader())
+                        : MULTI_BROWSER_RUNNER.run(targets, attemptArgs));
+    }
+
+    /**
+     * @return The browsers to run the features against in parallel, or an empty list to run the features once
+     * with the browsers they open.
+     */
+    private static List<String> getBrowserTargets() {
+        return Arrays.stream(SYSTEM_PROPERTY_UTILS.getPropertyNullAsEmpty(Constants.BROWSER_TARGETS).split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Run scenarios in parallel if the number of threads was set with a system property, and not already set
+     * with the --threads argument.
+     */
+    private static void addThreads(final List<String> options) {
+        final int threads = SYSTEM_PROPERTY_UTILS.getPropertyAsInt(Constants.CUCUMBER_THREADS, Constants.DEFAULT_CUCUMBER_THREADS);
+        if (threads > 1 && !options.contains("--threads")) {
+            options.add("--threads");
+            options.add(String.valueOf(threads));
         }
     }
 
     private static void shutdown() {
         Try.run(() -> {
-            WebDriverDecorator.staticStopScreenRecording();
+            releaseBrowsers();
             if (SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(BROWSER_CLEANUP, true)) {
-                if (AutomatedBrowserBase.getInstance() != null) {
-                    AutomatedBrowserBase.getInstance().closeBrowser();
-                }
+                BROWSER_POOL.shutdown();
+                // The driver services must outlive the browsers, which need them to quit
+                DRIVER_SERVICE_MANAGER.shutdown();
             }
         });
     }
 
+    /**
+     * Stop the screen recording, and close any browser left open by every thread that ran scenarios.
+     */
+    private static void releaseBrowsers() {
+        WebDriverDecorator.staticStopScreenRecording();
+        if (SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(BROWSER_CLEANUP, true)) {
+            AutomatedBrowserBase.getInstances().forEach(instance -> Try.run(instance::closeBrowser));
+        }
+        AutomatedBrowserBase.clearInstances();
+    }
+
     private static void configureLogging() {
         Try.run(() -> LogManager.getLogManager().readConfiguration(Main.class.getClassLoader().getResourceAsStream("logging.properties")));
         // Disable some logs from BrowserMob
@@ -8,30 +8,51 @@ import com.octopus.exceptions.BrowserException;
 import com.octopus.exceptions.NetworkException;
 import com.octopus.exceptions.SaveException;
 import com.octopus.exceptions.ScriptException;
+import com.octopus.utils.BrowserPool;
+import com.octopus.utils.ElementContext;
 import com.octopus.utils.GithubActionsServiceMessageGenerator;
 import com.octopus.utils.JavaLauncherUtils;
+import com.octopus.utils.LatencyRecorder;
+import com.octopus.utils.MultiBrowserRunner;
+import com.octopus.utils.NestedFeatureRunner;
 import com.octopus.utils.OSUtils;
 import com.octopus.utils.OctopusServiceMessageGenerator;
+import com.octopus.utils.SimpleBy;
 import com.octopus.utils.SystemPropertyUtils;
+import com.octopus.utils.impl.BrowserPoolImpl;
+import com.octopus.utils.impl.DaemonExecutor;
+import com.octopus.utils.impl.ElementContextImpl;
 import com.octopus.utils.impl.GithubActionsServiceMessageGeneratorImpl;
 import com.octopus.utils.impl.JavaLauncherUtilsImpl;
+import com.octopus.utils.impl.LatencyRecorderImpl;
+import com.octopus.utils.impl.MultiBrowserRunnerImpl;
+import com.octopus.utils.impl.NestedFeatureRunnerImpl;
 import com.octopus.utils.impl.OSUtilsImpl;
 import com.octopus.utils.impl.OctopusServiceMessageGeneratorImpl;
+import com.octopus.utils.impl.SimpleByImpl;
 import com.octopus.utils.impl.SystemPropertyUtilsImpl;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
+import io.vavr.control.Try;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.io.FileUtils;
@@ -52,7 +73,12 @@ import org.openqa.selenium.remote.DesiredCapabilities;
  * <p>
  * Second, it is the glue class used by Cucumber to execute custom steps. This class is in a namespace of its own so
  * Cucumber doesn't see any of the extending classes, which is a limitation Cucumber enforces. When used by Cucumber,
- * the lifecycle of the instance is managed by Cucumber, and tracked by the instanceAutomatedBrowser variable.
+ * the lifecycle of the instance is managed by Cucumber, and tracked by the INSTANCE_AUTOMATED_BROWSERS map until
+ * the scenario is finished with its browser.
+ * <p>
+ * Cucumber can run scenarios in parallel threads. Browsers, including shared browsers, belong to the thread that
+ * opened them, so scenarios on different threads never share a browser. When running with --threads, every thread
+ * that runs scenarios relying on a shared browser must open its own. Shared aliases are shared by every thread.
  */
 public class AutomatedBrowserBase implements AutomatedBrowser {
     /**
@@ -88,22 +114,62 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
      * The shared OSUtilsImpl instance.
      */
     private static final OSUtils OS_UTILS = new OSUtilsImpl();
+    /**
+     * The shared SimpleByImpl instance.
+     */
+    private static final SimpleBy SIMPLE_BY = new SimpleByImpl();
+    /**
+     * The shared ElementContextImpl instance.
+     */
+    private static final ElementContext ELEMENT_CONTEXT = new ElementContextImpl();
+    /**
+     * The shared LatencyRecorderImpl instance.
+     */
+    private static final LatencyRecorder LATENCY_RECORDER = new LatencyRecorderImpl();
+    /**
+     * The shared BrowserPoolImpl instance.
+     */
+    private static final BrowserPool BROWSER_POOL = new BrowserPoolImpl();
+    /**
+     * The shared NestedFeatureRunnerImpl instance.
+     */
+    private static final NestedFeatureRunner NESTED_FEATURE_RUNNER = new NestedFeatureRunnerImpl();
     /**
      * The aliases defined externally (system properties or HTTP headers).
      */
-    private static Map<String, String> externalAliases = new HashMap<>();
+    private static final Map<String, String> EXTERNAL_ALIASES = Collections.synchronizedMap(new HashMap<>());
+    /**
+     * The shared MultiBrowserRunnerImpl instance.
+     */
+    private static final MultiBrowserRunner MULTI_BROWSER_RUNNER = new MultiBrowserRunnerImpl();
+    /**
+     * The shared alias mappings that exist across all instances of AutomatedBrowser, keyed by the alias scope and
+     * the browser target of a multi-browser run, so concurrent runs do not see each other's aliases.
+     */
+    private static final Map<Pair<String, String>, Map<String, String>> SHARED_ALIASES = new ConcurrentHashMap<>();
     /**
-     * The shared alias mappings that exist across all instances of AutomatedBrowser.
+     * The name and aliases of the alias scope of the current thread. This is inheritable, so the threads Cucumber
+     * creates to run scenarios in parallel see the scope of their run.
      */
-    private static Map<String, String> sharedAliases = new HashMap<>();
+    private static final InheritableThreadLocal<Pair<String, Map<String, String>>> ALIAS_SCOPE = new InheritableThreadLocal<>();
     /**
-     * A shared AutomatedBrowser that is used across scenarios.
+     * A shared AutomatedBrowser that is used across the scenarios run by a thread. Scenarios run by other
+     * threads do not see this browser.
      */
-    private static AutomatedBrowser sharedAutomatedBrowser;
+    private static final ThreadLocal<AutomatedBrowser> SHARED_AUTOMATED_BROWSER = new ThreadLocal<>();
     /**
-     * The AutomatedBrowser used for this scenario.
+     * The startup of a shared AutomatedBrowser that has not been used yet.
      */
-    private static AutomatedBrowserBase instanceAutomatedBrowser;
+    private static final ThreadLocal<CompletableFuture<AutomatedBrowser>> SHARED_BROWSER_STARTUP = new ThreadLocal<>();
+    /**
+     * Set once any thread opens a shared browser, to warn scenarios on other threads that can not see it.
+     */
+    private static final AtomicBoolean SHARED_BROWSER_OPENED = new AtomicBoolean();
+    /**
+     * The AutomatedBrowser used for the current scenario of each thread running scenarios. Entries are removed
+     * once the scenario no longer holds a browser, leaving only those with a browser that must be closed.
+     */
+    private static final Map<Thread, AutomatedBrowserBase> INSTANCE_AUTOMATED_BROWSERS = new ConcurrentHashMap<>();
     /**
      * The alias mappings for this instance of AutomatedBrowser.
      */
@@ -112,6 +178,16 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
      * The AutomatedBrowser instance wrapped by this decorator.
      */
     private AutomatedBrowser automatedBrowser;
+    /**
+     * The name the browser was checked out of the browser pool with, or null if the browser
+     * did not come from the pool.
+     */
+    private String pooledBrowserName;
+    /**
+     * The startup of the browser opened by this scenario, which runs in the background until a step
+     * needs the browser.
+     */
+    private CompletableFuture<AutomatedBrowser> browserStartup;
 
     /**
      * The constructor that must be used by any extending decorator. If there is no parent AutomatedBrowser,
@@ -127,14 +203,30 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
      * This must only be called by Cucumber. Otherwise call AutomatedBrowserBase(null).
      */
     public AutomatedBrowserBase() {
-        instanceAutomatedBrowser = this;
+        INSTANCE_AUTOMATED_BROWSERS.put(Thread.currentThread(), this);
     }
 
     /**
-     * @return The AutomatedBrowser instance for this scenario.
+     * @return The AutomatedBrowser instance for the scenario run by the current thread.
      */
     public static AutomatedBrowserBase getInstance() {
-        return instanceAutomatedBrowser;
+        return INSTANCE_AUTOMATED_BROWSERS.get(Thread.currentThread());
+    }
+
+    /**
+     * @return The AutomatedBrowser instances for the last scenario run by every thread that still hold a browser.
+     */
+    public static List<AutomatedBrowserBase> getInstances() {
+        return List.copyOf(INSTANCE_AUTOMATED_BROWSERS.values());
+    }
+
+    /**
+     * Forget the instances of the previous run, once their browsers have been closed. This stops a long-running
+     * process, like the daemon, from holding on to the threads and instances of every run.
+     */
+    public static void clearInstances() {
+        INSTANCE_AUTOMATED_BROWSERS.clear();
+        SHARED_BROWSER_OPENED.set(false);
     }
 
     /**
@@ -146,7 +238,60 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
         if (externalAliases == null) {
             return;
         }
-        AutomatedBrowserBase.externalAliases.putAll(externalAliases);
+        EXTERNAL_ALIASES.putAll(externalAliases);
+    }
+
+    /**
+     * Discard the external aliases and the shared aliases of every scope, so a new run does not see the aliases
+     * of a previous run in the same JVM.
+     */
+    public static void resetAliases() {
+        EXTERNAL_ALIASES.clear();
+        SHARED_ALIASES.clear();
+    }
+
+    /**
+     * Start an alias scope for the features run by the current thread. The aliases of the scope take precedence
+     * over the external aliases, and the shared aliases defined in the scope are not seen outside of it. This
+     * allows features with different aliases to run at the same time.
+     *
+     * @param scope   The unique name of the scope.
+     * @param aliases The aliases of the scope.
+     */
+    public static void openAliasScope(final String scope, final Map<String, String> aliases) {
+        ALIAS_SCOPE.set(Pair.of(scope, Collections.unmodifiableMap(new HashMap<>(aliases))));
+    }
+
+    /**
+     * End the alias scope of the current thread, and discard the shared aliases defined in it.
+     */
+    public static void closeAliasScope() {
+        final Pair<String, Map<String, String>> scope = ALIAS_SCOPE.get();
+        ALIAS_SCOPE.remove();
+        if (scope != null) {
+            SHARED_ALIASES.keySet().removeIf(key -> key.getLeft().equals(scope.getLeft()));
+        }
+    }
+
+    /**
+     * Wrap a task so it runs in the alias scope of the current thread. This is needed for tasks run by a thread
+     * pool, as pooled threads do not inherit the scope of the thread that submitted the task.
+     *
+     * @param task The task to run in the scope.
+     * @param <T>  The type of the result.
+     * @return The wrapped task.
+     */
+    public static <T> Supplier<T> inAliasScope(final Supplier<T> task) {
+        final Pair<String, Map<String, String>> scope = ALIAS_SCOPE.get();
+        return () -> {
+            final Pair<String, Map<String, String>> previous = ALIAS_SCOPE.get();
+            ALIAS_SCOPE.set(scope);
+            try {
+                return task.get();
+            } finally {
+                ALIAS_SCOPE.set(previous);
+            }
+        };
     }
 
     /**
@@ -154,11 +299,33 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
      */
     @Before
     public void reuseSharedBrowser() {
-        automatedBrowser = sharedAutomatedBrowser;
+        automatedBrowser = SHARED_AUTOMATED_BROWSER.get();
+        browserStartup = SHARED_BROWSER_STARTUP.get();
+
+        if (automatedBrowser == null && browserStartup == null && SHARED_BROWSER_OPENED.get()) {
+            LOGGER.warning("A shared browser was opened by another thread, but shared browsers are not shared "
+                    + "between threads. Scenarios on this thread must open their own browser.");
+        }
+    }
+
+    /**
+     * Before each step, start sharing resolved elements between the decorators.
+     */
+    @BeforeStep
+    public void openElementContext() {
+        ELEMENT_CONTEXT.open();
+    }
+
+    /**
+     * After each step, discard the elements resolved during the step.
+     */
+    @AfterStep
+    public void closeElementContext() {
+        ELEMENT_CONTEXT.close();
     }
 
     /**
-     * After each scenario, close the browser if there was a failure, stop the screen recording, and optionally
+     * After each scenario, reset the browser if there was a failure, stop the screen recording, and optionally
      * dump the values of the aliases to the log. Also note how many manual interactions have been made with
      * the current session (which is either the shared browser instanced if one was created, or the browser instance
      * created for this scenario).
@@ -167,15 +334,93 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
      */
     @After
     public void afterScenario(final Scenario scenario) {
-        if (scenario.isFailed()) {
-            closeBrowser();
+        afterScenario(scenario.getName(), scenario.isFailed());
+    }
+
+    /**
+     * The after scenario hook, called by Cucumber or by the nested feature runner.
+     *
+     * @param scenarioName The name of the scenario
+     * @param failed       true if the scenario failed
+     */
+    public void afterScenario(final String scenarioName, final boolean failed) {
+        settleBrowserStartup();
+
+        if (failed) {
+            // A failed browser is only reset for reuse when browsers are pooled
+            if (!BROWSER_POOL.isEnabled()
+                    || SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(Constants.QUIT_BROWSER_ON_FAILURE, false)) {
+                discardBrowser();
+            } else {
+                recycleBrowser();
+            }
             stopScreenRecording();
             if (SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(Constants.DUMP_ALIASES_ON_FAILURE, false)) {
                 dumpAliases();
             }
+        } else if (BROWSER_POOL.isEnabled() && pooledBrowserName != null) {
+            // The browser is not reachable from the next scenario, so return it to the pool for reuse
+            closeBrowser();
         }
 
         LOGGER.info("\nRecorded " + getInteractionCount() + " interactions for the browser session");
+        LOGGER.info("Locator strategy cache has recorded "
+                + SIMPLE_BY.getLocatorStrategyCache().getHitCount() + " hits and "
+                + SIMPLE_BY.getLocatorStrategyCache().getMissCount() + " misses");
+
+        final String latencies = LATENCY_RECORDER.endScenario(scenarioName);
+        if (StringUtils.isNotBlank(latencies)) {
+            LOGGER.info(latencies);
+            final File timingReport = getTimingReportFile();
+            if (timingReport != null) {
+                try {
+                    LATENCY_RECORDER.writeReport(timingReport);
+                } catch (final SaveException ex) {
+                    LOGGER.warning(ex.getMessage());
+                }
+            }
+        }
+
+        // An instance still holding a browser is kept, so the browser can be closed when the run finishes
+        if (automatedBrowser == null) {
+            INSTANCE_AUTOMATED_BROWSERS.remove(Thread.currentThread(), this);
+        }
+    }
+
+    /**
+     * @return The file to save command latencies to, which defaults to a file next to the first
+     * Cucumber plugin that writes to a file, or null if there is nowhere to save the latencies.
+     */
+    private File getTimingReportFile() {
+        final String timingReportFile = SYSTEM_PROPERTY_UTILS.getPropertyEmptyAsNull(Constants.TIMING_REPORT_FILE);
+        if (timingReportFile != null) {
+            return new File(timingReportFile);
+        }
+
+        if (Main.args == null) {
+            return null;
+        }
+
+        for (int i = 0; i < Main.args.length - 1; ++i) {
+            if (!"--plugin".equals(Main.args[i]) && !"-p".equals(Main.args[i])) {
+                continue;
+            }
+
+            final String plugin = Main.args[i + 1];
+            final String path = StringUtils.substringAfter(plugin, ":");
+            if (StringUtils.isBlank(path)
+                    || !StringUtils.startsWithAny(plugin, "json:", "junit:", "html:", "message:")) {
+                continue;
+            }
+
+            final File output = new File(path).getAbsoluteFile();
+            final File directory = plugin.startsWith("html:") && !path.endsWith(".html")
+                    ? output
+                    : output.getParentFile();
+            return new File(directory, Constants.DEFAULT_TIMING_REPORT_FILE_NAME);
+        }
+
+        return null;
     }
 
     /**
@@ -183,19 +428,76 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
      */
     private Map<String, String> getAliases() {
         final Map<String, String> combinedAliases = new HashMap<>();
-        combinedAliases.putAll(externalAliases);
-        combinedAliases.putAll(sharedAliases);
+        // Copying a synchronized map iterates over it, which must be done while holding its lock
+        synchronized (EXTERNAL_ALIASES) {
+            combinedAliases.putAll(EXTERNAL_ALIASES);
+        }
+        final Pair<String, Map<String, String>> scope = ALIAS_SCOPE.get();
+        if (scope != null) {
+            combinedAliases.putAll(scope.getRight());
+        }
+        final Map<String, String> sharedAliases = getSharedAliases();
+        synchronized (sharedAliases) {
+            combinedAliases.putAll(sharedAliases);
+        }
         combinedAliases.putAll(aliases);
         return combinedAliases;
     }
 
+    /**
+     * @return The shared aliases of the current alias scope and browser target.
+     */
+    private Map<String, String> getSharedAliases() {
+        final Pair<String, Map<String, String>> scope = ALIAS_SCOPE.get();
+        return SHARED_ALIASES.computeIfAbsent(
+                Pair.of(scope == null ? "" : scope.getLeft(), MULTI_BROWSER_RUNNER.getBrowserTarget().orElse("")),
+                key -> Collections.synchronizedMap(new HashMap<>()));
+    }
+
     /**
      * @return The parent automated browser instance
      */
     public AutomatedBrowser getAutomatedBrowser() {
+        if (browserStartup != null) {
+            awaitBrowserStartup();
+        }
         return automatedBrowser;
     }
 
+    /**
+     * Wait for the browser opened by this scenario to start.
+     */
+    private void awaitBrowserStartup() {
+        final CompletableFuture<AutomatedBrowser> startup = browserStartup;
+        final boolean shared = startup == SHARED_BROWSER_STARTUP.get();
+        browserStartup = null;
+        if (shared) {
+            SHARED_BROWSER_STARTUP.remove();
+        }
+
+        try {
+            automatedBrowser = DaemonExecutor.join(startup);
+        } catch (final RuntimeException ex) {
+            pooledBrowserName = null;
+            throw ex;
+        }
+
+        if (shared) {
+            SHARED_AUTOMATED_BROWSER.set(automatedBrowser);
+        }
+    }
+
+    /**
+     * Wait for any browser startup to finish, logging rather than throwing any failure, as the failure
+     * has either been reported by an earlier step, or the browser was never used.
+     */
+    private void settleBrowserStartup() {
+        if (browserStartup != null) {
+            Try.run(this::awaitBrowserStartup)
+                    .onFailure(ex -> LOGGER.warning("The browser failed to start: " + ex));
+        }
+    }
+
     /**
      * Executes a new Cucumber instance, optionally passing in the command line arguments that were used to launch this
      * Cucumber instance.
@@ -221,24 +523,49 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
                 CommandLine
                         .parse(Objects.toString(getSubstitutedString(additionalArgs), ""))
                         .getArguments());
-        // Track the return code
-        int retValue = 0;
+        final File feature = new File(fixedPath).exists()
+                ? new File(fixedPath)
+                : new File(getFeatureDirectory(), fixedPath).getAbsoluteFile();
 
-        if (new File(fixedPath).exists()) {
-            retValue = JAVA_LAUNCHER_UTILS.launchAppInternally(ArrayUtils.add(additionalArgsArray, featureFile));
-        } else {
-            final String[] mainCommand = System.getProperty("sun.java.command").split(" ");
-            final String featurePath = new File(mainCommand[mainCommand.length - 1]).getParentFile().getAbsolutePath();
-            retValue = JAVA_LAUNCHER_UTILS.launchAppInternally(ArrayUtils.add(
-                    additionalArgsArray,
-                    new File(featurePath, fixedPath).getAbsolutePath()));
-        }
+        final int retValue = runFeatureInProcess(feature, additionalArgsArray)
+                .orElseGet(() -> JAVA_LAUNCHER_UTILS.launchAppInternally(
+                        ArrayUtils.add(additionalArgsArray, feature.getPath())));
 
         if (retValue != 0) {
             throw new ScriptException("Failed to run the feature " + featureFile);
         }
     }
 
+    /**
+     * @return The directory holding the feature passed to this Cucumber instance.
+     */
+    private File getFeatureDirectory() {
+        final String[] mainCommand = System.getProperty("sun.java.command").split(" ");
+        return new File(mainCommand[mainCommand.length - 1]).getAbsoluteFile().getParentFile();
+    }
+
+    /**
+     * Run a feature with the glue of this Cucumber instance, which avoids the cost of starting a new Cucumber
+     * runtime. Features that pass command line arguments, or that can only be run by Cucumber, are not run.
+     *
+     * @param feature The feature file
+     * @param args    The command line arguments for the feature
+     * @return 0 if the feature passed, 1 if it failed, or empty if the feature was not run.
+     */
+    private Optional<Integer> runFeatureInProcess(final File feature, final String[] args) {
+        if (args.length != 0
+                || SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(Constants.DISABLE_IN_PROCESS_FEATURES, false)) {
+            return Optional.empty();
+        }
+
+        try {
+            return NESTED_FEATURE_RUNNER.run(feature).map(failed -> failed == 0 ? 0 : 1);
+        } finally {
+            // The nested scenarios registered their own glue instances for this thread
+            INSTANCE_AUTOMATED_BROWSERS.put(Thread.currentThread(), this);
+        }
+    }
+
     /**
      * Defines the aliases for this scenario.
      *
@@ -250,7 +577,7 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
         if (StringUtils.isEmpty(shared)) {
             this.aliases.putAll(aliases);
         } else {
-            sharedAliases.putAll(aliases);
+            getSharedAliases().putAll(aliases);
         }
     }
 
@@ -263,37 +590,110 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
     }
 
     /**
-     * Opens a named browser, optionally making it shared so subsequent scenarios can reuse it.
+     * Opens a named browser, optionally making it shared so subsequent scenarios run by the same thread can
+     * reuse it. The browser starts in the background, and the first step to use the browser waits for it, so
+     * any steps that do not need the browser can run in the meantime.
      *
      * @param shared  This string is defined if the browser is to be reused with subsequent scenarios
      * @param browser The name of the browser to open
      */
     @Given("^I open the( shared)? browser \"([^\"]*)\"$")
     public void openBrowser(final String shared, final String browser) {
-        if (sharedAutomatedBrowser != null) {
+        if (SHARED_AUTOMATED_BROWSER.get() != null || SHARED_BROWSER_STARTUP.get() != null) {
             throw new BrowserException("Can not open a browser with an existing shared browser.");
         }
 
+        settleBrowserStartup();
+        // A multi-browser run replaces the browser with the target of the run
+        final String browserName = MULTI_BROWSER_RUNNER.getBrowserTarget()
+                .orElseGet(() -> getSubstitutedString(browser));
+
         if (shared != null) {
-            automatedBrowser = sharedAutomatedBrowser = AUTOMATED_BROWSER_FACTORY.getAutomatedBrowser(getSubstitutedString(browser));
-            automatedBrowser.init();
+            final AutomatedBrowser newBrowser = AUTOMATED_BROWSER_FACTORY.getAutomatedBrowser(browserName);
+            browserStartup = DaemonExecutor.supply(() -> initBrowser(newBrowser));
+            SHARED_BROWSER_STARTUP.set(browserStartup);
+            SHARED_BROWSER_OPENED.set(true);
         } else {
-            automatedBrowser = AUTOMATED_BROWSER_FACTORY.getAutomatedBrowser(getSubstitutedString(browser));
-            automatedBrowser.init();
+            pooledBrowserName = browserName;
+            browserStartup = DaemonExecutor.supply(() -> BROWSER_POOL.checkout(browserName));
+        }
+    }
+
+    /**
+     * Initialise a new browser, destroying it if it fails to start.
+     *
+     * @param newBrowser The browser to initialise.
+     * @return The initialised browser.
+     */
+    private AutomatedBrowser initBrowser(final AutomatedBrowser newBrowser) {
+        try {
+            newBrowser.init();
+            return newBrowser;
+        } catch (final RuntimeException ex) {
+            Try.run(newBrowser::destroy);
+            throw ex;
         }
     }
 
     /**
-     * Shuts down the browser.
+     * Shuts down the browser, or returns it to the browser pool.
      */
     @Given("^I close the browser$")
     public void closeBrowser() {
+        settleBrowserStartup();
+
         if (automatedBrowser != null) {
-            automatedBrowser.destroy();
+            if (pooledBrowserName != null && automatedBrowser != SHARED_AUTOMATED_BROWSER.get()) {
+                BROWSER_POOL.release(pooledBrowserName, automatedBrowser);
+            } else {
+                automatedBrowser.destroy();
+            }
         }
 
         automatedBrowser = null;
-        sharedAutomatedBrowser = null;
+        SHARED_AUTOMATED_BROWSER.remove();
+        pooledBrowserName = null;
+    }
+
+    /**
+     * Returns the browser used by a failed scenario to a clean state when browsers are pooled, so the next
+     * scenario does not have to wait for a new browser to start. A shared browser is reset in place, and any
+     * other browser is reset in the background by the browser pool. A browser that can not be reset is shut
+     * down.
+     */
+    private void recycleBrowser() {
+        settleBrowserStartup();
+
+        if (automatedBrowser == null) {
+            closeBrowser();
+        } else if (automatedBrowser == SHARED_AUTOMATED_BROWSER.get()) {
+            Try.run(automatedBrowser::resetSession)
+                    .onFailure(ex -> {
+                        LOGGER.warning("Shutting down the shared browser after failing to reset it: " + ex);
+                        closeBrowser();
+                    });
+        } else if (pooledBrowserName != null) {
+            BROWSER_POOL.recycle(pooledBrowserName, automatedBrowser);
+            automatedBrowser = null;
+            pooledBrowserName = null;
+        } else {
+            closeBrowser();
+        }
+    }
+
+    /**
+     * Shuts down a browser that failed, replacing it in the browser pool.
+     */
+    private void discardBrowser() {
+        settleBrowserStartup();
+
+        if (automatedBrowser != null && pooledBrowserName != null && automatedBrowser != SHARED_AUTOMATED_BROWSER.get()) {
+            BROWSER_POOL.discard(pooledBrowserName, automatedBrowser);
+            automatedBrowser = null;
+            pooledBrowserName = null;
+        } else {
+            closeBrowser();
+        }
     }
 
     @And("^I set the default explicit wait time to \"(\\d+)\" seconds?$")
@@ -361,6 +761,13 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
         }
     }
 
+    @Override
+    public void resetSession() {
+        if (getAutomatedBrowser() != null) {
+            getAutomatedBrowser().resetSession();
+        }
+    }
+
     @And("^I open the URL \"([^\"]*)\"$")
     @Override
     public void goTo(final String url) {
@@ -452,7 +859,7 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
         if (StringUtils.isEmpty(shared)) {
             aliases.put(getSubstitutedString(newAlias), aliases.get(LAST_RETURN));
         } else {
-            sharedAliases.put(getSubstitutedString(newAlias), aliases.get(LAST_RETURN));
+            getSharedAliases().put(getSubstitutedString(newAlias), aliases.get(LAST_RETURN));
         }
     }
 
@@ -1558,7 +1965,7 @@ public class AutomatedBrowserBase implements AutomatedBrowser {
                 if (StringUtils.isEmpty(shared)) {
                     aliases.put(getSubstitutedString(alias), resultString);
                 } else {
-                    sharedAliases.put(getSubstitutedString(alias), resultString);
+                    getSharedAliases().put(getSubstitutedString(alias), resultString);
                 }
             }
             return result;
@@ -7,19 +7,25 @@ import com.browserup.harreader.model.HarLog;
 import com.octopus.AutomatedBrowser;
 import com.octopus.Constants;
 import com.octopus.decoratorbase.AutomatedBrowserBase;
+import com.octopus.exceptions.NetworkException;
 import com.octopus.exceptions.SaveException;
 import com.octopus.utils.OSUtils;
 import com.octopus.utils.SystemPropertyUtils;
+import com.octopus.utils.impl.DaemonExecutor;
 import com.octopus.utils.impl.OSUtilsImpl;
 import com.octopus.utils.impl.SystemPropertyUtilsImpl;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vavr.control.Try;
 import java.io.File;
 import java.io.IOException;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.Range;
@@ -58,10 +64,35 @@ public class BrowserMobDecorator extends AutomatedBrowserBase {
      */
     private BrowserUpProxyServer proxy;
 
-    final Proxy seleniumProxy;
+    /**
+     * The HAR capture types the proxy started with, restored when the session is reset.
+     */
+    private final EnumSet<CaptureType> defaultCaptureTypes;
+
+    /**
+     * The requests to block. The proxy has no way to remove a filter, so a single filter consults
+     * this list, which can then be cleared when the session is reset.
+     */
+    private final List<BlockedRequest> blockedRequests = new CopyOnWriteArrayList<>();
+
+    /**
+     * The responses to alter, consulted by a single response filter.
+     */
+    private final List<AlteredResponse> alteredResponses = new CopyOnWriteArrayList<>();
+
+    /**
+     * Completes when the proxy has started.
+     */
+    private final CompletableFuture<Void> proxyStartup;
+
+    /**
+     * The Selenium proxy settings, created once the proxy has started and its port is known.
+     */
+    private Proxy seleniumProxy;
 
     /**
-     * Decorator constructor.
+     * Decorator constructor. The proxy is started in the background, so the rest of the browser can be
+     * prepared at the same time.
      *
      * @param automatedBrowser The AutomatedBrowser to wrap up.
      */
@@ -70,17 +101,43 @@ public class BrowserMobDecorator extends AutomatedBrowserBase {
         proxy = new BrowserUpProxyServer();
         proxy.setTrustAllServers(true);
         proxy.setUseEcc(true);
-        proxy.start(0);
+        defaultCaptureTypes = EnumSet.copyOf(proxy.getHarCaptureTypes());
+        addFilters();
 
-        seleniumProxy = new Proxy();
-        final String proxyStr = "localhost:" + proxy.getPort();
+        proxyStartup = DaemonExecutor.run(() -> proxy.start(0));
+    }
+
+    /**
+     * @return The started proxy server.
+     */
+    private BrowserUpProxyServer getProxy() {
+        try {
+            proxyStartup.join();
+        } catch (final CompletionException ex) {
+            throw new NetworkException("Failed to start the proxy", ex.getCause());
+        }
+        return proxy;
+    }
 
-        seleniumProxy.setHttpProxy(proxyStr);
-        seleniumProxy.setSslProxy(proxyStr);
+    /**
+     * @return The Selenium proxy settings pointing to the started proxy.
+     */
+    private synchronized Proxy getSeleniumProxy() {
+        if (seleniumProxy == null) {
+            final Proxy settings = new Proxy();
+            final String proxyStr = "localhost:" + getProxy().getPort();
 
-        if (StringUtils.isNotBlank(SYSTEM_PROPERTY_UTILS.getProperty(Constants.NO_PROXY_LIST))) {
-            seleniumProxy.setNoProxy(SYSTEM_PROPERTY_UTILS.getProperty(Constants.NO_PROXY_LIST));
+            settings.setHttpProxy(proxyStr);
+            settings.setSslProxy(proxyStr);
+
+            if (StringUtils.isNotBlank(SYSTEM_PROPERTY_UTILS.getProperty(Constants.NO_PROXY_LIST))) {
+                settings.setNoProxy(SYSTEM_PROPERTY_UTILS.getProperty(Constants.NO_PROXY_LIST));
+            }
+
+            seleniumProxy = settings;
         }
+
+        return seleniumProxy;
     }
 
     @Override
@@ -88,7 +145,7 @@ public class BrowserMobDecorator extends AutomatedBrowserBase {
         final DesiredCapabilities desiredCapabilities =
             getAutomatedBrowser().getDesiredCapabilities();
 
-        desiredCapabilities.setCapability(CapabilityType.PROXY, seleniumProxy);
+        desiredCapabilities.setCapability(CapabilityType.PROXY, getSeleniumProxy());
 
         return desiredCapabilities;
     }
@@ -96,7 +153,7 @@ public class BrowserMobDecorator extends AutomatedBrowserBase {
     @Override
     public FirefoxOptions getFirefoxOptions() {
         final FirefoxOptions options = new FirefoxOptions();
-        options.setCapability(CapabilityType.PROXY, seleniumProxy);
+        options.setCapability(CapabilityType.PROXY, getSeleniumProxy());
         return options;
     }
 
@@ -107,16 +164,18 @@ public class BrowserMobDecorator extends AutomatedBrowserBase {
         }
 
         if (proxy != null) {
+            // Wait for the proxy to finish starting, or it may start after it was stopped
+            proxyStartup.exceptionally(ex -> null).join();
             if (proxy.getHar() != null) {
                 proxy.endHar();
             }
-            proxy.stop();
+            Try.run(proxy::stop);
         }
     }
 
     @Override
     public void captureHarFile() {
-        proxy.newHar();
+        getProxy().newHar();
     }
 
     @Override
@@ -125,14 +184,14 @@ public class BrowserMobDecorator extends AutomatedBrowserBase {
                 CaptureType.getAllContentCaptureTypes();
         captureTypes.addAll(CaptureType.getHeaderCaptureTypes());
         captureTypes.addAll(CaptureType.getCookieCaptureTypes());
-        proxy.setHarCaptureTypes(captureTypes);
-        proxy.newHar();
+        getProxy().setHarCaptureTypes(captureTypes);
+        getProxy().newHar();
     }
 
     @Override
     public void saveHarFile(final String file) {
         try {
-            proxy.getHar().writeTo(new File(OS_UTILS.fixFileName(file)));
+            getProxy().getHar().writeTo(new File(OS_UTILS.fixFileName(file)));
         } catch (final IOException ex) {
             throw new SaveException(ex);
         }
@@ -140,39 +199,61 @@ public class BrowserMobDecorator extends AutomatedBrowserBase {
 
     @Override
     public void blockRequestTo(final String url, final int responseCode) {
+        blockedRequests.add(new BlockedRequest(Pattern.compile(url), responseCode));
+        getAutomatedBrowser().blockRequestTo(url, responseCode);
+    }
+
+    @Override
+    public void alterResponseFrom(final String url, final int responseCode, final String responseBody) {
+        alteredResponses.add(new AlteredResponse(Pattern.compile(url), responseCode, responseBody));
+        getAutomatedBrowser().alterResponseFrom(url, responseCode, responseBody);
+    }
+
+    @Override
+    public void resetSession() {
+        if (getAutomatedBrowser() != null) {
+            getAutomatedBrowser().resetSession();
+        }
+
+        blockedRequests.clear();
+        alteredResponses.clear();
+
+        if (getProxy().getHar() != null) {
+            getProxy().endHar();
+        }
+        getProxy().setHarCaptureTypes(EnumSet.copyOf(defaultCaptureTypes));
+    }
+
+    private void addFilters() {
         proxy.addRequestFilter((request, contents, messageInfo) -> {
-            if (Pattern.compile(url).matcher(messageInfo.getOriginalUrl()).matches()) {
-                final HttpResponse response = new DefaultHttpResponse(
-                        request.getProtocolVersion(),
-                        HttpResponseStatus.valueOf(responseCode));
+            for (final BlockedRequest blockedRequest : blockedRequests) {
+                if (blockedRequest.url().matcher(messageInfo.getOriginalUrl()).matches()) {
+                    final HttpResponse response = new DefaultHttpResponse(
+                            request.getProtocolVersion(),
+                            HttpResponseStatus.valueOf(blockedRequest.responseCode()));
 
-                response.headers().add(HttpHeaders.CONNECTION, "Close");
+                    response.headers().add(HttpHeaders.CONNECTION, "Close");
 
-                return response;
+                    return response;
+                }
             }
 
             return null;
-
         });
 
-        getAutomatedBrowser().blockRequestTo(url, responseCode);
-    }
-
-    @Override
-    public void alterResponseFrom(final String url, final int responseCode, final String responseBody) {
         proxy.addResponseFilter((response, contents, messageInfo) -> {
-            if (Pattern.compile(url).matcher(messageInfo.getOriginalUrl()).matches()) {
-                contents.setTextContents(responseBody);
-                response.setStatus(HttpResponseStatus.valueOf(responseCode));
+            for (final AlteredResponse alteredResponse : alteredResponses) {
+                if (alteredResponse.url().matcher(messageInfo.getOriginalUrl()).matches()) {
+                    contents.setTextContents(alteredResponse.responseBody());
+                    response.setStatus(HttpResponseStatus.valueOf(alteredResponse.responseCode()));
+                }
             }
         });
-
-        getAutomatedBrowser().alterResponseFrom(url, responseCode, responseBody);
     }
 
     @Override
     public List<Pair<String, Integer>> getErrors() {
-        return Optional.ofNullable(proxy.getHar())
+        return Optional.ofNullable(getProxy().getHar())
                 .map(Har::getLog)
                 .map(HarLog::getEntries)
                 .orElse(List.of())
@@ -181,4 +262,10 @@ public class BrowserMobDecorator extends AutomatedBrowserBase {
                 .map(s -> Pair.of(s.getRequest().getUrl(), s.getResponse().getStatus()))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    private record BlockedRequest(Pattern url, int responseCode) {
+    }
+
+    private record AlteredResponse(Pattern url, int responseCode, String responseBody) {
+    }
+}
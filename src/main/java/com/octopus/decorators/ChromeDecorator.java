@@ -2,12 +2,17 @@ package com.octopus.decorators;
 
 import com.octopus.AutomatedBrowser;
 import com.octopus.decoratorbase.AutomatedBrowserBase;
+import com.octopus.utils.ChromeProfileTemplateService;
+import com.octopus.utils.DriverServiceManager;
+import com.octopus.utils.impl.ChromeProfileTemplateServiceImpl;
+import com.octopus.utils.impl.DaemonExecutor;
+import com.octopus.utils.impl.DriverServiceManagerImpl;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.remote.CapabilityType;
 import org.openqa.selenium.remote.DesiredCapabilities;
@@ -16,6 +21,14 @@ import org.openqa.selenium.remote.DesiredCapabilities;
  * A decorator to configure a Chrome session.
  */
 public class ChromeDecorator extends AutomatedBrowserBase {
+    /**
+     * The shared DriverServiceManagerImpl instance.
+     */
+    private static final DriverServiceManager DRIVER_SERVICE_MANAGER = new DriverServiceManagerImpl();
+    /**
+     * The shared ChromeProfileTemplateServiceImpl instance.
+     */
+    private static final ChromeProfileTemplateService PROFILE_TEMPLATE_SERVICE = new ChromeProfileTemplateServiceImpl();
 
     /**
      * true if the browser is headless, and false otherwise.
@@ -55,6 +68,29 @@ public class ChromeDecorator extends AutomatedBrowserBase {
 
     @Override
     public void init() {
+        // The driver service and profile are prepared while the other decorators build the capabilities,
+        // which includes waiting for any proxy to start
+        final CompletableFuture<Void> service = DaemonExecutor.run(DRIVER_SERVICE_MANAGER::prepareChromeDriverService);
+        final CompletableFuture<Void> profile = userData == null
+                ? CompletableFuture.completedFuture(null)
+                : DaemonExecutor.run(() -> PROFILE_TEMPLATE_SERVICE.cloneTemplate("chrome", this::getProfileOptions, userData));
+
+        final ChromeOptions options = getProfileOptions(userData);
+        options.merge(getDesiredCapabilities());
+        DaemonExecutor.join(profile);
+        // A service that failed to start is started again when the session is created
+        service.exceptionally(ex -> null).join();
+        final WebDriver webDriver = DRIVER_SERVICE_MANAGER.newChromeDriver(options);
+        getAutomatedBrowser().setWebDriver(webDriver);
+        getAutomatedBrowser().init();
+    }
+
+    /**
+     * @param profile The user data directory, or null to let Chrome create one.
+     * @return The options that define the browser and its profile, without the capabilities added by
+     * other decorators.
+     */
+    private ChromeOptions getProfileOptions(final File profile) {
         final ChromeOptions options = new ChromeOptions();
         if (headless) {
             options.addArguments("--window-size=1920,1080");
@@ -62,17 +98,13 @@ public class ChromeDecorator extends AutomatedBrowserBase {
         options.setHeadless(headless);
         // https://bugs.chromium.org/p/chromedriver/issues/detail?id=795
         // A random user-data dir can fix issues with multiple tests opening and closing Chrome
-        if (userData != null) {
-            options.addArguments("--user-data-dir=" + userData.getAbsolutePath());
+        if (profile != null) {
+            options.addArguments("--user-data-dir=" + profile.getAbsolutePath());
         }
         if (System.getProperty("chrome.binary") != null) {
             options.setBinary(System.getProperty("chrome.binary"));
         }
-
-        options.merge(getDesiredCapabilities());
-        final WebDriver webDriver = new ChromeDriver(options);
-        getAutomatedBrowser().setWebDriver(webDriver);
-        getAutomatedBrowser().init();
+        return options;
     }
 
     @Override
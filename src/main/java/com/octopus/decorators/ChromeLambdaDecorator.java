@@ -3,10 +3,15 @@ package com.octopus.decorators;
 import com.google.common.io.Files;
 import com.octopus.AutomatedBrowser;
 import com.octopus.decoratorbase.AutomatedBrowserBase;
+import com.octopus.utils.ChromeProfileTemplateService;
+import com.octopus.utils.DriverServiceManager;
+import com.octopus.utils.impl.ChromeProfileTemplateServiceImpl;
+import com.octopus.utils.impl.DaemonExecutor;
+import com.octopus.utils.impl.DriverServiceManagerImpl;
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 
 /**
@@ -17,25 +22,21 @@ import org.openqa.selenium.chrome.ChromeOptions;
  */
 public class ChromeLambdaDecorator extends AutomatedBrowserBase {
     /**
-     * true if the browser is headless, and false otherwise.
+     * The shared DriverServiceManagerImpl instance.
      */
-    private final boolean headless;
+    private static final DriverServiceManager DRIVER_SERVICE_MANAGER = new DriverServiceManagerImpl();
     /**
-     * The Chrome user data directory.
+     * The shared ChromeProfileTemplateServiceImpl instance.
      */
-    private final File userData;
+    private static final ChromeProfileTemplateService PROFILE_TEMPLATE_SERVICE = new ChromeProfileTemplateServiceImpl();
     /**
-     * The Chrome data directory.
-     */
-    private final File dataPath;
-    /**
-     * The Chrome cache directory.
+     * true if the browser is headless, and false otherwise.
      */
-    private final File cacheDir;
+    private final boolean headless;
     /**
-     * The Chrome home directory.
+     * The directory holding the Chrome user data, data, cache and home directories.
      */
-    private final File homeDir;
+    private final File profileRoot;
 
     /**
      * Decorator constructor.
@@ -48,14 +49,32 @@ public class ChromeLambdaDecorator extends AutomatedBrowserBase {
         this.headless = headless;
         System.setProperty("webdriver.chrome.silentOutput", "true");
 
-        userData = Files.createTempDir();
-        dataPath = Files.createTempDir();
-        cacheDir = Files.createTempDir();
-        homeDir = Files.createTempDir();
+        profileRoot = Files.createTempDir();
     }
 
     @Override
     public void init() {
+        // The driver service and profile are prepared while the other decorators build the capabilities
+        final CompletableFuture<Void> service = DaemonExecutor.run(DRIVER_SERVICE_MANAGER::prepareChromeDriverService);
+        final CompletableFuture<Void> profile = DaemonExecutor.run(
+                () -> PROFILE_TEMPLATE_SERVICE.cloneTemplate("chromeLambda", this::getProfileOptions, profileRoot));
+
+        final ChromeOptions options = getProfileOptions(profileRoot);
+        options.merge(getDesiredCapabilities());
+        DaemonExecutor.join(profile);
+        // A service that failed to start is started again when the session is created
+        service.exceptionally(ex -> null).join();
+        final WebDriver webDriver = DRIVER_SERVICE_MANAGER.newChromeDriver(options);
+        getAutomatedBrowser().setWebDriver(webDriver);
+        getAutomatedBrowser().init();
+    }
+
+    /**
+     * @param root The directory to place the Chrome user data, data, cache and home directories in.
+     * @return The options that define the browser and its profile, without the capabilities added by
+     * other decorators.
+     */
+    private ChromeOptions getProfileOptions(final File root) {
         final ChromeOptions options = new ChromeOptions();
         if (headless) {
             options.addArguments("--headless");
@@ -74,28 +93,28 @@ public class ChromeLambdaDecorator extends AutomatedBrowserBase {
         options.addArguments("--window-size=1920,1080");
         options.addArguments("--single-process");
         options.addArguments("--no-sandbox");
-        options.addArguments("--user-data-dir=" + userData.getAbsolutePath());
-        options.addArguments("--data-path=" + dataPath.getAbsolutePath());
-        options.addArguments("--homedir=" + homeDir.getAbsolutePath());
-        options.addArguments("--disk-cache-dir=" + cacheDir.getAbsolutePath());
+        options.addArguments("--user-data-dir=" + getProfileDirectory(root, "user-data").getAbsolutePath());
+        options.addArguments("--data-path=" + getProfileDirectory(root, "data").getAbsolutePath());
+        options.addArguments("--homedir=" + getProfileDirectory(root, "home").getAbsolutePath());
+        options.addArguments("--disk-cache-dir=" + getProfileDirectory(root, "cache").getAbsolutePath());
 
         if (System.getProperty("chrome.binary") != null) {
             options.setBinary(System.getProperty("chrome.binary"));
         }
 
-        options.merge(getDesiredCapabilities());
-        final WebDriver webDriver = new ChromeDriver(options);
-        getAutomatedBrowser().setWebDriver(webDriver);
-        getAutomatedBrowser().init();
+        return options;
+    }
+
+    private File getProfileDirectory(final File root, final String name) {
+        final File directory = new File(root, name);
+        directory.mkdirs();
+        return directory;
     }
 
     @Override
     public void destroy() {
         super.destroy();
-        FileUtils.deleteQuietly(userData);
-        FileUtils.deleteQuietly(dataPath);
-        FileUtils.deleteQuietly(cacheDir);
-        FileUtils.deleteQuietly(homeDir);
+        FileUtils.deleteQuietly(profileRoot);
     }
 
     @Override
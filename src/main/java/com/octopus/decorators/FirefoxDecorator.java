@@ -2,13 +2,16 @@ package com.octopus.decorators;
 
 import com.octopus.AutomatedBrowser;
 import com.octopus.decoratorbase.AutomatedBrowserBase;
+import com.octopus.utils.DriverServiceManager;
 import com.octopus.utils.SystemPropertyUtils;
+import com.octopus.utils.impl.DaemonExecutor;
+import com.octopus.utils.impl.DriverServiceManagerImpl;
 import com.octopus.utils.impl.SystemPropertyUtilsImpl;
 import io.vavr.control.Try;
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.firefox.FirefoxProfile;
 import org.openqa.selenium.remote.CapabilityType;
@@ -18,6 +21,10 @@ import org.openqa.selenium.remote.DesiredCapabilities;
  * A decorator to configure a Firefox session.
  */
 public class FirefoxDecorator extends AutomatedBrowserBase {
+    /**
+     * The shared DriverServiceManagerImpl instance.
+     */
+    private static final DriverServiceManager DRIVER_SERVICE_MANAGER = new DriverServiceManagerImpl();
     /**
      * The shared SystemPropertyUtilsImpl instance.
      */
@@ -56,6 +63,10 @@ public class FirefoxDecorator extends AutomatedBrowserBase {
 
     @Override
     public void init() {
+        // The driver service is started while the other decorators build the options, which includes
+        // waiting for any proxy to start
+        final CompletableFuture<Void> service = DaemonExecutor.run(DRIVER_SERVICE_MANAGER::prepareGeckoDriverService);
+
         final FirefoxProfile myprofile = new FirefoxProfile();
         myprofile.setPreference("network.automatic-ntlm-auth.trusted-uris", "localhost");
         myprofile.setPreference("network.negotiate-auth.delegation-uris", "localhost");
@@ -69,7 +80,9 @@ public class FirefoxDecorator extends AutomatedBrowserBase {
         options.setHeadless(headless);
         options.setProfile(myprofile);
         options.merge(getDesiredCapabilities());
-        final WebDriver webDriver = new FirefoxDriver(options);
+        // A service that failed to start is replaced when the session is created
+        service.exceptionally(ex -> null).join();
+        final WebDriver webDriver = DRIVER_SERVICE_MANAGER.newFirefoxDriver(options);
         getAutomatedBrowser().setWebDriver(webDriver);
         getAutomatedBrowser().init();
     }
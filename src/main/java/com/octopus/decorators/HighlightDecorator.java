@@ -4,6 +4,7 @@ import com.octopus.AutomatedBrowser;
 import com.octopus.Constants;
 import com.octopus.decoratorbase.AutomatedBrowserBase;
 import com.octopus.exceptions.WebElementException;
+import com.octopus.utils.ElementState;
 import com.octopus.utils.RetryService;
 import com.octopus.utils.SimpleBy;
 import com.octopus.utils.SystemPropertyUtils;
@@ -17,7 +18,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.springframework.retry.RetryCallback;
 
 /**
@@ -69,26 +69,34 @@ public class HighlightDecorator extends AutomatedBrowserBase {
                         getWebDriver(),
                         locator,
                         waitTime / 3,
-                        ExpectedConditions::presenceOfElementLocated);
-
-                originalStyles.put(locator, element.getAttribute("style"));
+                        ElementState.PRESENT);
 
+                // Read the original style in the same script that applies the highlight
+                final Object originalStyle;
                 if (StringUtils.equals(StringUtils.trim(location), "inside")) {
-                    ((JavascriptExecutor) getWebDriver()).executeScript(
+                    originalStyle = ((JavascriptExecutor) getWebDriver()).executeScript(
                             """
+                                    var originalStyle = arguments[0].getAttribute('style');
                                     arguments[0].style.border = '5px solid rgb(0, 204, 101)';
-                                    """ + (StringUtils.isBlank(lift) ? "" : "arguments[0].style['z-index'] = 999999;"),
+                                    """ + (StringUtils.isBlank(lift) ? "" : "arguments[0].style['z-index'] = 999999;") + """
+                                    return originalStyle;
+                                    """,
                             element);
                 } else {
-                    ((JavascriptExecutor) getWebDriver()).executeScript(
+                    originalStyle = ((JavascriptExecutor) getWebDriver()).executeScript(
                             """
+                                    var originalStyle = arguments[0].getAttribute('style');
                                     arguments[0].style.outline = '5px solid rgb(0, 204, 101)';
                                     arguments[0].style['outline-offset'] = '""" + offsetValue + "px';" + """
                                     arguments[0].style['outline-style'] = 'solid';
-                                    """ + (StringUtils.isBlank(lift) ? "" : "arguments[0].style['z-index'] = 999999;"),
+                                    """ + (StringUtils.isBlank(lift) ? "" : "arguments[0].style['z-index'] = 999999;") + """
+                                    return originalStyle;
+                                    """,
                             element);
                 }
 
+                originalStyles.put(locator, originalStyle == null ? null : originalStyle.toString());
+
                 return null;
             });
         } catch (final WebElementException ex) {
@@ -115,7 +123,7 @@ public class HighlightDecorator extends AutomatedBrowserBase {
                         getWebDriver(),
                         locator,
                         waitTime,
-                        by -> ExpectedConditions.presenceOfElementLocated(by));
+                        ElementState.PRESENT);
 
                 ((JavascriptExecutor) getWebDriver()).executeScript(
                         "arguments[0].setAttribute('style', '" + originalStyles.get(locator) + "');",
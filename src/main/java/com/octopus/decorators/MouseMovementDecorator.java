@@ -4,13 +4,12 @@ import com.octopus.AutomatedBrowser;
 import com.octopus.Constants;
 import com.octopus.decoratorbase.AutomatedBrowserBase;
 import com.octopus.exceptions.WebElementException;
+import com.octopus.utils.ElementState;
 import com.octopus.utils.ExpectedConditionCallback;
 import com.octopus.utils.MouseMovementUtils;
-import com.octopus.utils.RetryService;
 import com.octopus.utils.SimpleBy;
 import com.octopus.utils.SystemPropertyUtils;
 import com.octopus.utils.impl.MouseMovementUtilsImpl;
-import com.octopus.utils.impl.RetryServiceImpl;
 import com.octopus.utils.impl.SimpleByImpl;
 import com.octopus.utils.impl.SystemPropertyUtilsImpl;
 import java.time.Duration;
@@ -18,14 +17,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
-import org.springframework.retry.RetryCallback;
 
 /**
- * This decorator wraps up commands that emulate end user interactions, and move the mouse to the element
- * location. The broser must be maximized or in full screen mode for mouse movement to work correctly, as
+ * This decorator wraps up commands that emulate end user interactions, and moves the mouse to the element
+ * location before the WebDriverDecorator performs the interaction. The broser must be maximized or in full screen mode for mouse movement to work correctly, as
  * WebDriver can not find the absolute position of an element on the screen, but that position can be worked out
  * from the element position in the browser window plus a fixed value for the browsers user interface.
  */
@@ -42,14 +39,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
      * The shared SimpleByImpl instance.
      */
     private static final SimpleBy SIMPLE_BY = new SimpleByImpl();
-    /**
-     * The shared RetryServiceImpl instance.
-     */
-    private static final RetryService RETRY_SERVICE = new RetryServiceImpl();
-    /**
-     * A count of how many user interactions we simulated.
-     */
-    private int interactionCount = 0;
 
     private void glideMouse(
             final String locator,
@@ -121,8 +110,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementWithId(final String id) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -140,8 +127,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementWithId(final String id, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -159,8 +144,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectWithId(final String optionText, final String id) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -179,8 +162,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectWithId(final String optionText, final String id, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -199,8 +180,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElementWithId(final String id, final String text) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -219,8 +198,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElementWithId(final String id, final String text, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -239,8 +216,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementWithXPath(final String xpath) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -258,8 +233,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementWithXPath(final String xpath, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -277,8 +250,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectWithXPath(final String optionText, final String xpath) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -297,8 +268,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectWithXPath(final String optionText, final String xpath, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -317,8 +286,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElementWithXPath(final String xpath, final String text) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -337,8 +304,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElementWithXPath(final String xpath, final String text, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -357,8 +322,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementWithCSSSelector(final String cssSelector) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -376,8 +339,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementWithCSSSelector(final String cssSelector, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -395,8 +356,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectWithCSSSelector(final String optionText, final String cssSelector) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -415,8 +374,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectWithCSSSelector(final String optionText, final String cssSelector, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -435,8 +392,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElementWithCSSSelector(final String cssSelector, final String text) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -455,8 +410,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElementWithCSSSelector(final String cssSelector, final String text, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -475,8 +428,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementWithName(final String name) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -494,8 +445,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementWithName(final String name, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -513,8 +462,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectWithName(final String optionText, final String name) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -533,8 +480,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectWithName(final String optionText, final String name, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -553,8 +498,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElementWithName(final String name, final String text) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -573,8 +516,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElementWithName(final String name, final String text, final int waitTime) {
-        ++interactionCount;
-
         MOUSE_MOVEMENT_UTILS.mouseGlide(
                 getWebDriver(),
                 (JavascriptExecutor) getWebDriver(),
@@ -593,8 +534,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementIfExists(final String force, final String locator, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
             MOUSE_MOVEMENT_UTILS.mouseGlide(
                     getWebDriver(),
@@ -603,9 +542,7 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
                             getWebDriver(),
                             locator,
                             getDefaultExplicitWaitTime(),
-                            by -> force == null
-                                    ? ExpectedConditions.elementToBeClickable(by)
-                                    : ExpectedConditions.presenceOfElementLocated(by)),
+                            force == null ? ElementState.CLICKABLE : ElementState.PRESENT),
                     Constants.MOUSE_MOVE_TIME,
                     Constants.MOUSE_MOVE_STEPS,
                     force != null);
@@ -627,8 +564,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementIfExists(final String force, final String locator, final Integer waitTime, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
             MOUSE_MOVEMENT_UTILS.mouseGlide(
                     getWebDriver(),
@@ -637,9 +572,7 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
                             getWebDriver(),
                             locator,
                             waitTime,
-                            by -> force == null
-                                    ? ExpectedConditions.elementToBeClickable(by)
-                                    : ExpectedConditions.presenceOfElementLocated(by)),
+                            force == null ? ElementState.CLICKABLE : ElementState.PRESENT),
                     Constants.MOUSE_MOVE_TIME,
                     Constants.MOUSE_MOVE_STEPS,
                     force != null);
@@ -661,8 +594,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectIfExists(final String force, final String optionText, final String locator, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
             MOUSE_MOVEMENT_UTILS.mouseGlide(
                     getWebDriver(),
@@ -671,7 +602,7 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
                             getWebDriver(),
                             locator,
                             getDefaultExplicitWaitTime(),
-                            ExpectedConditions::elementToBeClickable),
+                            ElementState.CLICKABLE),
                     Constants.MOUSE_MOVE_TIME,
                     Constants.MOUSE_MOVE_STEPS);
 
@@ -693,8 +624,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectIfExists(final String force, final String optionText, final String locator, final int waitTime, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
             MOUSE_MOVEMENT_UTILS.mouseGlide(
                     getWebDriver(),
@@ -703,7 +632,7 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
                             getWebDriver(),
                             locator,
                             waitTime,
-                            ExpectedConditions::elementToBeClickable),
+                            ElementState.CLICKABLE),
                     Constants.MOUSE_MOVE_TIME,
                     Constants.MOUSE_MOVE_STEPS);
 
@@ -725,8 +654,6 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByValueFromSelectIfExists(final String force, final String optionValue, final String locator, final int waitTime, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
             MOUSE_MOVEMENT_UTILS.mouseGlide(
                     getWebDriver(),
@@ -735,7 +662,7 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
                             getWebDriver(),
                             locator,
                             waitTime,
-                            ExpectedConditions::elementToBeClickable),
+                            ElementState.CLICKABLE),
                     Constants.MOUSE_MOVE_TIME,
                     Constants.MOUSE_MOVE_STEPS);
 
@@ -757,10 +684,8 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElement(final String force, final String locator, final String keystrokeDelay, final String text, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
-            glideMouse(locator, getDefaultExplicitWaitTime(), ExpectedConditions::elementToBeClickable);
+            glideMouse(locator, getDefaultExplicitWaitTime(), ElementState.CLICKABLE);
 
             if (getAutomatedBrowser() != null) {
                 getAutomatedBrowser().populateElement(
@@ -781,10 +706,8 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElement(final String force, final String locator, final String keystrokeDelay, final String text, final int waitTime, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
-            glideMouse(locator, waitTime, ExpectedConditions::elementToBeClickable);
+            glideMouse(locator, waitTime, ElementState.CLICKABLE);
 
             if (getAutomatedBrowser() != null) {
                 getAutomatedBrowser().populateElement(
@@ -805,35 +728,16 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void mouseOverIfExists(final String force, final String locator, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
-            glideMouse(locator, getDefaultExplicitWaitTime(), ExpectedConditions::presenceOfElementLocated);
-
-            final Actions action = new Actions(getWebDriver());
+            glideMouse(locator, getDefaultExplicitWaitTime(), ElementState.PRESENT);
 
-            if (StringUtils.isNotBlank(force)) {
-                final WebElement element = SIMPLE_BY.getElement(
-                        getWebDriver(),
+            if (getAutomatedBrowser() != null) {
+                getAutomatedBrowser().mouseOverIfExists(
+                        force,
                         locator,
                         SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(
                                 Constants.MOVE_CURSOR_TO_ELEMENT, false) ? 0 : getDefaultExplicitWaitTime(),
-                        ExpectedConditions::presenceOfElementLocated);
-                ((JavascriptExecutor) getWebDriver()).executeScript(
-                        "arguments[0].dispatchEvent(new Event('mouseover', { bubbles: true }))",
-                        element);
-            } else {
-                // Retry to address the org.openqa.selenium.StaleElementReferenceException exception
-                RETRY_SERVICE.getTemplate().execute((RetryCallback<Void, WebElementException>) context -> {
-                    final WebElement element = SIMPLE_BY.getElement(
-                            getWebDriver(),
-                            locator,
-                            SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(
-                                    Constants.MOVE_CURSOR_TO_ELEMENT, false) ? 0 : getDefaultExplicitWaitTime(),
-                            ExpectedConditions::presenceOfElementLocated);
-                    action.moveToElement(element).perform();
-                    return null;
-                });
+                        ifExistsOption);
             }
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
@@ -844,25 +748,16 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void mouseOverIfExists(final String force, final String locator, final int waitTime, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
-            glideMouse(locator, waitTime, ExpectedConditions::presenceOfElementLocated);
+            glideMouse(locator, waitTime, ElementState.PRESENT);
 
-            final Actions action = new Actions(getWebDriver());
-            final WebElement element = SIMPLE_BY.getElement(
-                    getWebDriver(),
-                    locator,
-                    SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(
-                            Constants.MOVE_CURSOR_TO_ELEMENT, false) ? 0 : waitTime,
-                    ExpectedConditions::presenceOfElementLocated);
-
-            if (StringUtils.isNotBlank(force)) {
-                ((JavascriptExecutor) getWebDriver()).executeScript(
-                        "arguments[0].dispatchEvent(new Event('mouseover', { bubbles: true }))",
-                        element);
-            } else {
-                action.moveToElement(element).perform();
+            if (getAutomatedBrowser() != null) {
+                getAutomatedBrowser().mouseOverIfExists(
+                        force,
+                        locator,
+                        SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(
+                                Constants.MOVE_CURSOR_TO_ELEMENT, false) ? 0 : waitTime,
+                        ifExistsOption);
             }
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
@@ -873,24 +768,16 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void focusIfExists(final String force, final String locator, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
-            glideMouse(locator, getDefaultExplicitWaitTime(), ExpectedConditions::presenceOfElementLocated);
+            glideMouse(locator, getDefaultExplicitWaitTime(), ElementState.PRESENT);
 
-            final Actions action = new Actions(getWebDriver());
-            final WebElement element = SIMPLE_BY.getElement(
-                    getWebDriver(),
-                    locator,
-                    SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(
-                            Constants.MOVE_CURSOR_TO_ELEMENT, false) ? 0 : getDefaultExplicitWaitTime(),
-                    ExpectedConditions::presenceOfElementLocated);
-            if (StringUtils.isNotBlank(force)) {
-                ((JavascriptExecutor) getWebDriver()).executeScript(
-                        "arguments[0].dispatchEvent(new Event('focus', { bubbles: true }))",
-                        element);
-            } else {
-                action.moveToElement(element).perform();
+            if (getAutomatedBrowser() != null) {
+                getAutomatedBrowser().focusIfExists(
+                        force,
+                        locator,
+                        SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(
+                                Constants.MOVE_CURSOR_TO_ELEMENT, false) ? 0 : getDefaultExplicitWaitTime(),
+                        ifExistsOption);
             }
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
@@ -901,25 +788,16 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
 
     @Override
     public void focusIfExists(final String force, final String locator, final int waitTime, final String ifExistsOption) {
-        ++interactionCount;
-
         try {
-            glideMouse(locator, waitTime, ExpectedConditions::presenceOfElementLocated);
+            glideMouse(locator, waitTime, ElementState.PRESENT);
 
-            final Actions action = new Actions(getWebDriver());
-            final WebElement element = SIMPLE_BY.getElement(
-                    getWebDriver(),
-                    locator,
-                    SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(
-                            Constants.MOVE_CURSOR_TO_ELEMENT, false) ? 0 : waitTime,
-                    ExpectedConditions::presenceOfElementLocated);
-
-            if (StringUtils.isNotBlank(force)) {
-                ((JavascriptExecutor) getWebDriver()).executeScript(
-                        "arguments[0].dispatchEvent(new Event('focus', { bubbles: true }))",
-                        element);
-            } else {
-                action.moveToElement(element).perform();
+            if (getAutomatedBrowser() != null) {
+                getAutomatedBrowser().focusIfExists(
+                        force,
+                        locator,
+                        SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(
+                                Constants.MOVE_CURSOR_TO_ELEMENT, false) ? 0 : waitTime,
+                        ifExistsOption);
             }
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
@@ -927,11 +805,4 @@ public class MouseMovementDecorator extends AutomatedBrowserBase {
             }
         }
     }
-
-    /**
-     * @return the number of user interactions we have simulated.
-     */
-    public int getInteractionCount() {
-        return interactionCount;
-    }
 }
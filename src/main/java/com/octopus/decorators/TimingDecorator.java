@@ -0,0 +1,100 @@
+package com.octopus.decorators;
+
+import com.octopus.AutomatedBrowser;
+import com.octopus.utils.LatencyRecorder;
+import com.octopus.utils.LocatorStrategy;
+import com.octopus.utils.SimpleBy;
+import com.octopus.utils.impl.LatencyRecorderImpl;
+import com.octopus.utils.impl.SimpleByImpl;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A decorator that records the wall-clock latency of every AutomatedBrowser method.
+ *
+ * <p>Unlike the other decorators, this is a dynamic proxy rather than a subclass of
+ * AutomatedBrowserBase, so it times every method of the interface without overriding each one.
+ * It can be placed anywhere in a chain, and the layer name is included in the recorded command
+ * names, so timing both the outside and the inside of a chain shows how much time is spent in
+ * the decorators compared to the driver and the site.</p>
+ */
+public final class TimingDecorator implements InvocationHandler {
+    private static final LatencyRecorder LATENCY_RECORDER = new LatencyRecorderImpl();
+    private static final SimpleBy SIMPLE_BY = new SimpleByImpl();
+    private static final Set<String> ACCESSORS = Set.of(
+            "getDefaultExplicitWaitTime",
+            "setDefaultExplicitWaitTime",
+            "getWebDriver",
+            "setWebDriver",
+            "getDesiredCapabilities",
+            "getFirefoxOptions",
+            "getErrors",
+            "getInteractionCount");
+
+    private final String layer;
+    private final AutomatedBrowser automatedBrowser;
+
+    private TimingDecorator(final String layer, final AutomatedBrowser automatedBrowser) {
+        this.layer = layer;
+        this.automatedBrowser = automatedBrowser;
+    }
+
+    /**
+     * Wrap an AutomatedBrowser with a timing decorator.
+     *
+     * @param layer            A name identifying where the decorator sits in the chain, or blank for none.
+     * @param automatedBrowser The AutomatedBrowser to wrap up.
+     * @return The timed AutomatedBrowser.
+     */
+    public static AutomatedBrowser decorate(final String layer, final AutomatedBrowser automatedBrowser) {
+        return (AutomatedBrowser) Proxy.newProxyInstance(
+                AutomatedBrowser.class.getClassLoader(),
+                new Class<?>[]{AutomatedBrowser.class},
+                new TimingDecorator(layer, automatedBrowser));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "TimingDecorator(" + automatedBrowser + ")";
+            };
+        }
+
+        if (isAccessor(method)) {
+            return forward(method, args);
+        }
+
+        SIMPLE_BY.clearLastStrategy();
+        final long start = System.nanoTime();
+        try {
+            return forward(method, args);
+        } finally {
+            LATENCY_RECORDER.record(
+                    StringUtils.isBlank(layer) ? method.getName() : layer + " " + method.getName(),
+                    SIMPLE_BY.getLastStrategy().map(LocatorStrategy::getScriptName).orElse(null),
+                    System.nanoTime() - start);
+        }
+    }
+
+    private Object forward(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(automatedBrowser, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Getters and setters for the state of the chain are not browser commands, so are not timed.
+     */
+    private boolean isAccessor(final Method method) {
+        return ACCESSORS.contains(method.getName());
+    }
+}
@@ -2,10 +2,13 @@ package com.octopus.decorators;
 
 import com.octopus.Constants;
 import com.octopus.decoratorbase.AutomatedBrowserBase;
+import com.octopus.exceptions.BrowserException;
 import com.octopus.exceptions.InteractionException;
 import com.octopus.exceptions.SaveException;
 import com.octopus.exceptions.ValidationException;
 import com.octopus.exceptions.WebElementException;
+import com.octopus.utils.ElementContext;
+import com.octopus.utils.ElementState;
 import com.octopus.utils.GithubActionsServiceMessageGenerator;
 import com.octopus.utils.OSUtils;
 import com.octopus.utils.OctopusServiceMessageGenerator;
@@ -15,6 +18,8 @@ import com.octopus.utils.ScreenRecorderService;
 import com.octopus.utils.ScreenTransitions;
 import com.octopus.utils.SimpleBy;
 import com.octopus.utils.SystemPropertyUtils;
+import com.octopus.utils.TypingService;
+import com.octopus.utils.impl.ElementContextImpl;
 import com.octopus.utils.impl.GithubActionsServiceMessageGeneratorImpl;
 import com.octopus.utils.impl.OSUtilsImpl;
 import com.octopus.utils.impl.OSValidator;
@@ -25,14 +30,22 @@ import com.octopus.utils.impl.ScreenRecorderServiceImpl;
 import com.octopus.utils.impl.ScreenTransitionsImpl;
 import com.octopus.utils.impl.SimpleByImpl;
 import com.octopus.utils.impl.SystemPropertyUtilsImpl;
+import com.octopus.utils.impl.TypingServiceImpl;
 import io.vavr.control.Try;
 import java.awt.AWTException;
 import java.awt.Robot;
 import java.awt.event.KeyEvent;
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -48,10 +61,13 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.springframework.retry.RetryCallback;
 
 /**
  * The decorator the implements most of the interaction with the browser.
@@ -67,8 +83,31 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     private static final ScreenRecorderService SCREEN_RECORDER_SERVICE = new ScreenRecorderServiceImpl();
     private static final OSUtils OS_UTILS = new OSUtilsImpl();
     private static final RetryService RETRY_SERVICE = new RetryServiceImpl();
+    private static final TypingService TYPING_SERVICE = new TypingServiceImpl();
+    private static final ElementContext ELEMENT_CONTEXT = new ElementContextImpl();
+    /**
+     * Clears the storage of the current origin when the session is reset without CDP. The callback is the last
+     * argument, and is passed true once the service workers are unregistered.
+     */
+    private static final String CLEAR_ORIGIN_SCRIPT = """
+            const done = arguments[arguments.length - 1];
+            localStorage.clear();
+            sessionStorage.clear();
+            (navigator.serviceWorker ? navigator.serviceWorker.getRegistrations() : Promise.resolve([]))
+                .then(registrations => Promise.all(registrations.map(registration => registration.unregister())))
+                .then(() => done(true), error => done(String(error)));
+            """;
     private int defaultExplicitWaitTime;
     private WebDriver webDriver;
+    /**
+     * The origins opened with goTo since the session was last reset. Without CDP these are the only origins
+     * known to have stored data, along with the origins open when the session is reset.
+     */
+    private final Set<String> openedOrigins = new HashSet<>();
+    /**
+     * A count of how many user interactions we simulated.
+     */
+    private int interactionCount = 0;
 
     public WebDriverDecorator() {
         super(null);
@@ -84,6 +123,14 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         return defaultExplicitWaitTime;
     }
 
+    /**
+     * @return the number of user interactions we have simulated.
+     */
+    @Override
+    public int getInteractionCount() {
+        return interactionCount;
+    }
+
     @Override
     public WebDriver getWebDriver() {
         return webDriver;
@@ -105,6 +152,117 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         }
     }
 
+    @Override
+    public void resetSession() {
+        if (getAutomatedBrowser() != null) {
+            getAutomatedBrowser().resetSession();
+        }
+
+        defaultExplicitWaitTime = 0;
+
+        if (webDriver == null) {
+            return;
+        }
+
+        // Find the origins visited by every window before closing every window except the first
+        final Set<String> origins = new HashSet<>(openedOrigins);
+        final List<String> handles = new ArrayList<>(webDriver.getWindowHandles());
+        for (final String handle : handles) {
+            webDriver.switchTo().window(handle);
+            getOrigin(webDriver.getCurrentUrl()).ifPresent(origins::add);
+            if (webDriver instanceof HasCdp hasCdp) {
+                Try.of(() -> getVisitedOrigins(hasCdp)).forEach(origins::addAll);
+            }
+        }
+        for (final String handle : handles.subList(1, handles.size())) {
+            webDriver.switchTo().window(handle).close();
+        }
+        webDriver.switchTo().window(handles.get(0));
+        webDriver.switchTo().defaultContent();
+        ELEMENT_CONTEXT.invalidate();
+
+        // CDP can clear the storage of any origin. Other browsers, and Chrome sessions that could not be
+        // augmented, have the storage of each origin cleared by a script run on a page of that origin.
+        final Try<Void> cdpReset = webDriver instanceof HasCdp hasCdp
+                ? Try.run(() -> clearOriginsWithCdp(hasCdp, origins))
+                : Try.failure(new BrowserException("The browser does not support CDP"));
+        if (cdpReset.isFailure()) {
+            LOGGER.info("Clearing the session with scripts as CDP is not available: " + cdpReset.getCause());
+            clearOriginsWithScript(origins);
+        }
+        webDriver.manage().deleteAllCookies();
+        openedOrigins.clear();
+
+        webDriver.get("about:blank");
+
+        // A browser that can not run a script on the blank page is not safe to reuse
+        final Object readyState = ((JavascriptExecutor) webDriver).executeScript("return document.readyState;");
+        if (!"complete".equals(readyState) || !"about:blank".equals(webDriver.getCurrentUrl())) {
+            throw new BrowserException("The browser failed the health check after resetting the session");
+        }
+    }
+
+    private void clearOriginsWithCdp(final HasCdp hasCdp, final Set<String> origins) {
+        for (final String origin : origins) {
+            hasCdp.executeCdpCommand(
+                    "Storage.clearDataForOrigin",
+                    Map.of("origin", origin, "storageTypes", "all"));
+        }
+
+        // WebDriver only deletes the cookies of the current domain, so clear all cookies with CDP
+        hasCdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        Try.run(() -> hasCdp.executeCdpCommand("Network.clearBrowserCache", Map.of()));
+    }
+
+    /**
+     * Open each origin in turn, deleting its cookies and clearing its storage and service workers.
+     *
+     * @throws BrowserException if the storage of an origin could not be cleared.
+     */
+    private void clearOriginsWithScript(final Set<String> origins) {
+        for (final String origin : origins) {
+            final Object result = Try.of(() -> {
+                        webDriver.get(origin);
+                        webDriver.manage().deleteAllCookies();
+                        return ((JavascriptExecutor) webDriver).executeAsyncScript(CLEAR_ORIGIN_SCRIPT);
+                    })
+                    .getOrElseThrow(ex -> new BrowserException("Failed to clear the session of " + origin, ex));
+            if (!Boolean.TRUE.equals(result)) {
+                throw new BrowserException("Failed to clear the session of " + origin + ": " + result);
+            }
+        }
+    }
+
+    /**
+     * @return The origin of an http or https URL.
+     */
+    private Optional<String> getOrigin(final String url) {
+        return Try.of(() -> URI.create(url))
+                .filter(uri -> "http".equals(uri.getScheme()) || "https".equals(uri.getScheme()))
+                .filter(uri -> uri.getHost() != null)
+                .map(uri -> uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort()))
+                .toJavaOptional();
+    }
+
+    /**
+     * @param hasCdp The driver to run the CDP command with, with the window to inspect selected.
+     * @return The origins of the http and https pages in the navigation history of the current window.
+     */
+    private Set<String> getVisitedOrigins(final HasCdp hasCdp) {
+        final Object entries = hasCdp.executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries");
+        if (!(entries instanceof List)) {
+            throw new BrowserException("Failed to read the navigation history of the browser");
+        }
+
+        final Set<String> origins = new HashSet<>();
+        for (final Object entry : (List<?>) entries) {
+            if (entry instanceof Map) {
+                getOrigin(String.valueOf(((Map<?, ?>) entry).get("url"))).ifPresent(origins::add);
+            }
+        }
+        return origins;
+    }
+
     @Override
     public void startScreenRecording(final String file, final String capturedArtifact) {
         final File movie = SCREEN_RECORDER_SERVICE.start(file == null ? new File(".") : new File(OS_UTILS.fixFileName(file)));
@@ -125,6 +283,8 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void goTo(final String url) {
         webDriver.get(url);
+        ELEMENT_CONTEXT.invalidate();
+        getOrigin(url).ifPresent(openedOrigins::add);
     }
 
     @Override
@@ -199,6 +359,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void clickElementWithId(final String id) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             webDriver.findElement(By.id(id)).click();
         } else {
             clickElementWithId(id, getDefaultExplicitWaitTime());
@@ -210,6 +371,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             clickElementWithId(id);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             wait.until(ExpectedConditions.elementToBeClickable((By.id(id)))).click();
         }
@@ -218,6 +380,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void selectOptionByTextFromSelectWithId(final String optionText, final String selectId) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             new Select(webDriver.findElement(By.id(selectId))).selectByVisibleText(optionText);
         } else {
             selectOptionByTextFromSelectWithId(optionText, selectId, getDefaultExplicitWaitTime());
@@ -229,6 +392,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             selectOptionByTextFromSelectWithId(optionText, id);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             new Select(wait.until(ExpectedConditions.elementToBeClickable((By.id(id))))).selectByVisibleText(optionText);
         }
@@ -237,6 +401,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void populateElementWithId(final String id, final String text) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             webDriver.findElement(By.id(id)).sendKeys(text);
         } else {
             populateElementWithId(id, text, getDefaultExplicitWaitTime());
@@ -248,6 +413,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             populateElementWithId(id, text);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             wait.until(ExpectedConditions.presenceOfElementLocated((By.id(id)))).sendKeys(text);
         }
@@ -281,6 +447,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void clickElementWithXPath(final String xpath) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             webDriver.findElement(By.xpath(xpath)).click();
         } else {
             clickElementWithXPath(xpath, getDefaultExplicitWaitTime());
@@ -292,6 +459,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             clickElementWithXPath(xpath);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             wait.until(ExpectedConditions.elementToBeClickable((By.xpath(xpath)))).click();
         }
@@ -300,6 +468,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void selectOptionByTextFromSelectWithXPath(final String optionText, final String xpath) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             new Select(webDriver.findElement(By.xpath(xpath))).selectByVisibleText(optionText);
         } else {
             selectOptionByTextFromSelectWithXPath(optionText, xpath, getDefaultExplicitWaitTime());
@@ -311,6 +480,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             selectOptionByTextFromSelectWithXPath(optionText, xpath);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             new Select(wait.until(ExpectedConditions.elementToBeClickable((By.xpath(xpath))))).selectByVisibleText(optionText);
         }
@@ -319,6 +489,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void populateElementWithXPath(final String xpath, final String text) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             webDriver.findElement(By.xpath(xpath)).sendKeys(text);
         } else {
             populateElementWithXPath(xpath, text, getDefaultExplicitWaitTime());
@@ -330,6 +501,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             populateElementWithXPath(xpath, text);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             wait.until(ExpectedConditions.presenceOfElementLocated((By.xpath(xpath)))).sendKeys(text);
         }
@@ -363,6 +535,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void clickElementWithCSSSelector(final String cssSelector) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             webDriver.findElement(By.cssSelector(cssSelector)).click();
         } else {
             clickElementWithCSSSelector(cssSelector, getDefaultExplicitWaitTime());
@@ -374,6 +547,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             clickElementWithCSSSelector(css);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             wait.until(ExpectedConditions.elementToBeClickable((By.cssSelector(css)))).click();
         }
@@ -382,6 +556,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void selectOptionByTextFromSelectWithCSSSelector(final String optionText, final String cssSelector) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             new Select(webDriver.findElement(By.cssSelector(cssSelector))).selectByVisibleText(optionText);
         } else {
             selectOptionByTextFromSelectWithCSSSelector(optionText, cssSelector, getDefaultExplicitWaitTime());
@@ -394,6 +569,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             selectOptionByTextFromSelectWithCSSSelector(optionText, css);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             new Select(wait.until(ExpectedConditions.elementToBeClickable((By.cssSelector(css))))).selectByVisibleText(optionText);
         }
@@ -402,6 +578,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void populateElementWithCSSSelector(final String cssSelector, final String text) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             webDriver.findElement(By.cssSelector(cssSelector)).sendKeys(text);
         } else {
             populateElementWithCSSSelector(cssSelector, text, getDefaultExplicitWaitTime());
@@ -413,6 +590,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             populateElementWithCSSSelector(css, text);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             wait.until(ExpectedConditions.presenceOfElementLocated((By.cssSelector(css)))).sendKeys(text);
         }
@@ -446,6 +624,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void clickElementWithName(final String name) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             webDriver.findElement(By.name(name)).click();
         } else {
             clickElementWithName(name, getDefaultExplicitWaitTime());
@@ -457,6 +636,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             clickElementWithName(name);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             wait.until(ExpectedConditions.elementToBeClickable((By.name(name)))).click();
         }
@@ -465,6 +645,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void selectOptionByTextFromSelectWithName(final String optionText, final String name) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             new Select(webDriver.findElement(By.name(name))).selectByVisibleText(optionText);
         } else {
             selectOptionByTextFromSelectWithName(optionText, name, getDefaultExplicitWaitTime());
@@ -476,6 +657,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             selectOptionByTextFromSelectWithName(name, optionText);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             new Select(wait.until(ExpectedConditions.elementToBeClickable((By.name(name))))).selectByVisibleText(optionText);
         }
@@ -484,6 +666,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void populateElementWithName(final String name, final String text) {
         if (getDefaultExplicitWaitTime() <= 0) {
+            ++interactionCount;
             webDriver.findElement(By.name(name)).sendKeys(text);
         } else {
             populateElementWithName(name, text, getDefaultExplicitWaitTime());
@@ -495,6 +678,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         if (waitTime <= 0) {
             populateElementWithName(name, text);
         } else {
+            ++interactionCount;
             final WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
             wait.until(ExpectedConditions.presenceOfElementLocated((By.name(name)))).sendKeys(text);
         }
@@ -525,6 +709,16 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         }
     }
 
+    /**
+     * Elements resolved by SIMPLE_BY are shared with the other decorators for the duration of a step, so an
+     * element can be replaced by the page between being resolved and being used here. The stale element
+     * template discards the shared elements and runs the action again with freshly resolved ones. Only actions
+     * that are safe to repeat are wrapped, as the page may have been changed before the element went stale.
+     */
+    private <T> T retryIfStale(final RetryCallback<T, WebElementException> action) {
+        return RETRY_SERVICE.getStaleElementTemplate().execute(action);
+    }
+
     @Override
     public void clickElementIfOtherExists(final String force, final String locator, final String ifOtherExists) {
         clickElementIfOtherExists(force, locator, getDefaultExplicitWaitTime(), ifOtherExists);
@@ -536,7 +730,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                 getWebDriver(),
                 ifOtherExists,
                 ObjectUtils.defaultIfNull(waitTime, getDefaultExplicitWaitTime()),
-                ExpectedConditions::presenceOfElementLocated))
+                ElementState.PRESENT))
                 .onSuccess(e -> clickElementIfExists(force, locator, waitTime, null));
     }
 
@@ -551,7 +745,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                 getWebDriver(),
                 ifOtherExists,
                 ObjectUtils.defaultIfNull(waitTime, getDefaultExplicitWaitTime()),
-                ExpectedConditions::presenceOfElementLocated))
+                ElementState.PRESENT))
                 .onFailure(ex -> clickElementIfExists(force, locator, waitTime, null));
     }
 
@@ -562,21 +756,26 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
 
     @Override
     public void clickElementIfExists(final String force, final String locator, final Integer waitTime, final String ifExistsOption) {
+        ++interactionCount;
+
         try {
             if (force != null) {
-                final WebElement element = SIMPLE_BY.getElement(
-                        getWebDriver(),
-                        locator,
-                        ObjectUtils.defaultIfNull(waitTime, getDefaultExplicitWaitTime()),
-                        ExpectedConditions::presenceOfElementLocated);
-                ((JavascriptExecutor) getWebDriver()).executeScript("arguments[0].click();", element);
+                retryIfStale(context -> {
+                    final WebElement element = SIMPLE_BY.getElement(
+                            getWebDriver(),
+                            locator,
+                            ObjectUtils.defaultIfNull(waitTime, getDefaultExplicitWaitTime()),
+                            ElementState.PRESENT);
+                    ((JavascriptExecutor) getWebDriver()).executeScript("arguments[0].click();", element);
+                    return null;
+                });
             } else {
                 RETRY_SERVICE.getTemplate(3, 1000).execute(context -> {
                     SIMPLE_BY.getElement(
                             getWebDriver(),
                             locator,
                             ObjectUtils.defaultIfNull(waitTime, getDefaultExplicitWaitTime()),
-                            ExpectedConditions::elementToBeClickable).click();
+                            ElementState.CLICKABLE).click();
                     return null;
                 });
             }
@@ -594,29 +793,34 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByTextFromSelectIfExists(final String force, final String optionText, final String locator, final int waitTime, final String ifExistsOption) {
+        ++interactionCount;
+
         try {
-            if (StringUtils.isNotBlank(force)) {
-                final WebElement select = SIMPLE_BY.getElement(
-                        getWebDriver(),
-                        locator,
-                        waitTime,
-                        ExpectedConditions::presenceOfElementLocated);
-                ((JavascriptExecutor) getWebDriver()).executeScript("""
-                        for ( var i = 0, len = arguments[0].options.length; i < len; i++ ) {
-                            opt = arguments[0].options[i];
-                            if ( opt.text === arguments[1] ) {
-                                opt.selected = true;
-                                break;
+            retryIfStale(context -> {
+                if (StringUtils.isNotBlank(force)) {
+                    final WebElement select = SIMPLE_BY.getElement(
+                            getWebDriver(),
+                            locator,
+                            waitTime,
+                            ElementState.PRESENT);
+                    ((JavascriptExecutor) getWebDriver()).executeScript("""
+                            for ( var i = 0, len = arguments[0].options.length; i < len; i++ ) {
+                                opt = arguments[0].options[i];
+                                if ( opt.text === arguments[1] ) {
+                                    opt.selected = true;
+                                    break;
+                                }
                             }
-                        }
-                        """, select, optionText);
-            } else {
-                new Select(SIMPLE_BY.getElement(
-                        getWebDriver(),
-                        locator,
-                        waitTime,
-                        ExpectedConditions::elementToBeClickable)).selectByVisibleText(optionText);
-            }
+                            """, select, optionText);
+                } else {
+                    new Select(SIMPLE_BY.getElement(
+                            getWebDriver(),
+                            locator,
+                            waitTime,
+                            ElementState.CLICKABLE)).selectByVisibleText(optionText);
+                }
+                return null;
+            });
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
                 throw ex;
@@ -631,23 +835,28 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
 
     @Override
     public void selectOptionByValueFromSelectIfExists(final String force, final String optionValue, final String locator, final int waitTime, final String ifExistsOption) {
+        ++interactionCount;
+
         try {
-            if (StringUtils.isNotBlank(force)) {
-                final WebElement select = SIMPLE_BY.getElement(
-                        getWebDriver(),
-                        locator,
-                        waitTime,
-                        ExpectedConditions::presenceOfElementLocated);
-                ((JavascriptExecutor) getWebDriver()).executeScript("""
-                        arguments[0].value = arguments[1]
-                    """, select, optionValue);
-            } else {
-                new Select(SIMPLE_BY.getElement(
-                        getWebDriver(),
-                        locator,
-                        waitTime,
-                        ExpectedConditions::elementToBeClickable)).selectByValue(optionValue);
-            }
+            retryIfStale(context -> {
+                if (StringUtils.isNotBlank(force)) {
+                    final WebElement select = SIMPLE_BY.getElement(
+                            getWebDriver(),
+                            locator,
+                            waitTime,
+                            ElementState.PRESENT);
+                    ((JavascriptExecutor) getWebDriver()).executeScript("""
+                            arguments[0].value = arguments[1]
+                        """, select, optionValue);
+                } else {
+                    new Select(SIMPLE_BY.getElement(
+                            getWebDriver(),
+                            locator,
+                            waitTime,
+                            ElementState.CLICKABLE)).selectByValue(optionValue);
+                }
+                return null;
+            });
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
                 throw ex;
@@ -662,15 +871,15 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
 
     @Override
     public void populateElement(final String force, final String locator, final String keystrokeDelay, final String text, final int waitTime, final String ifExistsOption) {
+        ++interactionCount;
+
         try {
-            populateElementWithText(
+            populateElementIfFound(
                     force,
+                    locator,
+                    waitTime,
+                    ElementState.CLICKABLE,
                     text,
-                    SIMPLE_BY.getElement(
-                            getWebDriver(),
-                            locator,
-                            waitTime,
-                            ExpectedConditions::elementToBeClickable),
                     NumberUtils.toInt(keystrokeDelay, Constants.DEFAULT_INPUT_DELAY));
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
@@ -687,15 +896,74 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void populateHiddenElement(final String force, final String locator, final String text, final int waitTime, final String ifExistsOption) {
         try {
-            populateElementWithText(
-                    force,
-                    text,
-                    SIMPLE_BY.getElement(
-                            getWebDriver(),
-                            locator,
-                            waitTime,
-                            ExpectedConditions::presenceOfElementLocated),
-                    0);
+            populateElementIfFound(force, locator, waitTime, ElementState.PRESENT, text, 0);
+        } catch (final WebElementException ex) {
+            if (StringUtils.isEmpty(ifExistsOption)) {
+                throw ex;
+            }
+        }
+    }
+
+    @Override
+    public void mouseOverIfExists(final String force, final String locator, final String ifExistsOption) {
+        mouseOverIfExists(force, locator, getDefaultExplicitWaitTime(), ifExistsOption);
+    }
+
+    @Override
+    public void mouseOverIfExists(final String force, final String locator, final int waitTime, final String ifExistsOption) {
+        ++interactionCount;
+
+        try {
+            retryIfStale(context -> {
+                final WebElement element = SIMPLE_BY.getElement(
+                        getWebDriver(),
+                        locator,
+                        waitTime,
+                        ElementState.PRESENT);
+
+                if (StringUtils.isNotBlank(force)) {
+                    ((JavascriptExecutor) getWebDriver()).executeScript(
+                            "arguments[0].dispatchEvent(new Event('mouseover', { bubbles: true }))",
+                            element);
+                } else {
+                    new Actions(getWebDriver()).moveToElement(element).perform();
+                }
+                return null;
+            });
+        } catch (final WebElementException ex) {
+            if (StringUtils.isEmpty(ifExistsOption)) {
+                throw ex;
+            }
+        }
+    }
+
+    @Override
+    public void focusIfExists(final String force, final String locator, final String ifExistsOption) {
+        focusIfExists(force, locator, getDefaultExplicitWaitTime(), ifExistsOption);
+    }
+
+    @Override
+    public void focusIfExists(final String force, final String locator, final int waitTime, final String ifExistsOption) {
+        ++interactionCount;
+
+        try {
+            retryIfStale(context -> {
+                final WebElement element = SIMPLE_BY.getElement(
+                        getWebDriver(),
+                        locator,
+                        waitTime,
+                        ElementState.PRESENT);
+
+                if (StringUtils.isNotBlank(force)) {
+                    ((JavascriptExecutor) getWebDriver()).executeScript(
+                            "arguments[0].dispatchEvent(new Event('focus', { bubbles: true }))",
+                            element);
+                } else {
+                    new Actions(getWebDriver()).moveToElement(element).perform();
+                    ((JavascriptExecutor) getWebDriver()).executeScript("arguments[0].focus();", element);
+                }
+                return null;
+            });
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
                 throw ex;
@@ -711,38 +979,41 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public void clearIfExists(final String force, final String locator, final int waitTime, final String ifExistsOption) {
         try {
-            final WebElement element = SIMPLE_BY.getElement(
-                    getWebDriver(),
-                    locator,
-                    waitTime,
-                    ExpectedConditions::elementToBeClickable);
-
-            if (StringUtils.isNotBlank(force)) {
-                /*
-                    Clearing form fields with React is not as simple as it seems.
-                    https://github.com/facebook/react/issues/10135#issuecomment-314441175
-                 */
-
-                ((JavascriptExecutor) getWebDriver()).executeScript("""
-                            function setNativeValue(element, value) {
-                                const { set: valueSetter } = Object.getOwnPropertyDescriptor(element, 'value') || {}
-                                const prototype = Object.getPrototypeOf(element)
-                                const { set: prototypeValueSetter } = Object.getOwnPropertyDescriptor(prototype, 'value') || {}
-
-                                if (prototypeValueSetter && valueSetter !== prototypeValueSetter) {
-                                    prototypeValueSetter.call(element, value)
-                                } else if (valueSetter) {
-                                    valueSetter.call(element, value)
-                                } else {
-                                    throw new Error('The given element does not have a value setter')
+            retryIfStale(context -> {
+                final WebElement element = SIMPLE_BY.getElement(
+                        getWebDriver(),
+                        locator,
+                        waitTime,
+                        ElementState.CLICKABLE);
+
+                if (StringUtils.isNotBlank(force)) {
+                    /*
+                        Clearing form fields with React is not as simple as it seems.
+                        https://github.com/facebook/react/issues/10135#issuecomment-314441175
+                     */
+
+                    ((JavascriptExecutor) getWebDriver()).executeScript("""
+                                function setNativeValue(element, value) {
+                                    const { set: valueSetter } = Object.getOwnPropertyDescriptor(element, 'value') || {}
+                                    const prototype = Object.getPrototypeOf(element)
+                                    const { set: prototypeValueSetter } = Object.getOwnPropertyDescriptor(prototype, 'value') || {}
+
+                                    if (prototypeValueSetter && valueSetter !== prototypeValueSetter) {
+                                        prototypeValueSetter.call(element, value)
+                                    } else if (valueSetter) {
+                                        valueSetter.call(element, value)
+                                    } else {
+                                        throw new Error('The given element does not have a value setter')
+                                    }
                                 }
-                            }
-                            setNativeValue(arguments[0], "");
-                            arguments[0].dispatchEvent(new Event('input', { bubbles: true }));
-                        """, element);
-            } else {
-                element.clear();
-            }
+                                setNativeValue(arguments[0], "");
+                                arguments[0].dispatchEvent(new Event('input', { bubbles: true }));
+                            """, element);
+                } else {
+                    element.clear();
+                }
+                return null;
+            });
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
                 throw ex;
@@ -776,17 +1047,19 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
     @Override
     public String getTextFromElementIfExists(final String locator, final int waitTime, final String ifExistsOption) {
         try {
-            final WebElement element = SIMPLE_BY.getElement(
-                    getWebDriver(),
-                    locator,
-                    waitTime,
-                    ExpectedConditions::presenceOfElementLocated);
+            return retryIfStale(context -> {
+                final WebElement element = SIMPLE_BY.getElement(
+                        getWebDriver(),
+                        locator,
+                        waitTime,
+                        ElementState.PRESENT);
 
-            if (StringUtils.isNotBlank(element.getAttribute("value"))) {
-                return element.getAttribute("value");
-            }
+                if (StringUtils.isNotBlank(element.getAttribute("value"))) {
+                    return element.getAttribute("value");
+                }
 
-            return element.getText();
+                return element.getText();
+            });
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
                 throw ex;
@@ -818,7 +1091,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                     getWebDriver(),
                     locator,
                     waitTime,
-                    ExpectedConditions::presenceOfElementLocated);
+                    ElementState.PRESENT);
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
                 throw ex;
@@ -838,7 +1111,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                     getWebDriver(),
                     locator,
                     waitTime,
-                    ExpectedConditions::elementToBeClickable);
+                    ElementState.CLICKABLE);
         } catch (final WebElementException ex) {
             if (StringUtils.isEmpty(ifExistsOption)) {
                 throw ex;
@@ -853,16 +1126,8 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
 
     @Override
     public void verifyElementDoesNotExist(String locator, int waitTime) {
-        final long startTime = System.currentTimeMillis();
-
-        while (System.currentTimeMillis() < startTime + waitTime * 1000) {
-            if (Try.of(() -> SIMPLE_BY.getElement(
-                    getWebDriver(),
-                    locator,
-                    0,
-                    ExpectedConditions::presenceOfElementLocated)).isFailure()) {
-                return;
-            }
+        if (SIMPLE_BY.waitForElementToBeAbsent(getWebDriver(), locator, waitTime)) {
+            return;
         }
 
         throw new WebElementException("Element located by " + locator + " was still present after " + waitTime + " seconds");
@@ -936,7 +1201,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                     getWebDriver(),
                     locator,
                     waitTime,
-                    ExpectedConditions::presenceOfElementLocated);
+                    ElementState.PRESENT);
             ((JavascriptExecutor) getWebDriver()).executeScript("""
                             var getScrollParent = function () {
                                 var regex = /(auto|scroll)/;
@@ -1061,7 +1326,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                 getWebDriver(),
                 locator,
                 waitTime,
-                ExpectedConditions::presenceOfElementLocated);
+                ElementState.PRESENT);
 
         if (StringUtils.isNotBlank(force)) {
             ((JavascriptExecutor) getWebDriver()).executeScript("""
@@ -1084,7 +1349,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                 getWebDriver(),
                 locator,
                 waitTime,
-                ExpectedConditions::presenceOfElementLocated);
+                ElementState.PRESENT);
         if (StringUtils.isNotBlank(force)) {
             // key names from https://www.w3.org/TR/uievents-key/#named-key-attribute-values
             ((JavascriptExecutor) getWebDriver()).executeScript("""
@@ -1107,7 +1372,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                 getWebDriver(),
                 locator,
                 waitTime,
-                ExpectedConditions::presenceOfElementLocated);
+                ElementState.PRESENT);
         if (StringUtils.isNotBlank(force)) {
             // key names from https://www.w3.org/TR/uievents-key/#named-key-attribute-values
 
@@ -1195,6 +1460,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
 
     public void refresh() {
         getWebDriver().navigate().refresh();
+        ELEMENT_CONTEXT.invalidate();
     }
 
     @Override
@@ -1204,11 +1470,12 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
 
     @Override
     public void refreshIfExists(final String locator, final String doesNotExist, final int waitTime) {
+        ELEMENT_CONTEXT.invalidate();
         final Try element = Try.run(() -> SIMPLE_BY.getElement(
                 getWebDriver(),
                 locator,
                 waitTime,
-                ExpectedConditions::presenceOfElementLocated));
+                ElementState.PRESENT));
 
         if ((StringUtils.isNotBlank(doesNotExist) && element.isFailure()) ||
                 StringUtils.isBlank(doesNotExist) && element.isSuccess()) {
@@ -1227,11 +1494,13 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         final boolean refreshIfExists = StringUtils.isBlank(doesNotExist);
 
         final Try result = RETRY_SERVICE.getTemplate(retries, 1000).execute(context -> {
+            // Each attempt must look at the page as it is now rather than reuse an element shared earlier in the step
+            ELEMENT_CONTEXT.invalidate();
             final Try thisRefresh = Try.run(() -> SIMPLE_BY.getElement(
                     getWebDriver(),
                     locator,
                     waitTime,
-                    ExpectedConditions::presenceOfElementLocated))
+                    ElementState.PRESENT))
             .onFailure(exception -> {if (!refreshIfExists) refresh();})
             .onSuccess(element -> {if (refreshIfExists) {refresh();}});
 
@@ -1289,6 +1558,38 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
         return ((JavascriptExecutor) getWebDriver()).executeScript(code);
     }
 
+    /**
+     * Setting the value with a script is a single command, so it is retried if the element goes stale. Typing
+     * is not, and retrying it would type the keys delivered before the element went stale a second time, so
+     * only the lookup of the element is retried.
+     */
+    private void populateElementIfFound(final String force,
+                                        final String locator,
+                                        final int waitTime,
+                                        final ElementState state,
+                                        final String text,
+                                        final int keystrokeDelay) {
+        if (StringUtils.isNotBlank(force)) {
+            retryIfStale(context -> {
+                populateElementWithText(
+                        force,
+                        text,
+                        SIMPLE_BY.getElement(getWebDriver(), locator, waitTime, state),
+                        keystrokeDelay);
+                return null;
+            });
+            return;
+        }
+
+        final WebElement element = retryIfStale(context -> {
+            final WebElement found = SIMPLE_BY.getElement(getWebDriver(), locator, waitTime, state);
+            // An element shared earlier in the step may have gone stale, which is only safe to find out before typing
+            found.isEnabled();
+            return found;
+        });
+        populateElementWithText(force, text, element, keystrokeDelay);
+    }
+
     private void populateElementWithText(final String force, final String text, final WebElement element, final int keystrokeDelay) {
         if (StringUtils.isNotBlank(force)) {
             /*
@@ -1313,14 +1614,7 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                         arguments[0].dispatchEvent(new Event('input', { bubbles: true }));
                     """, element, text);
         } else {
-            if (keystrokeDelay <= 0) {
-                element.sendKeys(text);
-            } else {
-                text.chars().forEach(c -> {
-                    element.sendKeys(String.valueOf((char) c));
-                    Try.run(() -> Thread.sleep(Constants.DEFAULT_INPUT_DELAY));
-                });
-            }
+            TYPING_SERVICE.type(getWebDriver(), element, text, keystrokeDelay);
         }
     }
 
@@ -1371,11 +1665,14 @@ public class WebDriverDecorator extends AutomatedBrowserBase {
                         getWebDriver(),
                         locator,
                         getDefaultExplicitWaitTime(),
-                        ExpectedConditions::presenceOfElementLocated));
+                        ElementState.PRESENT));
+        // Elements resolved in one frame can not be used in another
+        ELEMENT_CONTEXT.invalidate();
     }
 
     @Override
     public void switchToMainFrame() {
         getWebDriver().switchTo().defaultContent();
+        ELEMENT_CONTEXT.invalidate();
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.octopus.eventhandlers;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * When using this application from an environment like AWS Lambda, it is useful to perform actions after a feature
@@ -28,6 +29,37 @@ public interface EventHandler {
                                  Map<String, String> headers,
                                  Map<String, String> previousResults);
 
+    /**
+     * Event handlers that do not depend on each other are run at the same time. A handler that consumes a result
+     * is run after the handlers that produce it.
+     *
+     * @return The keys this event handler adds to the results passed to other event handlers.
+     */
+    default Set<String> produces() {
+        return Set.of();
+    }
+
+    /**
+     * @return The keys of the results of other event handlers that this event handler reads.
+     */
+    default Set<String> consumes() {
+        return Set.of();
+    }
+
+    /**
+     * The caller waits for critical event handlers to finish before returning. Other event handlers are left to
+     * finish in the background, so they do not hold up the result of the feature. In AWS Lambda the container is
+     * frozen once the invocation returns, so a handler that is not critical may not finish until the next
+     * invocation, or at all. Handlers that send notifications must therefore only run in the background when the
+     * caller asks for it.
+     *
+     * @param headers Any headers that were defined when the Lambda was executed.
+     * @return true if the caller must wait for this event handler to finish.
+     */
+    default boolean isCritical(Map<String, String> headers) {
+        return true;
+    }
+
     /**
      * Called to determine if the event handler is to proceed.
      *
@@ -6,6 +6,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
@@ -20,6 +21,7 @@ public class SeqLogging implements EventHandler {
     public static final String SEQ_URL = "Seq-Url";
     public static final String SEQ_LEVEL = "Seq-Level";
     public static final String SEQ_FAILURE_ONLY = "Seq-Failure-Only";
+    public static final String SEQ_BACKGROUND = "Seq-Background";
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
     private static final List<String> LEVELS = Arrays.asList("Verbose", "Debug", "Information", "Warning", "Error", "Fatal");
 
@@ -74,4 +76,14 @@ public class SeqLogging implements EventHandler {
                 ? headers.get(SEQ_LEVEL)
                 : "Information";
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<String> consumes() {
+        return Set.of(UploadToS3.S3_REPORT_URL);
+    }
+
+    @Override
+    public boolean isCritical(final Map<String, String> headers) {
+        return !Boolean.parseBoolean(headers.get(SEQ_BACKGROUND));
+    }
+}
@@ -2,6 +2,7 @@ package com.octopus.eventhandlers.impl;
 
 import com.octopus.eventhandlers.EventHandler;
 import java.util.Map;
+import java.util.Set;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
@@ -17,6 +18,10 @@ public class SlackWebHook implements EventHandler {
      * The header defining whether or not a message is sent only for errors.
      */
     private static final String SLACK_FAILURE_ONLY = "Slack-Failure-Only";
+    /**
+     * The header defining whether or not the message is sent in the background.
+     */
+    private static final String SLACK_BACKGROUND = "Slack-Background";
 
     @Override
     public Map<String, String> finished(final String id,
@@ -55,4 +60,14 @@ public class SlackWebHook implements EventHandler {
 
         return previousResults;
     }
+
+    @Override
+    public Set<String> consumes() {
+        return Set.of(UploadToS3.S3_REPORT_URL);
+    }
+
+    @Override
+    public boolean isCritical(final Map<String, String> headers) {
+        return !Boolean.parseBoolean(headers.get(SLACK_BACKGROUND));
+    }
 }
@@ -12,6 +12,7 @@ import com.octopus.utils.impl.ZipUtilsImpl;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
 import org.apache.commons.io.FileUtils;
@@ -98,4 +99,9 @@ public class UploadToS3 implements EventHandler {
 
         return previousResults;
     }
+
+    @Override
+    public Set<String> produces() {
+        return Set.of(S3_REPORT_URL);
+    }
 }
@@ -0,0 +1,28 @@
+package com.octopus.utils;
+
+import java.io.File;
+import java.util.Set;
+
+/**
+ * A cache of downloaded and extracted binary packages that survives between runs in the same container.
+ */
+public interface BinaryCache {
+    /**
+     * Get the directory holding the extracted contents of a zip package, downloading and extracting the package
+     * only if it is not already cached or the cached copy fails verification.
+     *
+     * @param name        A name for the package, like chrome_driver. Any entry cached for a different URL under the
+     *                    same name is removed when the package is downloaded.
+     * @param url         The URL of the zip package.
+     * @param sha256      The expected SHA-256 checksum of the zip package, or null to accept any download.
+     * @param executables The paths of the files in the package to mark as executable.
+     * @return The directory holding the extracted package. It must not be modified or deleted.
+     */
+    File getExtractedPackage(String name, String url, String sha256, Set<String> executables);
+
+    /**
+     * @param file A file or directory.
+     * @return true if the file is the cache directory, and so must not be cleaned up.
+     */
+    boolean isCacheDirectory(File file);
+}
@@ -0,0 +1,60 @@
+package com.octopus.utils;
+
+import com.octopus.AutomatedBrowser;
+
+/**
+ * A pool of initialised browsers, keyed by the name passed to AutomatedBrowserFactory, that are
+ * reused between scenarios to avoid the cost of starting a new browser.
+ */
+public interface BrowserPool {
+    /**
+     * @return true if browsers are pooled, and false if every checkout creates a new browser.
+     */
+    boolean isEnabled();
+
+    /**
+     * Take an initialised browser from the pool, or create a new one if none are idle.
+     *
+     * @param browser The name of the browser, as passed to AutomatedBrowserFactory.
+     * @return An initialised browser.
+     */
+    AutomatedBrowser checkout(String browser);
+
+    /**
+     * Return a browser to the pool. The browser is reset and checked in the background, and is
+     * destroyed if it is unhealthy or the pool is full.
+     *
+     * @param browser          The name the browser was checked out with.
+     * @param automatedBrowser The browser to return.
+     */
+    void release(String browser, AutomatedBrowser automatedBrowser);
+
+    /**
+     * Return a browser used by a failed scenario. The browser is reset and checked in the background,
+     * and kept for the next checkout if it is healthy and there is room. The browser is destroyed if
+     * browsers are not pooled.
+     *
+     * @param browser          The name the browser was checked out with.
+     * @param automatedBrowser The browser to return.
+     */
+    void recycle(String browser, AutomatedBrowser automatedBrowser);
+
+    /**
+     * Destroy a browser that can not be reused, and replace it in the background.
+     *
+     * @param browser          The name the browser was checked out with.
+     * @param automatedBrowser The browser to destroy.
+     */
+    void discard(String browser, AutomatedBrowser automatedBrowser);
+
+    /**
+     * Destroy every idle browser, including those that are being created or reset, but leave the pool
+     * open for later checkouts.
+     */
+    void drain();
+
+    /**
+     * Destroy every idle browser and stop replenishing the pool.
+     */
+    void shutdown();
+}
@@ -0,0 +1,33 @@
+package com.octopus.utils;
+
+import java.io.File;
+import java.util.function.Function;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Builds warmed Chrome profiles once, and clones them for each new browser, so Chrome does not have
+ * to complete its first run, initialise its components and fill its caches every time it starts.
+ */
+public interface ChromeProfileTemplateService {
+    /**
+     * @return true if profile templates are enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Clone a profile template into a directory, building the template first if needed. The template
+     * is built by starting Chrome with the options returned by the options factory, opening any
+     * warm up URLs, and closing Chrome again.
+     *
+     * @param name           The name of the template. Browsers launched with different options should
+     *                       use different template names.
+     * @param optionsFactory A function that creates the options used to build the template, given the
+     *                       directory holding the template. The options must place every profile
+     *                       directory inside this directory.
+     * @param destination    The directory to clone the template into. The directory is laid out in the
+     *                       same way as the template directory.
+     * @return true if the template was cloned, and false if templates are disabled or the template
+     * could not be built.
+     */
+    boolean cloneTemplate(String name, Function<File, ChromeOptions> optionsFactory, File destination);
+}
@@ -0,0 +1,59 @@
+package com.octopus.utils;
+
+import java.io.File;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Inspects and rewrites Cucumber command line arguments, so a run can be split into several runs that
+ * each write to their own output files.
+ */
+public interface CucumberArgsUtils {
+    /**
+     * @param args The Cucumber arguments.
+     * @return The plugins that write to a file, as pairs of the plugin name and the path.
+     */
+    List<Pair<String, String>> getPluginOutputs(List<String> args);
+
+    /**
+     * Change the path of every plugin that writes to a file, so the output does not overwrite the output
+     * of another run.
+     *
+     * @param args   The Cucumber arguments.
+     * @param suffix The suffix identifying the run.
+     * @return A copy of the arguments with the new plugin paths.
+     */
+    List<String> suffixPluginOutputs(List<String> args, String suffix);
+
+    /**
+     * Add a suffix to a path, before the extension if it has one.
+     *
+     * @param path   The path.
+     * @param suffix The suffix identifying the run. Characters that are not safe in a file name are replaced.
+     * @return The new path.
+     */
+    String suffixPath(String path, String suffix);
+
+    /**
+     * @param args The Cucumber arguments.
+     * @return The feature files, directories and locations passed in the arguments.
+     */
+    List<String> getFeaturePaths(List<String> args);
+
+    /**
+     * @param args The Cucumber arguments.
+     * @return The arguments without the feature paths.
+     */
+    List<String> getOptions(List<String> args);
+
+    /**
+     * Resolve the relative feature paths, rerun files and plugin output paths against a directory, so the
+     * arguments mean the same thing when they are run from another working directory. Classpath and other URI
+     * locations are left as they are.
+     *
+     * @param args      The Cucumber arguments.
+     * @param directory The directory the relative paths are relative to.
+     * @return A copy of the arguments with absolute paths.
+     */
+    List<String> resolvePaths(List<String> args, File directory);
+}
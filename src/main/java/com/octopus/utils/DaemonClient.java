@@ -0,0 +1,22 @@
+package com.octopus.utils;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Submits features to a FeatureDaemon and streams the output back.
+ */
+public interface DaemonClient {
+    /**
+     * Run features with a daemon.
+     *
+     * @param url        The base URL of the daemon, like http://localhost:9515.
+     * @param args       The application arguments. The daemon has its own working directory, so any relative
+     *                   paths must already be resolved.
+     * @param properties The system properties to set in the daemon for the duration of the run.
+     * @param output     The stream to copy the output of the run to as it is received.
+     * @return The exit code of the run.
+     */
+    int run(String url, List<String> args, Map<String, String> properties, PrintStream output);
+}
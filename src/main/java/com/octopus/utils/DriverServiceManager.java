@@ -0,0 +1,47 @@
+package com.octopus.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+/**
+ * Creates browser sessions against long-lived driver services, so a new chromedriver or geckodriver
+ * process does not need to be started for every browser.
+ */
+public interface DriverServiceManager {
+    /**
+     * Create a Chrome session against the shared chromedriver service, starting the service if it is
+     * not running. A service that is replaced keeps running until its sessions quit.
+     *
+     * @param options The Chrome options.
+     * @return The new WebDriver session.
+     */
+    WebDriver newChromeDriver(ChromeOptions options);
+
+    /**
+     * Create a Firefox session against an idle geckodriver service. Geckodriver only supports one
+     * session at a time, so the service is leased for the lifetime of the session, and returned to
+     * the idle services when the session quits.
+     *
+     * @param options The Firefox options.
+     * @return The new WebDriver session.
+     */
+    WebDriver newFirefoxDriver(FirefoxOptions options);
+
+    /**
+     * Start the shared chromedriver service ahead of the first session, so it can start while the
+     * rest of the browser is being prepared. This does nothing if the service is already running.
+     */
+    void prepareChromeDriverService();
+
+    /**
+     * Start an idle geckodriver service ahead of the next session, so it can start while the rest of
+     * the browser is being prepared. This does nothing if an idle service is available.
+     */
+    void prepareGeckoDriverService();
+
+    /**
+     * Stop every driver service.
+     */
+    void shutdown();
+}
@@ -0,0 +1,45 @@
+package com.octopus.utils;
+
+import java.util.Optional;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Shares the elements resolved during a step with every decorator in the chain, so a locator is
+ * resolved once per step rather than once per decorator. Elements are only shared while a step
+ * is open on the current thread.
+ */
+public interface ElementContext {
+    /**
+     * Starts sharing resolved elements on the current thread.
+     */
+    void open();
+
+    /**
+     * Stops sharing resolved elements on the current thread, and discards any that were shared.
+     */
+    void close();
+
+    /**
+     * @param webDriver The driver the element is resolved with.
+     * @param locator   The locator string.
+     * @param state     The state the element must be in.
+     * @return The element already resolved during this step, if any.
+     */
+    Optional<WebElement> getElement(WebDriver webDriver, String locator, ElementState state);
+
+    /**
+     * Shares a resolved element with the rest of the step. This does nothing if no step is open.
+     *
+     * @param webDriver The driver the element was resolved with.
+     * @param locator   The locator string.
+     * @param state     The state the element was found to be in.
+     * @param element   The resolved element.
+     */
+    void putElement(WebDriver webDriver, String locator, ElementState state, WebElement element);
+
+    /**
+     * Discards the elements shared during this step, because one of them went stale or the page has changed.
+     */
+    void invalidate();
+}
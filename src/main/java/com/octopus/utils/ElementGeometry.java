@@ -0,0 +1,87 @@
+package com.octopus.utils;
+
+/**
+ * The position and size of an element in the viewport, along with the scroll position needed to
+ * find the element in the document.
+ */
+public class ElementGeometry {
+    private final String tagName;
+    private final long left;
+    private final long top;
+    private final long width;
+    private final long height;
+    private final long scrollX;
+    private final long scrollY;
+
+    public ElementGeometry(final String tagName,
+                           final long left,
+                           final long top,
+                           final long width,
+                           final long height,
+                           final long scrollX,
+                           final long scrollY) {
+        this.tagName = tagName;
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
+        this.scrollX = scrollX;
+        this.scrollY = scrollY;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    public long getLeft() {
+        return left;
+    }
+
+    public long getTop() {
+        return top;
+    }
+
+    public long getWidth() {
+        return width;
+    }
+
+    public long getHeight() {
+        return height;
+    }
+
+    public long getScrollX() {
+        return scrollX;
+    }
+
+    public long getScrollY() {
+        return scrollY;
+    }
+
+    /**
+     * @return The horizontal center of the element in the viewport.
+     */
+    public long getCenterX() {
+        return left + width / 2;
+    }
+
+    /**
+     * @return The vertical center of the element in the viewport.
+     */
+    public long getCenterY() {
+        return top + height / 2;
+    }
+
+    /**
+     * @return The horizontal position of the element in the document.
+     */
+    public long getPageX() {
+        return left + scrollX;
+    }
+
+    /**
+     * @return The vertical position of the element in the document.
+     */
+    public long getPageY() {
+        return top + scrollY;
+    }
+}
@@ -0,0 +1,25 @@
+package com.octopus.utils;
+
+import java.util.List;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Reads the geometry of elements with a single script execution, rather than one driver call
+ * per property.
+ */
+public interface ElementGeometryService {
+    /**
+     * @param javascriptExecutor The driver used to execute the script.
+     * @param element            The element to measure.
+     * @return The geometry of the element.
+     */
+    ElementGeometry getGeometry(JavascriptExecutor javascriptExecutor, WebElement element);
+
+    /**
+     * @param javascriptExecutor The driver used to execute the script.
+     * @param elements           The elements to measure.
+     * @return The geometry of each element, in the same order as the elements.
+     */
+    List<ElementGeometry> getGeometries(JavascriptExecutor javascriptExecutor, List<WebElement> elements);
+}
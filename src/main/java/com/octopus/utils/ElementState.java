@@ -0,0 +1,50 @@
+package com.octopus.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+/**
+ * The expected conditions used when locating elements. Unlike an arbitrary ExpectedConditionCallback,
+ * these conditions can also be evaluated inside the page, which allows SimpleBy to wait on them
+ * without polling the driver.
+ */
+public enum ElementState implements ExpectedConditionCallback {
+    PRESENT("present") {
+        @Override
+        public ExpectedCondition<WebElement> getExpectedCondition(final By by) {
+            return ExpectedConditions.presenceOfElementLocated(by);
+        }
+    },
+    CLICKABLE("clickable") {
+        @Override
+        public ExpectedCondition<WebElement> getExpectedCondition(final By by) {
+            return ExpectedConditions.elementToBeClickable(by);
+        }
+    };
+
+    private final String scriptName;
+
+    ElementState(final String scriptName) {
+        this.scriptName = scriptName;
+    }
+
+    /**
+     * @return The name used to identify this state in the element watcher script.
+     */
+    public String getScriptName() {
+        return scriptName;
+    }
+
+    /**
+     * Clickable elements are also present, so an element found to be clickable satisfies a
+     * request for a present element.
+     *
+     * @param state The state that is required.
+     * @return true if an element in this state is also in the required state.
+     */
+    public boolean satisfies(final ElementState state) {
+        return ordinal() >= state.ordinal();
+    }
+}
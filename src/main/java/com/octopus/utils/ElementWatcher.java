@@ -0,0 +1,44 @@
+package com.octopus.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.openqa.selenium.JavascriptExecutor;
+
+/**
+ * Waits for elements to appear or disappear by observing changes to the page, rather than by
+ * polling the driver.
+ */
+public interface ElementWatcher {
+    /**
+     * Waits for a locator to match an element in the given state.
+     *
+     * @param javascriptExecutor The driver used to execute the script.
+     * @param locator            The locator string.
+     * @param strategies         The strategies to test, in order of preference.
+     * @param preferred          The strategy to test first, keyed by the page origin and path it applies to.
+     * @param state              The state the matched element must be in.
+     * @param timeout            The maximum time to wait, in milliseconds.
+     * @return The match, or empty if the timeout expired.
+     */
+    Optional<LocatorMatch> waitForElement(JavascriptExecutor javascriptExecutor,
+                                          String locator,
+                                          List<LocatorStrategy> strategies,
+                                          Map<String, LocatorStrategy> preferred,
+                                          ElementState state,
+                                          long timeout);
+
+    /**
+     * Waits for a locator to stop matching any element.
+     *
+     * @param javascriptExecutor The driver used to execute the script.
+     * @param locator            The locator string.
+     * @param strategies         The strategies to test.
+     * @param timeout            The maximum time to wait, in milliseconds.
+     * @return true if no strategy matched an element before the timeout expired, and false otherwise.
+     */
+    boolean waitForNoElement(JavascriptExecutor javascriptExecutor,
+                             String locator,
+                             List<LocatorStrategy> strategies,
+                             long timeout);
+}
@@ -5,5 +5,6 @@ import java.util.Map;
 public interface EnvironmentAliasesProcessor {
     void addEnvironmentVarsAsAliases();
     void addHeaderVarsAsAliases(Map<String, String> headers);
+    Map<String, String> getHeaderVarsAsAliases(Map<String, String> headers);
     void addSystemPropVarsAsAliases();
 }
@@ -0,0 +1,30 @@
+package com.octopus.utils;
+
+import com.octopus.eventhandlers.EventHandler;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Runs event handlers in the order required by the results they produce and consume.
+ */
+public interface EventHandlerDispatcher {
+    /**
+     * Run the event handlers, waiting for the critical handlers, and the handlers they depend on, to finish.
+     * Handlers that miss the timeout, and handlers that are not critical, keep running after this method
+     * returns, so any files they read must not be deleted until the completed callback is called.
+     *
+     * @param handlers  The event handlers.
+     * @param headers   The headers used to decide which handlers are critical.
+     * @param finished  The function that calls an event handler with the results of the handlers it depends on,
+     *                  and returns the results of the handler.
+     * @param timeout   The number of milliseconds to wait for the critical handlers.
+     * @param completed Called once every handler has finished, or straight away if the handlers can not be run.
+     * @return The combined results of the handlers that finished in time.
+     */
+    Map<String, String> dispatch(List<EventHandler> handlers,
+                                 Map<String, String> headers,
+                                 BiFunction<EventHandler, Map<String, String>, Map<String, String>> finished,
+                                 long timeout,
+                                 Runnable completed);
+}
@@ -0,0 +1,42 @@
+package com.octopus.utils;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * A resident server that runs features on request, so the JVM, the loaded classes, the driver services and any
+ * pooled browsers stay warm between runs.
+ */
+public interface FeatureDaemon {
+    /**
+     * The path that features are run from. The body of a POST request is a JSON object holding the application
+     * arguments in the {@link #ARGS_FIELD} array and the system properties of the run in the
+     * {@link #PROPERTIES_FIELD} object.
+     */
+    String RUN_PATH = "/run";
+
+    /**
+     * The field of a run request holding the application arguments.
+     */
+    String ARGS_FIELD = "args";
+
+    /**
+     * The field of a run request holding the system properties, which are set for the duration of the run.
+     */
+    String PROPERTIES_FIELD = "properties";
+
+    /**
+     * The service message written as the last line of the response, holding the exit code of the run.
+     */
+    String EXIT_CODE_MESSAGE = "##webdriver-daemon[exitCode='%d']";
+
+    /**
+     * Start listening for run requests on the loopback interface. The server keeps the JVM running after this
+     * method returns.
+     *
+     * @param port   The port to listen on.
+     * @param runner The function that runs the features with the arguments of a request, returning the exit code.
+     *               The system properties of the request are set while it runs.
+     */
+    void start(int port, ToIntFunction<List<String>> runner);
+}
@@ -0,0 +1,94 @@
+package com.octopus.utils;
+
+import java.util.List;
+
+/**
+ * A parsed feature file, with the background steps included in every scenario, and scenario outlines expanded
+ * into a scenario for each row of their examples.
+ */
+public class GherkinFeature {
+    private final String name;
+    private final List<Scenario> scenarios;
+
+    public GherkinFeature(final String name, final List<Scenario> scenarios) {
+        this.name = name;
+        this.scenarios = List.copyOf(scenarios);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * A scenario, or one row of the examples of a scenario outline.
+     */
+    public static class Scenario {
+        private final String name;
+        private final int line;
+        private final List<Step> steps;
+
+        public Scenario(final String name, final int line, final List<Step> steps) {
+            this.name = name;
+            this.line = line;
+            this.steps = List.copyOf(steps);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public List<Step> getSteps() {
+            return steps;
+        }
+    }
+
+    /**
+     * A step, with its optional data table or doc string.
+     */
+    public static class Step {
+        private final String text;
+        private final int line;
+        private final List<List<String>> dataTable;
+        private final String docString;
+
+        public Step(final String text, final int line, final List<List<String>> dataTable, final String docString) {
+            this.text = text;
+            this.line = line;
+            this.dataTable = dataTable;
+            this.docString = docString;
+        }
+
+        /**
+         * @return The step text, without the keyword.
+         */
+        public String getText() {
+            return text;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * @return The rows of the data table, with empty cells as null, or null if the step has no data table.
+         */
+        public List<List<String>> getDataTable() {
+            return dataTable;
+        }
+
+        /**
+         * @return The doc string, or null if the step has no doc string.
+         */
+        public String getDocString() {
+            return docString;
+        }
+    }
+}
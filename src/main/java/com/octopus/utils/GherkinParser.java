@@ -0,0 +1,18 @@
+package com.octopus.utils;
+
+import java.io.File;
+
+/**
+ * Parses feature files for running in this JVM, without a new Cucumber runtime.
+ */
+public interface GherkinParser {
+    /**
+     * Parse a feature file. Parsed features are cached until the file is modified.
+     *
+     * @param feature The feature file.
+     * @return The parsed feature.
+     * @throws com.octopus.exceptions.ConfigurationException if the file can not be read, or uses Gherkin features
+     *                                                       the parser does not support.
+     */
+    GherkinFeature parse(File feature);
+}
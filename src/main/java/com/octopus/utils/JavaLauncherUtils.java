@@ -1,6 +1,21 @@
 package com.octopus.utils;
 
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
 public interface JavaLauncherUtils {
     int launchAppExternally(String args);
     int launchAppInternally(String[] args);
+
+    /**
+     * Start a copy of this application in a child JVM, without waiting for it to finish.
+     *
+     * @param vmArgs      JVM arguments added after the arguments of this JVM, which can override system properties.
+     * @param args        The application arguments.
+     * @param environment Environment variables to add to the environment of this process.
+     * @param output      The file to write the standard output and error of the child process to.
+     * @return The child process.
+     */
+    Process startAppExternally(List<String> vmArgs, List<String> args, Map<String, String> environment, File output);
 }
@@ -0,0 +1,37 @@
+package com.octopus.utils;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Records the latency of browser commands, tagged by command and locator strategy.
+ */
+public interface LatencyRecorder {
+    /**
+     * @param command  The name of the command, like goTo or clickElement.
+     * @param strategy The locator strategy that resolved the element for the command, or null if the
+     *                 command did not resolve an element.
+     * @param nanos    The wall-clock time the command took, in nanoseconds.
+     */
+    void record(String command, String strategy, long nanos);
+
+    /**
+     * @return The histograms recorded since the last scenario ended, keyed by command and strategy.
+     */
+    Map<String, LatencyHistogram> getScenarioHistograms();
+
+    /**
+     * Close off the current scenario, logging its percentiles and adding them to the report.
+     *
+     * @param scenario The name of the scenario.
+     * @return A summary of the percentiles of each command in the scenario.
+     */
+    String endScenario(String scenario);
+
+    /**
+     * Write the percentiles of each scenario, and of the run as a whole, to a JSON file.
+     *
+     * @param file The file to write.
+     */
+    void writeReport(File file);
+}
@@ -0,0 +1,13 @@
+package com.octopus.utils;
+
+import java.util.List;
+
+public interface LocatorClassifier {
+    /**
+     * Inspects the syntax of a locator to rule out the strategies it can not possibly match with.
+     *
+     * @param locator The locator string.
+     * @return The strategies worth testing, in the order they should be tested.
+     */
+    List<LocatorStrategy> getCandidateStrategies(String locator);
+}
@@ -0,0 +1,41 @@
+package com.octopus.utils;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * The result of resolving a "simple by" locator: the first matched element, the strategy that
+ * matched it, the total number of elements matched by that strategy, and the origin and path of
+ * the page it was matched on.
+ */
+public class LocatorMatch {
+    private final WebElement element;
+    private final LocatorStrategy strategy;
+    private final int matchCount;
+    private final String page;
+
+    public LocatorMatch(final WebElement element,
+                        final LocatorStrategy strategy,
+                        final int matchCount,
+                        final String page) {
+        this.element = element;
+        this.strategy = strategy;
+        this.matchCount = matchCount;
+        this.page = page;
+    }
+
+    public WebElement getElement() {
+        return element;
+    }
+
+    public LocatorStrategy getStrategy() {
+        return strategy;
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    public String getPage() {
+        return page;
+    }
+}
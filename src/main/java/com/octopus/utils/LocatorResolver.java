@@ -0,0 +1,37 @@
+package com.octopus.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.openqa.selenium.JavascriptExecutor;
+
+public interface LocatorResolver {
+    /**
+     * Tests a locator against each of the supplied strategies in a single script execution.
+     *
+     * @param javascriptExecutor The driver used to execute the script.
+     * @param locator            The locator string.
+     * @param strategies         The strategies to test, in order of preference.
+     * @param preferred          The strategy to test first, keyed by the page origin and path it applies to.
+     * @return The first match, or empty if no strategy matched an element.
+     */
+    Optional<LocatorMatch> resolve(JavascriptExecutor javascriptExecutor,
+                                   String locator,
+                                   List<LocatorStrategy> strategies,
+                                   Map<String, LocatorStrategy> preferred);
+
+    /**
+     * Tests a locator against each of the supplied strategies in a single script execution, returning
+     * the match of every strategy that found an element.
+     *
+     * @param javascriptExecutor The driver used to execute the script.
+     * @param locator            The locator string.
+     * @param strategies         The strategies to test, in order of preference.
+     * @param preferred          The strategy to test first, keyed by the page origin and path it applies to.
+     * @return The matches, in the order the strategies were tested.
+     */
+    List<LocatorMatch> resolveAll(JavascriptExecutor javascriptExecutor,
+                                  String locator,
+                                  List<LocatorStrategy> strategies,
+                                  Map<String, LocatorStrategy> preferred);
+}
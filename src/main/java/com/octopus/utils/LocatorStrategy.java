@@ -0,0 +1,52 @@
+package com.octopus.utils;
+
+import io.vavr.control.Try;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+import org.openqa.selenium.By;
+
+/**
+ * The strategies that a "simple by" locator is tested against, in the order they are tried.
+ */
+public enum LocatorStrategy {
+    ID("id", By::id),
+    XPATH("xpath", By::xpath),
+    CSS_SELECTOR("cssSelector", By::cssSelector),
+    CLASS_NAME("className", By::className),
+    LINK_TEXT("linkText", By::linkText),
+    NAME("name", By::name);
+
+    private final String scriptName;
+    private final Function<String, By> byFactory;
+
+    LocatorStrategy(final String scriptName, final Function<String, By> byFactory) {
+        this.scriptName = scriptName;
+        this.byFactory = byFactory;
+    }
+
+    /**
+     * @return The name used to identify this strategy in the locator scripts.
+     */
+    public String getScriptName() {
+        return scriptName;
+    }
+
+    /**
+     * @param locator The locator string.
+     * @return The By instance for this strategy, or a failure if the locator can not be used with it.
+     */
+    public Try<By> getBy(final String locator) {
+        return Try.of(() -> byFactory.apply(locator));
+    }
+
+    /**
+     * @param scriptName The name returned by a locator script.
+     * @return The matching strategy, if any.
+     */
+    public static Optional<LocatorStrategy> fromScriptName(final String scriptName) {
+        return Arrays.stream(values())
+                .filter(s -> s.getScriptName().equals(scriptName))
+                .findFirst();
+    }
+}
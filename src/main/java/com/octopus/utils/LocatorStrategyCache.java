@@ -0,0 +1,49 @@
+package com.octopus.utils;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Records the strategy that last resolved a "simple by" locator on a given page, so later lookups
+ * can try that strategy first.
+ */
+public interface LocatorStrategyCache {
+    /**
+     * @param locator The locator string.
+     * @param page    The page origin and path.
+     * @return The strategy that last resolved the locator on the page, if known.
+     */
+    Optional<LocatorStrategy> getStrategy(String locator, String page);
+
+    /**
+     * @param locator The locator string.
+     * @return A copy of the strategies that last resolved the locator, keyed by page origin and path.
+     */
+    Map<String, LocatorStrategy> getStrategies(String locator);
+
+    /**
+     * Records the strategy that resolved a locator. A lookup where the cached strategy resolved the
+     * locator counts as a hit, and any other lookup counts as a miss.
+     *
+     * @param locator  The locator string.
+     * @param page     The page origin and path.
+     * @param strategy The strategy that resolved the locator.
+     * @return true if the cached strategy resolved the locator, and false otherwise.
+     */
+    boolean recordStrategy(String locator, String page, LocatorStrategy strategy);
+
+    /**
+     * @return The number of lookups resolved by the cached strategy.
+     */
+    long getHitCount();
+
+    /**
+     * @return The number of lookups that had no cached strategy, or where the cached strategy did not match.
+     */
+    long getMissCount();
+
+    /**
+     * Removes all cached strategies and resets the counters.
+     */
+    void clear();
+}
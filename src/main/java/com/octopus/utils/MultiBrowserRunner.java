@@ -0,0 +1,26 @@
+package com.octopus.utils;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs the same features against several browsers at the same time, in a single JVM.
+ */
+public interface MultiBrowserRunner {
+    /**
+     * Run Cucumber once for each browser target in parallel. Every browser opened by a run is replaced with
+     * the run's target, and each run writes its plugin output to its own files, which are then merged into
+     * the files passed in the arguments where the plugin supports it.
+     *
+     * @param targets The browser names, as passed to AutomatedBrowserFactory.
+     * @param args    The Cucumber arguments.
+     * @return 0 if every run passed, or the highest exit code of the failed runs.
+     */
+    int run(List<String> targets, List<String> args);
+
+    /**
+     * @return The browser target of the run executing on the current thread, or empty if the current thread
+     * is not part of a multi-browser run.
+     */
+    Optional<String> getBrowserTarget();
+}
@@ -0,0 +1,20 @@
+package com.octopus.utils;
+
+import java.io.File;
+import java.util.Optional;
+
+/**
+ * Runs a nested feature on the current thread, reusing the glue of the running Cucumber instance rather than
+ * starting a new Cucumber runtime.
+ */
+public interface NestedFeatureRunner {
+    /**
+     * Run every scenario of a feature. The feature is checked before any step runs, so a feature that can not be
+     * run in this JVM has no side effects.
+     *
+     * @param feature The feature file.
+     * @return The number of scenarios that failed, or empty if the feature uses Gherkin or steps that can only
+     * be run by Cucumber.
+     */
+    Optional<Integer> run(File feature);
+}
@@ -0,0 +1,48 @@
+package com.octopus.utils;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges the reports written by several Cucumber runs into a single report.
+ */
+public interface ReportMerger {
+    /**
+     * Merge the reports written by one plugin in several runs. The reports are deleted once they have been
+     * merged.
+     *
+     * @param plugin      The name of the plugin that wrote the reports, like json or junit.
+     * @param reports     The reports, keyed by a label identifying the run that wrote them.
+     * @param destination The file to write the merged report to.
+     * @return true if the reports were merged, and false if the plugin's reports can not be merged, in which
+     * case the reports are left as they are.
+     */
+    boolean merge(String plugin, Map<String, File> reports, File destination);
+
+    /**
+     * Combine the reports written by one plugin in several runs of different scenarios, like the shards of a
+     * sharded run, into a report that looks like it was written by a single run. The reports are deleted once
+     * they have been combined.
+     *
+     * @param plugin      The name of the plugin that wrote the reports, like json or junit.
+     * @param reports     The reports, keyed by a label identifying the run that wrote them.
+     * @param destination The file to write the combined report to.
+     * @return true if the reports were combined, and false if the plugin's reports can not be combined, in which
+     * case the reports are left as they are.
+     */
+    boolean combine(String plugin, Map<String, File> reports, File destination);
+
+    /**
+     * Merge the reports written by one plugin in successive attempts at the same features, where each attempt
+     * after the first only reran the scenarios that failed. The merged report holds the latest result of every
+     * scenario. The reports are deleted once they have been merged.
+     *
+     * @param plugin      The name of the plugin that wrote the reports, like json or junit.
+     * @param reports     The reports, in the order of the attempts that wrote them.
+     * @param destination The file to write the merged report to.
+     * @return true if the reports were merged, and false if the plugin's reports can not be merged, in which
+     * case the reports are left as they are.
+     */
+    boolean mergeAttempts(String plugin, List<File> reports, File destination);
+}
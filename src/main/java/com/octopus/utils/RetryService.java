@@ -24,4 +24,9 @@ public interface RetryService {
     default RetryTemplate getTemplate(int retries) {
         return getTemplate(retries, 100);
     }
+
+    /**
+     * @return A RetryTemplate that only retries when an element has gone stale.
+     */
+    RetryTemplate getStaleElementTemplate();
 }
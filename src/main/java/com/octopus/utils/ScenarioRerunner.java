@@ -0,0 +1,22 @@
+package com.octopus.utils;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Retries a Cucumber run by rerunning only the scenarios that failed.
+ */
+public interface ScenarioRerunner {
+    /**
+     * Run the features, then rerun the scenarios that failed until they pass or the attempts run out. Each
+     * attempt writes its plugin output to its own files, which are then merged into the files passed in the
+     * arguments where the plugin supports it, so the reports show the latest result of every scenario.
+     *
+     * @param args       The Cucumber arguments.
+     * @param attempts   The maximum number of times to run the features.
+     * @param retryDelay The milliseconds to wait before each retry.
+     * @param cucumber   The function that runs Cucumber with a set of arguments, returning the exit code.
+     * @return The exit code of the last attempt.
+     */
+    int run(List<String> args, int attempts, long retryDelay, ToIntFunction<List<String>> cucumber);
+}
@@ -0,0 +1,18 @@
+package com.octopus.utils;
+
+import java.util.List;
+
+/**
+ * Finds the scenarios in feature files, so they can be split between several Cucumber runs.
+ */
+public interface ScenarioScanner {
+    /**
+     * Find the scenarios in feature files and directories. Paths that already identify scenarios by line, like
+     * features/login.feature:12, are returned as one location per line.
+     *
+     * @param featurePaths The feature files, directories and locations passed to Cucumber.
+     * @return The location of every scenario and scenario outline, as an absolute path and line separated by a colon.
+     * @throws com.octopus.exceptions.ConfigurationException if a path can not be scanned, like a classpath resource.
+     */
+    List<String> getScenarioLocations(List<String> featurePaths);
+}
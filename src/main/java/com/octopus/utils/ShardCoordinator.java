@@ -0,0 +1,18 @@
+package com.octopus.utils;
+
+import java.util.List;
+
+/**
+ * Splits the scenarios of a Cucumber run between several child JVMs, so scenarios run in parallel while each
+ * worker keeps its own browser, display and static state.
+ */
+public interface ShardCoordinator {
+    /**
+     * Run the scenarios in child JVMs, and combine the reports they write.
+     *
+     * @param args    The application arguments, which are passed to the workers along with the scenarios to run.
+     * @param workers The number of workers to start.
+     * @return 0 if every worker passed, or the highest exit code of the failed workers.
+     */
+    int run(List<String> args, int workers);
+}
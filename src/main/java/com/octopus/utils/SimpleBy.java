@@ -1,5 +1,6 @@
 package com.octopus.utils;
 
+import java.util.Optional;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
@@ -15,4 +16,30 @@ public interface SimpleBy {
             int waitTime,
             ExpectedConditionCallback expectedConditionCallback,
             int timeSlice);
+
+    /**
+     * Waits for a locator to stop matching any element.
+     *
+     * @param webDriver The driver to query.
+     * @param locator   The locator string.
+     * @param waitTime  The maximum time to wait, in seconds.
+     * @return true if the locator stopped matching within the wait time, and false otherwise.
+     */
+    boolean waitForElementToBeAbsent(WebDriver webDriver, String locator, int waitTime);
+
+    /**
+     * @return The cache recording which strategy resolved each locator.
+     */
+    LocatorStrategyCache getLocatorStrategyCache();
+
+    /**
+     * @return The strategy that most recently resolved an element on the current thread, or empty if
+     * no element has been resolved since the last call to clearLastStrategy().
+     */
+    Optional<LocatorStrategy> getLastStrategy();
+
+    /**
+     * Forget the strategy that most recently resolved an element on the current thread.
+     */
+    void clearLastStrategy();
 }
\ No newline at end of file
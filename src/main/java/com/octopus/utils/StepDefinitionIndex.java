@@ -0,0 +1,43 @@
+package com.octopus.utils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * An index of the regular expression step definitions of a glue class, built once and reused, so steps can be
+ * matched to methods without a new Cucumber runtime.
+ */
+public interface StepDefinitionIndex {
+    /**
+     * Find the step definitions that match a step.
+     *
+     * @param glue     The glue class.
+     * @param stepText The step text, without the keyword.
+     * @return The matching step definitions, which has more than one entry if the step is ambiguous.
+     */
+    List<Match> findMatches(Class<?> glue, String stepText);
+
+    /**
+     * A step definition that matches a step.
+     */
+    class Match {
+        private final Method method;
+        private final List<String> arguments;
+
+        public Match(final Method method, final List<String> arguments) {
+            this.method = method;
+            this.arguments = arguments;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        /**
+         * @return The groups captured by the step definition, with null for groups that did not match.
+         */
+        public List<String> getArguments() {
+            return arguments;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.octopus.utils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -105,4 +106,10 @@ public interface SystemPropertyUtils {
 	 * @return The command line args to be passed to the java executable
 	 */
 	String getPropertiesAsCommandLineRags(List<String> propertyNames);
+
+	/**
+	 * @return The system properties that were defined with -D arguments when the JVM was started, with their
+	 * current values
+	 */
+	Map<String, String> getCommandLineProperties();
 }
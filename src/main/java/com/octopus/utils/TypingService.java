@@ -0,0 +1,20 @@
+package com.octopus.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Types text into elements, simulating a person typing at a given cadence.
+ */
+public interface TypingService {
+    /**
+     * Type text into an element.
+     *
+     * @param webDriver      The driver used to send the keystrokes.
+     * @param element        The element to type into.
+     * @param text           The text to type.
+     * @param keystrokeDelay The delay between keystrokes in milliseconds, or 0 to type the text as fast
+     *                       as possible.
+     */
+    void type(WebDriver webDriver, WebElement element, String text, int keystrokeDelay);
+}
@@ -1,8 +1,22 @@
 package com.octopus.utils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
 
 public interface ZipUtils {
     void unzipFile(final String fileZip, final String outputDirectory) throws IOException;
+
+    /**
+     * Extract a zip archive as it is read, without saving the archive first. The stream is read up to the end of
+     * the last entry, and is not closed.
+     *
+     * @param input           The zip archive.
+     * @param outputDirectory The directory to extract the archive to.
+     * @param executables     The paths of the entries to mark as executable.
+     * @throws IOException if the archive could not be read, or has an entry outside the output directory.
+     */
+    void unzipStream(final InputStream input, final String outputDirectory, final Set<String> executables) throws IOException;
+
     void zipDirectory(final String fileZip, final String inputDirectory) throws IOException;
-}
\ No newline at end of file
+}
@@ -0,0 +1,200 @@
+package com.octopus.utils.impl;
+
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.MoreFiles;
+import com.octopus.exceptions.NetworkException;
+import com.octopus.exceptions.SaveException;
+import com.octopus.utils.BinaryCache;
+import com.octopus.utils.ZipUtils;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A binary cache under /tmp. Each entry is a directory named after the package and the SHA-256 hash of its URL,
+ * so changing the configured URL builds a new entry. An entry holds the extracted files and a manifest of their
+ * SHA-256 checksums. The manifest is written last, and the entry is built in a temporary directory that is
+ * renamed into place, so a partly extracted package is never reused.
+ *
+ * <p>Checksumming an entry means reading every file in it, so the checksums are verified the first time an
+ * entry is used by this JVM, and later uses only check that the files still exist with the expected sizes.</p>
+ */
+public class BinaryCacheImpl implements BinaryCache {
+    private static final Logger LOGGER = Logger.getLogger(BinaryCacheImpl.class.toString());
+    private static final ZipUtils ZIP_UTILS = new ZipUtilsImpl();
+    private static final File CACHE_DIRECTORY = new File("/tmp", "binary-cache");
+    private static final String MANIFEST = "manifest.properties";
+    private static final String URL_KEY = "url";
+    private static final String FILE_PREFIX = "file.";
+    private static final String SIZE_PREFIX = "size.";
+    private static final Set<String> VERIFIED = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public File getExtractedPackage(final String name, final String url, final String sha256, final Set<String> executables) {
+        final String key = name + "-" + Hashing.sha256().hashString(url, StandardCharsets.UTF_8);
+        final File entry = new File(CACHE_DIRECTORY, key);
+
+        // Different packages can be fetched in parallel, but each package is only fetched once
+        synchronized (LOCKS.computeIfAbsent(name, n -> new Object())) {
+            if (isValid(entry, url)) {
+                LOGGER.info("Using the cached copy of " + url);
+                return entry;
+            }
+
+            FileUtils.deleteQuietly(entry);
+            VERIFIED.remove(key);
+            removeStaleEntries(name, key);
+            build(entry, url, sha256, executables);
+            VERIFIED.add(key);
+            return entry;
+        }
+    }
+
+    @Override
+    public boolean isCacheDirectory(final File file) {
+        return CACHE_DIRECTORY.getAbsoluteFile().equals(file.getAbsoluteFile());
+    }
+
+    private boolean isValid(final File entry, final String url) {
+        final Properties manifest = readManifest(entry);
+        if (manifest == null || !url.equals(manifest.getProperty(URL_KEY))) {
+            return false;
+        }
+
+        final boolean verify = !VERIFIED.contains(entry.getName());
+        for (final String property : manifest.stringPropertyNames()) {
+            if (!property.startsWith(FILE_PREFIX)) {
+                continue;
+            }
+
+            final String path = property.substring(FILE_PREFIX.length());
+            final File file = new File(entry, path);
+            if (!file.isFile() || !String.valueOf(file.length()).equals(manifest.getProperty(SIZE_PREFIX + path))) {
+                LOGGER.warning("The cached file " + file + " is missing or has changed size");
+                return false;
+            }
+
+            if (verify && !manifest.getProperty(property).equals(checksum(file))) {
+                LOGGER.warning("The cached file " + file + " failed checksum verification");
+                return false;
+            }
+        }
+
+        VERIFIED.add(entry.getName());
+        return true;
+    }
+
+    private Properties readManifest(final File entry) {
+        final File manifestFile = new File(entry, MANIFEST);
+        if (!manifestFile.isFile()) {
+            return null;
+        }
+
+        try (final InputStream input = Files.newInputStream(manifestFile.toPath())) {
+            final Properties manifest = new Properties();
+            manifest.load(input);
+            return manifest;
+        } catch (final IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Remove the entries cached for other URLs of the same package, as /tmp is small.
+     */
+    private void removeStaleEntries(final String name, final String key) {
+        final File[] entries = CACHE_DIRECTORY.listFiles();
+        if (entries == null) {
+            return;
+        }
+
+        Arrays.stream(entries)
+                .filter(file -> file.getName().startsWith(name + "-") && !file.getName().equals(key))
+                .forEach(FileUtils::deleteQuietly);
+    }
+
+    private void build(final File entry, final String url, final String sha256, final Set<String> executables) {
+        File building = null;
+        try {
+            Files.createDirectories(CACHE_DIRECTORY.toPath());
+            building = Files.createTempDirectory(CACHE_DIRECTORY.toPath(), entry.getName() + ".").toFile();
+
+            // The package is extracted as it downloads, and hashed on the way through
+            try (final HashingInputStream download = new HashingInputStream(
+                    Hashing.sha256(),
+                    new BufferedInputStream(new URL(url).openStream(), BUFFER_SIZE))) {
+                ZIP_UTILS.unzipStream(download, building.getAbsolutePath(), executables);
+                // The central directory follows the last entry, and is part of the checksum
+                ByteStreams.exhaust(download);
+
+                if (StringUtils.isNotBlank(sha256) && !sha256.trim().equalsIgnoreCase(download.hash().toString())) {
+                    throw new NetworkException("The package downloaded from " + url
+                            + " does not match the expected SHA-256 checksum " + sha256);
+                }
+            }
+
+            writeManifest(building, url);
+
+            try {
+                Files.move(building.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException ex) {
+                Files.move(building.toPath(), entry.toPath());
+            }
+        } catch (final IOException ex) {
+            throw new SaveException("Failed to download and extract " + url, ex);
+        } finally {
+            FileUtils.deleteQuietly(building);
+        }
+    }
+
+    private void writeManifest(final File directory, final String url) throws IOException {
+        final Properties manifest = new Properties();
+        manifest.setProperty(URL_KEY, url);
+
+        final List<Path> files;
+        try (final Stream<Path> walk = Files.walk(directory.toPath())) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+
+        for (final Path file : files) {
+            final String path = directory.toPath().relativize(file).toString();
+            manifest.setProperty(FILE_PREFIX + path, checksum(file.toFile()));
+            manifest.setProperty(SIZE_PREFIX + path, String.valueOf(Files.size(file)));
+        }
+
+        try (final OutputStream output = Files.newOutputStream(new File(directory, MANIFEST).toPath())) {
+            manifest.store(output, null);
+        }
+    }
+
+    private String checksum(final File file) {
+        try {
+            return MoreFiles.asByteSource(file.toPath()).hash(Hashing.sha256()).toString();
+        } catch (final IOException ex) {
+            return "";
+        }
+    }
+}
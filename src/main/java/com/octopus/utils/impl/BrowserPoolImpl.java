@@ -0,0 +1,233 @@
+package com.octopus.utils.impl;
+
+import com.octopus.AutomatedBrowser;
+import com.octopus.AutomatedBrowserFactory;
+import com.octopus.Constants;
+import com.octopus.utils.BrowserPool;
+import com.octopus.utils.SystemPropertyUtils;
+import io.vavr.control.Try;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * A browser pool whose state is shared by every instance. Idle browsers are created, reset and
+ * destroyed on background daemon threads, so scenarios only wait for a browser when the pool is empty.
+ */
+public class BrowserPoolImpl implements BrowserPool {
+    private static final Logger LOGGER = Logger.getLogger(BrowserPoolImpl.class.toString());
+    private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
+    private static final AutomatedBrowserFactory AUTOMATED_BROWSER_FACTORY = new AutomatedBrowserFactory();
+    private static final int SHUTDOWN_TIMEOUT = 30;
+    private static final int PENDING_POLL_INTERVAL = 100;
+    /**
+     * The idle browsers for each browser name.
+     */
+    private static final Map<String, BlockingDeque<AutomatedBrowser>> IDLE_BROWSERS = new ConcurrentHashMap<>();
+    /**
+     * The number of browsers being created or reset for each browser name, which will join the idle
+     * browsers once they are ready.
+     */
+    private static final Map<String, AtomicInteger> PENDING_BROWSERS = new ConcurrentHashMap<>();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "browser-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile boolean shutdown;
+
+    @Override
+    public boolean isEnabled() {
+        return getSize() > 0;
+    }
+
+    @Override
+    public AutomatedBrowser checkout(final String browser) {
+        AutomatedBrowser automatedBrowser;
+        while ((automatedBrowser = pollIdleBrowser(browser)) != null) {
+            if (isHealthy(automatedBrowser)) {
+                replenish(browser);
+                return automatedBrowser;
+            }
+
+            LOGGER.info("Replacing an unhealthy " + browser + " browser from the pool");
+            destroyQuietly(automatedBrowser);
+        }
+
+        replenish(browser);
+        return createBrowser(browser);
+    }
+
+    @Override
+    public void release(final String browser, final AutomatedBrowser automatedBrowser) {
+        if (!isEnabled() || shutdown) {
+            destroyQuietly(automatedBrowser);
+            return;
+        }
+
+        resetInBackground(browser, automatedBrowser, getSize());
+    }
+
+    @Override
+    public void recycle(final String browser, final AutomatedBrowser automatedBrowser) {
+        if (!isEnabled() || shutdown) {
+            destroyQuietly(automatedBrowser);
+            return;
+        }
+
+        resetInBackground(browser, automatedBrowser, getSize());
+    }
+
+    /**
+     * Reset a browser in the background, and add it to the idle browsers if it is healthy and there is room.
+     */
+    private void resetInBackground(final String browser, final AutomatedBrowser automatedBrowser, final int capacity) {
+        final AtomicInteger pending = getPendingBrowsers(browser);
+        pending.incrementAndGet();
+        EXECUTOR.execute(() -> {
+            try {
+                final boolean reset = Try.run(automatedBrowser::resetSession)
+                        .onFailure(ex -> LOGGER.warning("Failed to reset a " + browser + " browser: " + ex))
+                        .isSuccess();
+
+                if (reset && isHealthy(automatedBrowser) && !shutdown
+                        && getIdleBrowsers(browser).size() < capacity) {
+                    getIdleBrowsers(browser).offerLast(automatedBrowser);
+                } else {
+                    destroyQuietly(automatedBrowser);
+                }
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void discard(final String browser, final AutomatedBrowser automatedBrowser) {
+        if (!isEnabled() || shutdown) {
+            destroyQuietly(automatedBrowser);
+            return;
+        }
+
+        EXECUTOR.execute(() -> destroyQuietly(automatedBrowser));
+        replenish(browser);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        destroyIdleBrowsers();
+        EXECUTOR.shutdown();
+        Try.run(() -> EXECUTOR.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS));
+        // Anything that finished starting while we waited is destroyed too
+        destroyIdleBrowsers();
+    }
+
+    @Override
+    public void drain() {
+        destroyIdleBrowsers();
+        // Browsers that are being created or reset join the idle browsers once they are ready
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT);
+        while (PENDING_BROWSERS.values().stream().anyMatch(pending -> pending.get() > 0)
+                && System.currentTimeMillis() < deadline) {
+            Try.run(() -> Thread.sleep(PENDING_POLL_INTERVAL));
+        }
+        destroyIdleBrowsers();
+    }
+
+    /**
+     * Take an idle browser, waiting for any browsers that are being created or reset. A browser that is
+     * already starting is ready no later than a new browser would be.
+     */
+    private AutomatedBrowser pollIdleBrowser(final String browser) {
+        final BlockingDeque<AutomatedBrowser> idle = getIdleBrowsers(browser);
+        final AtomicInteger pending = getPendingBrowsers(browser);
+
+        AutomatedBrowser automatedBrowser = idle.pollFirst();
+        while (automatedBrowser == null && pending.get() > 0 && !shutdown) {
+            automatedBrowser = Try.of(() -> idle.pollFirst(PENDING_POLL_INTERVAL, TimeUnit.MILLISECONDS))
+                    .getOrNull();
+        }
+        return automatedBrowser;
+    }
+
+    /**
+     * Start enough browsers in the background to fill the pool.
+     */
+    private void replenish(final String browser) {
+        final BlockingDeque<AutomatedBrowser> idle = getIdleBrowsers(browser);
+        final AtomicInteger pending = getPendingBrowsers(browser);
+
+        while (!shutdown) {
+            final int starting = pending.get();
+            if (idle.size() + starting >= getSize()) {
+                return;
+            }
+
+            if (pending.compareAndSet(starting, starting + 1)) {
+                EXECUTOR.execute(() -> {
+                    try {
+                        final AutomatedBrowser automatedBrowser = createBrowser(browser);
+                        if (shutdown) {
+                            destroyQuietly(automatedBrowser);
+                        } else {
+                            idle.offerLast(automatedBrowser);
+                        }
+                    } catch (final Exception ex) {
+                        LOGGER.warning("Failed to start a " + browser + " browser for the pool: " + ex);
+                    } finally {
+                        pending.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private AutomatedBrowser createBrowser(final String browser) {
+        final AutomatedBrowser automatedBrowser = AUTOMATED_BROWSER_FACTORY.getAutomatedBrowser(browser);
+        try {
+            automatedBrowser.init();
+            return automatedBrowser;
+        } catch (final RuntimeException ex) {
+            destroyQuietly(automatedBrowser);
+            throw ex;
+        }
+    }
+
+    private boolean isHealthy(final AutomatedBrowser automatedBrowser) {
+        return Try.of(() -> !automatedBrowser.getWebDriver().getWindowHandles().isEmpty())
+                .getOrElse(false);
+    }
+
+    private void destroyQuietly(final AutomatedBrowser automatedBrowser) {
+        Try.run(automatedBrowser::destroy)
+                .onFailure(ex -> LOGGER.warning("Failed to destroy a browser: " + ex));
+    }
+
+    private void destroyIdleBrowsers() {
+        IDLE_BROWSERS.values().forEach(idle -> {
+            AutomatedBrowser automatedBrowser;
+            while ((automatedBrowser = idle.pollFirst()) != null) {
+                destroyQuietly(automatedBrowser);
+            }
+        });
+    }
+
+    private BlockingDeque<AutomatedBrowser> getIdleBrowsers(final String browser) {
+        return IDLE_BROWSERS.computeIfAbsent(browser, b -> new LinkedBlockingDeque<>());
+    }
+
+    private AtomicInteger getPendingBrowsers(final String browser) {
+        return PENDING_BROWSERS.computeIfAbsent(browser, b -> new AtomicInteger());
+    }
+
+    private int getSize() {
+        return SYSTEM_PROPERTY_UTILS.getPropertyAsInt(Constants.BROWSER_POOL_SIZE, Constants.DEFAULT_BROWSER_POOL_SIZE);
+    }
+}
@@ -0,0 +1,185 @@
+package com.octopus.utils.impl;
+
+import com.octopus.Constants;
+import com.octopus.utils.ChromeProfileTemplateService;
+import com.octopus.utils.DriverServiceManager;
+import com.octopus.utils.SystemPropertyUtils;
+import io.vavr.control.Try;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * A profile template service that builds each template once per JVM, the first time it is needed. A browser
+ * that needs a template while it is being built waits for the build, while browsers using other templates
+ * carry on. Files that Chrome never modifies in place are hard linked into the clones where possible.
+ */
+public class ChromeProfileTemplateServiceImpl implements ChromeProfileTemplateService {
+    private static final Logger LOGGER = Logger.getLogger(ChromeProfileTemplateServiceImpl.class.toString());
+    private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
+    private static final DriverServiceManager DRIVER_SERVICE_MANAGER = new DriverServiceManagerImpl();
+    /**
+     * The templates built, or being built, by this JVM. An empty value means the template failed to build,
+     * and is not attempted again.
+     */
+    private static final Map<String, CompletableFuture<Optional<File>>> TEMPLATES = new ConcurrentHashMap<>();
+    /**
+     * Directories holding components that Chrome downloads into versioned folders and never modifies in
+     * place. Files in these directories are hard linked rather than copied.
+     */
+    private static final Set<String> COMPONENT_DIRECTORIES = Set.of(
+            "AutofillStates",
+            "CertificateRevocation",
+            "Crowd Deny",
+            "FileTypePolicies",
+            "FirstPartySetsPreloaded",
+            "hyphen-data",
+            "MEIPreload",
+            "OnDeviceHeadSuggestModel",
+            "OptimizationHints",
+            "OriginTrials",
+            "PKIMetadata",
+            "pnacl",
+            "SafetyTips",
+            "SSLErrorAssistant",
+            "Subresource Filter",
+            "TLSDeprecationConfig",
+            "TrustTokenKeyCommitments",
+            "WidevineCdm",
+            "ZxcvbnData");
+
+    @Override
+    public boolean isEnabled() {
+        return SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(Constants.CHROME_PROFILE_TEMPLATE, false);
+    }
+
+    @Override
+    public boolean cloneTemplate(final String name, final Function<File, ChromeOptions> optionsFactory, final File destination) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        // The map only records who builds the template, as building it inside the map operation would block
+        // every other template. The template is rebuilt if something like a temp folder cleanup has deleted it.
+        final CompletableFuture<Optional<File>> build = new CompletableFuture<>();
+        final CompletableFuture<Optional<File>> existing = TEMPLATES.compute(name, (n, current) ->
+                current != null && (!current.isDone() || current.join().map(File::exists).orElse(true))
+                        ? current
+                        : build);
+        if (existing == build) {
+            try {
+                build.complete(buildTemplate(name, optionsFactory));
+            } finally {
+                // Does nothing if the build completed, but stops other browsers waiting forever if it threw
+                build.complete(Optional.empty());
+            }
+        }
+
+        final Optional<File> template = existing.join();
+        if (template.isEmpty()) {
+            return false;
+        }
+
+        return Try.run(() -> cloneDirectory(template.get().toPath(), destination.toPath()))
+                .onFailure(ex -> {
+                    LOGGER.warning("Failed to clone the Chrome profile template " + name + ": " + ex);
+                    // Leave an empty profile rather than a partial one
+                    Try.run(() -> FileUtils.cleanDirectory(destination));
+                })
+                .isSuccess();
+    }
+
+    private Optional<File> buildTemplate(final String name, final Function<File, ChromeOptions> optionsFactory) {
+        final long start = System.currentTimeMillis();
+        try {
+            final File template = Files.createTempDirectory("chrome-profile-template-" + name).toFile();
+            final WebDriver webDriver = DRIVER_SERVICE_MANAGER.newChromeDriver(optionsFactory.apply(template));
+            try {
+                // Loading the warm up URLs fills the HTTP cache with the static assets of the site under test
+                for (final String url : getWarmUpUrls()) {
+                    Try.run(() -> webDriver.get(url))
+                            .onFailure(ex -> LOGGER.warning("Failed to open " + url + " while warming the Chrome profile: " + ex));
+                }
+
+                // Give Chrome time to complete its first run and initialise its components
+                Try.run(() -> Thread.sleep(SYSTEM_PROPERTY_UTILS.getPropertyAsInt(
+                        Constants.CHROME_PROFILE_TEMPLATE_WARM_TIME,
+                        Constants.DEFAULT_CHROME_PROFILE_TEMPLATE_WARM_TIME)));
+            } finally {
+                webDriver.quit();
+            }
+
+            FileUtils.forceDeleteOnExit(template);
+            LOGGER.info("Built the Chrome profile template " + name + " in "
+                    + (System.currentTimeMillis() - start) + " ms");
+            return Optional.of(template);
+        } catch (final Exception ex) {
+            LOGGER.warning("Failed to build the Chrome profile template " + name + ": " + ex);
+            return Optional.empty();
+        }
+    }
+
+    private Set<String> getWarmUpUrls() {
+        return Arrays.stream(SYSTEM_PROPERTY_UTILS.getPropertyNullAsEmpty(Constants.CHROME_PROFILE_TEMPLATE_URLS).split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private void cloneDirectory(final Path source, final Path destination) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(destination.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                // The singleton files tie a profile to the running browser that created them
+                if (!attrs.isRegularFile() || file.getFileName().toString().startsWith("Singleton")) {
+                    return FileVisitResult.CONTINUE;
+                }
+
+                final Path target = destination.resolve(source.relativize(file).toString());
+                if (isComponentFile(source.relativize(file))) {
+                    final boolean linked = Try.run(() -> Files.createLink(target, file)).isSuccess();
+                    if (linked) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                }
+
+                Files.copy(file, target, StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private boolean isComponentFile(final Path relativePath) {
+        for (final Path part : relativePath) {
+            if (COMPONENT_DIRECTORIES.contains(part.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
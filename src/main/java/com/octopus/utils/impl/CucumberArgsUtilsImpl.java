@@ -0,0 +1,151 @@
+package com.octopus.utils.impl;
+
+import com.octopus.utils.CucumberArgsUtils;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+public class CucumberArgsUtilsImpl implements CucumberArgsUtils {
+    /**
+     * The Cucumber options that are followed by a value. Every other option is a flag.
+     */
+    private static final Set<String> OPTIONS_WITH_VALUES = Set.of(
+            "--glue", "-g",
+            "--plugin", "-p",
+            "--tags", "-t",
+            "--name", "-n",
+            "--threads",
+            "--snippets",
+            "--object-factory",
+            "--uuid-generator",
+            "--count",
+            "--order",
+            "--extra-glue",
+            "--i18n");
+    /**
+     * Matches locations like classpath:features or file:/features. A single letter is a Windows drive rather
+     * than a scheme.
+     */
+    private static final Pattern URI_RE = Pattern.compile("^[A-Za-z][A-Za-z0-9+.-]+:.*");
+    /**
+     * Splits a feature path from the line numbers of the scenarios to run, like features/test.feature:10:20.
+     */
+    private static final Pattern LINES_RE = Pattern.compile("^(.*?)((?::\\d+)*)$");
+
+    @Override
+    public List<Pair<String, String>> getPluginOutputs(final List<String> args) {
+        final List<Pair<String, String>> outputs = new ArrayList<>();
+        for (int i = 0; i < args.size() - 1; ++i) {
+            if (isPluginOption(args.get(i))) {
+                final Pair<String, String> plugin = parsePlugin(args.get(i + 1));
+                if (plugin != null) {
+                    outputs.add(plugin);
+                }
+            }
+        }
+        return outputs;
+    }
+
+    @Override
+    public List<String> suffixPluginOutputs(final List<String> args, final String suffix) {
+        final List<String> suffixed = new ArrayList<>(args);
+        for (int i = 0; i < suffixed.size() - 1; ++i) {
+            if (isPluginOption(suffixed.get(i))) {
+                final Pair<String, String> plugin = parsePlugin(suffixed.get(i + 1));
+                if (plugin != null) {
+                    suffixed.set(i + 1, plugin.getLeft() + ":" + suffixPath(plugin.getRight(), suffix));
+                }
+            }
+        }
+        return suffixed;
+    }
+
+    @Override
+    public String suffixPath(final String path, final String suffix) {
+        final String safeSuffix = suffix.replaceAll("[^A-Za-z0-9._-]", "_");
+        final String extension = FilenameUtils.getExtension(path);
+        return StringUtils.isEmpty(extension)
+                ? path + "-" + safeSuffix
+                : FilenameUtils.removeExtension(path) + "-" + safeSuffix + "." + extension;
+    }
+
+    @Override
+    public List<String> getFeaturePaths(final List<String> args) {
+        final List<String> paths = new ArrayList<>();
+        for (int i = 0; i < args.size(); ++i) {
+            if (OPTIONS_WITH_VALUES.contains(args.get(i))) {
+                ++i;
+            } else if (!args.get(i).startsWith("-")) {
+                paths.add(args.get(i));
+            }
+        }
+        return paths;
+    }
+
+    @Override
+    public List<String> getOptions(final List<String> args) {
+        final List<String> options = new ArrayList<>();
+        for (int i = 0; i < args.size(); ++i) {
+            if (OPTIONS_WITH_VALUES.contains(args.get(i))) {
+                options.add(args.get(i));
+                if (i + 1 < args.size()) {
+                    options.add(args.get(++i));
+                }
+            } else if (args.get(i).startsWith("-")) {
+                options.add(args.get(i));
+            }
+        }
+        return options;
+    }
+
+    @Override
+    public List<String> resolvePaths(final List<String> args, final File directory) {
+        final List<String> resolved = new ArrayList<>(args);
+        for (int i = 0; i < resolved.size(); ++i) {
+            final String arg = resolved.get(i);
+            if (isPluginOption(arg) && i + 1 < resolved.size()) {
+                final Pair<String, String> plugin = parsePlugin(resolved.get(++i));
+                if (plugin != null) {
+                    resolved.set(i, plugin.getLeft() + ":" + resolvePath(plugin.getRight(), directory));
+                }
+            } else if (OPTIONS_WITH_VALUES.contains(arg)) {
+                ++i;
+            } else if (arg.startsWith("@")) {
+                resolved.set(i, "@" + resolvePath(arg.substring(1), directory));
+            } else if (!arg.startsWith("-")) {
+                final Matcher matcher = LINES_RE.matcher(arg);
+                if (matcher.matches()) {
+                    resolved.set(i, resolvePath(matcher.group(1), directory) + matcher.group(2));
+                }
+            }
+        }
+        return resolved;
+    }
+
+    private String resolvePath(final String path, final File directory) {
+        if (URI_RE.matcher(path).matches() || new File(path).isAbsolute()) {
+            return path;
+        }
+        return new File(directory, path).getAbsolutePath();
+    }
+
+    private boolean isPluginOption(final String arg) {
+        return "--plugin".equals(arg) || "-p".equals(arg);
+    }
+
+    /**
+     * @return The plugin name and path, or null if the plugin does not write to a file. Plugins that write to
+     * a file have the format name:path, and the path may itself include a colon, like a Windows drive.
+     */
+    private Pair<String, String> parsePlugin(final String plugin) {
+        final String name = StringUtils.substringBefore(plugin, ":");
+        final String path = StringUtils.substringAfter(plugin, ":");
+        return StringUtils.isBlank(path) ? null : Pair.of(name, path);
+    }
+}
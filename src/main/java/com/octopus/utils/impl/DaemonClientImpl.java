@@ -0,0 +1,76 @@
+package com.octopus.utils.impl;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.octopus.exceptions.NetworkException;
+import com.octopus.utils.DaemonClient;
+import com.octopus.utils.FeatureDaemon;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+
+/**
+ * A daemon client that copies each line of output as it arrives, and reads the exit code from the service
+ * message the daemon writes once the run is done.
+ */
+public class DaemonClientImpl implements DaemonClient {
+    private static final Pattern EXIT_CODE_RE = Pattern.compile(
+            "^(.*)" + Pattern.quote(FeatureDaemon.EXIT_CODE_MESSAGE).replace("%d", "\\E(\\d+)\\Q") + "$");
+
+    @Override
+    public int run(final String url, final List<String> args, final Map<String, String> properties, final PrintStream output) {
+        final JsonArray jsonArgs = new JsonArray();
+        args.forEach(jsonArgs::add);
+        final JsonObject jsonProperties = new JsonObject();
+        properties.forEach(jsonProperties::addProperty);
+        final JsonObject request = new JsonObject();
+        request.add(FeatureDaemon.ARGS_FIELD, jsonArgs);
+        request.add(FeatureDaemon.PROPERTIES_FIELD, jsonProperties);
+
+        try (final CloseableHttpClient client = HttpClients.createDefault()) {
+            final HttpPost httpPost = new HttpPost(StringUtils.removeEnd(url, "/") + FeatureDaemon.RUN_PATH);
+            httpPost.setEntity(new StringEntity(request.toString(), ContentType.APPLICATION_JSON));
+
+            try (final CloseableHttpResponse response = client.execute(httpPost)) {
+                if (response.getStatusLine().getStatusCode() != 200) {
+                    throw new NetworkException("The daemon at " + url + " responded with "
+                            + response.getStatusLine());
+                }
+
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        response.getEntity().getContent(), StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final Matcher matcher = EXIT_CODE_RE.matcher(line);
+                    if (!matcher.matches()) {
+                        output.println(line);
+                        continue;
+                    }
+
+                    if (!matcher.group(1).isEmpty()) {
+                        output.println(matcher.group(1));
+                    }
+                    output.flush();
+                    return Integer.parseInt(matcher.group(2));
+                }
+
+                throw new NetworkException("The daemon at " + url + " closed the connection before the features finished");
+            }
+        } catch (final IOException ex) {
+            throw new NetworkException("Failed to run the features with the daemon at " + url, ex);
+        }
+    }
+}
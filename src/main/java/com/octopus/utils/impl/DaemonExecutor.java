@@ -0,0 +1,88 @@
+package com.octopus.utils.impl;
+
+import com.octopus.Constants;
+import com.octopus.utils.SystemPropertyUtils;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A shared executor for background work like starting proxies, drivers and browsers. The threads are
+ * daemons, so pending work never stops the JVM from exiting. Unlike the common fork join pool, the
+ * executor is not limited by the number of processors, so blocking startup tasks still run in parallel
+ * on small build agents.
+ */
+public final class DaemonExecutor {
+    private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * The shared executor.
+     */
+    public static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "background-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DaemonExecutor() {
+    }
+
+    /**
+     * Run a browser startup task in the background, or on the calling thread if asynchronous startup
+     * has been disabled. The task's result, if any, is discarded.
+     *
+     * @param task The task to run.
+     * @return A future that completes when the task is done.
+     */
+    public static CompletableFuture<Void> run(final Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a browser startup task in the background, or on the calling thread if asynchronous startup
+     * has been disabled.
+     *
+     * @param task The task to run.
+     * @param <T>  The type of the result.
+     * @return A future that completes with the result of the task.
+     */
+    public static <T> CompletableFuture<T> supply(final Supplier<T> task) {
+        if (SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(Constants.DISABLE_ASYNC_BROWSER_STARTUP, false)) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (final RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+
+        return CompletableFuture.supplyAsync(task, INSTANCE);
+    }
+
+    /**
+     * Wait for a future, rethrowing the original exception if it failed.
+     *
+     * @param future The future to wait for.
+     * @param <T>    The type of the result.
+     * @return The result of the future.
+     */
+    public static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+}
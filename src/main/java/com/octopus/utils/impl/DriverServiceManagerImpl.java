@@ -0,0 +1,272 @@
+package com.octopus.utils.impl;
+
+import com.octopus.Constants;
+import com.octopus.exceptions.BrowserException;
+import com.octopus.utils.DriverServiceManager;
+import com.octopus.utils.SystemPropertyUtils;
+import io.vavr.control.Try;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+/**
+ * A driver service manager whose services are shared by every instance.
+ *
+ * <p>Sessions are created with RemoteWebDriver pointing at the service URL rather than with
+ * ChromeDriver or FirefoxDriver, because those drivers stop their service when the session quits.
+ * Chrome sessions are augmented so Chrome specific interfaces like HasCdp remain available.</p>
+ *
+ * <p>The chromedriver service is shared by concurrent sessions, so it is only replaced once it has stopped
+ * or a different driver binary is configured. A replaced service keeps running until its last session
+ * quits.</p>
+ */
+public class DriverServiceManagerImpl implements DriverServiceManager {
+    private static final Logger LOGGER = Logger.getLogger(DriverServiceManagerImpl.class.toString());
+    private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
+    private static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final Object CHROME_LOCK = new Object();
+    /**
+     * Geckodriver services that are running but have no session.
+     */
+    private static final Queue<GeckoDriverService> IDLE_GECKO_SERVICES = new ConcurrentLinkedQueue<>();
+    /**
+     * The number of open sessions of each chromedriver service, including replaced services that are
+     * waiting for their sessions to quit. This is guarded by CHROME_LOCK.
+     */
+    private static final Map<ChromeDriverService, Integer> CHROME_SESSIONS = new HashMap<>();
+    private static ChromeDriverService chromeDriverService;
+    /**
+     * The driver binary the chrome service was started with, so the service can be restarted if
+     * a different binary is configured.
+     */
+    private static String chromeDriverBinary;
+
+    @Override
+    public WebDriver newChromeDriver(final ChromeOptions options) {
+        if (!isEnabled()) {
+            return new ChromeDriver(options);
+        }
+
+        RemoteWebDriver webDriver;
+        try {
+            webDriver = newChromeSession(options);
+        } catch (final WebDriverException ex) {
+            // Most failures are caused by the browser or its options rather than the service, which other
+            // sessions may be using, so the service is only replaced if it has stopped
+            if (isChromeDriverServiceRunning()) {
+                throw ex;
+            }
+            LOGGER.warning("Restarting chromedriver after it stopped while creating a session: " + ex);
+            webDriver = newChromeSession(options);
+        }
+
+        final WebDriver remoteWebDriver = webDriver;
+        return Try.of(() -> new Augmenter().augment(remoteWebDriver))
+                .onFailure(ex -> LOGGER.warning("Chrome specific interfaces like HasCdp are not available, "
+                        + "as the session could not be augmented: " + ex))
+                .getOrElse(remoteWebDriver);
+    }
+
+    @Override
+    public WebDriver newFirefoxDriver(final FirefoxOptions options) {
+        if (!isEnabled()) {
+            return new FirefoxDriver(options);
+        }
+
+        final GeckoDriverService service = leaseGeckoDriverService();
+        try {
+            return new RemoteWebDriver(service.getUrl(), options) {
+                @Override
+                public void quit() {
+                    try {
+                        super.quit();
+                    } finally {
+                        releaseGeckoDriverService(service);
+                    }
+                }
+            };
+        } catch (final RuntimeException ex) {
+            // A service that fails to create a session is not trusted for reuse
+            service.stop();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void prepareChromeDriverService() {
+        if (isEnabled()) {
+            getChromeDriverService();
+        }
+    }
+
+    @Override
+    public void prepareGeckoDriverService() {
+        if (isEnabled() && IDLE_GECKO_SERVICES.isEmpty()) {
+            final GeckoDriverService service = new GeckoDriverService.Builder()
+                    .usingAnyFreePort()
+                    .build();
+            startService(service);
+            IDLE_GECKO_SERVICES.offer(service);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (CHROME_LOCK) {
+            if (chromeDriverService != null) {
+                Try.run(chromeDriverService::stop);
+                chromeDriverService = null;
+            }
+            CHROME_SESSIONS.keySet().forEach(service -> Try.run(service::stop));
+            CHROME_SESSIONS.clear();
+        }
+
+        GeckoDriverService service;
+        while ((service = IDLE_GECKO_SERVICES.poll()) != null) {
+            Try.run(service::stop);
+        }
+    }
+
+    private boolean isEnabled() {
+        return SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(Constants.SHARE_DRIVER_SERVICES, false);
+    }
+
+    private ChromeDriverService getChromeDriverService() {
+        synchronized (CHROME_LOCK) {
+            final String binary = SYSTEM_PROPERTY_UTILS.getProperty(CHROME_DRIVER_PROPERTY);
+            if (chromeDriverService != null
+                    && chromeDriverService.isRunning()
+                    && Objects.equals(binary, chromeDriverBinary)) {
+                return chromeDriverService;
+            }
+
+            if (chromeDriverService != null) {
+                LOGGER.info("Restarting chromedriver");
+                // Sessions of the replaced service stop it when the last of them quits
+                if (!CHROME_SESSIONS.containsKey(chromeDriverService)) {
+                    Try.run(chromeDriverService::stop);
+                }
+            }
+
+            final ChromeDriverService service = new ChromeDriverService.Builder()
+                    .usingAnyFreePort()
+                    .build();
+            startService(service);
+            chromeDriverService = service;
+            chromeDriverBinary = binary;
+            return service;
+        }
+    }
+
+    private boolean isChromeDriverServiceRunning() {
+        synchronized (CHROME_LOCK) {
+            return chromeDriverService != null && chromeDriverService.isRunning();
+        }
+    }
+
+    /**
+     * Create a session against the shared chromedriver service, counting it against the service until it
+     * quits.
+     */
+    private RemoteWebDriver newChromeSession(final ChromeOptions options) {
+        final ChromeDriverService service;
+        synchronized (CHROME_LOCK) {
+            service = getChromeDriverService();
+            CHROME_SESSIONS.merge(service, 1, Integer::sum);
+        }
+
+        try {
+            return new ChromeServiceSession(service, options);
+        } catch (final RuntimeException ex) {
+            releaseChromeDriverService(service);
+            throw ex;
+        }
+    }
+
+    private static void releaseChromeDriverService(final ChromeDriverService service) {
+        synchronized (CHROME_LOCK) {
+            final Integer sessions = CHROME_SESSIONS.computeIfPresent(
+                    service,
+                    (key, count) -> count > 1 ? count - 1 : null);
+            if (sessions == null && service != chromeDriverService) {
+                Try.run(service::stop);
+            }
+        }
+    }
+
+    private GeckoDriverService leaseGeckoDriverService() {
+        GeckoDriverService service;
+        while ((service = IDLE_GECKO_SERVICES.poll()) != null) {
+            if (service.isRunning()) {
+                return service;
+            }
+        }
+
+        service = new GeckoDriverService.Builder()
+                .usingAnyFreePort()
+                .build();
+        startService(service);
+        return service;
+    }
+
+    private void releaseGeckoDriverService(final GeckoDriverService service) {
+        if (service.isRunning()) {
+            IDLE_GECKO_SERVICES.offer(service);
+        }
+    }
+
+    private void startService(final DriverService service) {
+        try {
+            service.start();
+        } catch (final IOException ex) {
+            throw new BrowserException("Failed to start the driver service", ex);
+        }
+    }
+
+    /**
+     * A Chrome session that releases its chromedriver service when it quits. The Augmenter creates a
+     * subclass of the driver with a no argument constructor and copies the fields that are not final, so
+     * this class must be public, and the service must not be final.
+     */
+    public static class ChromeServiceSession extends RemoteWebDriver {
+        private ChromeDriverService service;
+
+        /**
+         * Used by the Augmenter, which copies the fields of the original session.
+         */
+        public ChromeServiceSession() {
+        }
+
+        ChromeServiceSession(final ChromeDriverService service, final ChromeOptions options) {
+            super(service.getUrl(), options);
+            this.service = service;
+        }
+
+        @Override
+        public void quit() {
+            try {
+                super.quit();
+            } finally {
+                if (service != null) {
+                    releaseChromeDriverService(service);
+                    service = null;
+                }
+            }
+        }
+    }
+}
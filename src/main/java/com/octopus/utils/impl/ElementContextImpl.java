@@ -0,0 +1,71 @@
+package com.octopus.utils.impl;
+
+import com.octopus.utils.ElementContext;
+import com.octopus.utils.ElementState;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * An ElementContext that tracks steps per thread. The scope is static, so every instance shares it.
+ */
+public class ElementContextImpl implements ElementContext {
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    @Override
+    public void open() {
+        SCOPE.set(new Scope());
+    }
+
+    @Override
+    public void close() {
+        SCOPE.remove();
+    }
+
+    @Override
+    public Optional<WebElement> getElement(final WebDriver webDriver, final String locator, final ElementState state) {
+        return Optional.ofNullable(SCOPE.get())
+                .filter(scope -> scope.webDriver == webDriver)
+                .map(scope -> scope.elements.get(locator))
+                .filter(sharedElement -> sharedElement.state.satisfies(state))
+                .map(sharedElement -> sharedElement.element);
+    }
+
+    @Override
+    public void putElement(final WebDriver webDriver, final String locator, final ElementState state, final WebElement element) {
+        final Scope scope = SCOPE.get();
+        if (scope == null) {
+            return;
+        }
+
+        // Elements from one driver mean nothing to another
+        if (scope.webDriver != webDriver) {
+            scope.elements.clear();
+            scope.webDriver = webDriver;
+        }
+
+        scope.elements.put(locator, new SharedElement(state, element));
+    }
+
+    @Override
+    public void invalidate() {
+        Optional.ofNullable(SCOPE.get()).ifPresent(scope -> scope.elements.clear());
+    }
+
+    private static class Scope {
+        private final Map<String, SharedElement> elements = new HashMap<>();
+        private WebDriver webDriver;
+    }
+
+    private static class SharedElement {
+        private final ElementState state;
+        private final WebElement element;
+
+        SharedElement(final ElementState state, final WebElement element) {
+            this.state = state;
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.octopus.utils.impl;
+
+import com.octopus.exceptions.ScriptException;
+import com.octopus.utils.ElementGeometry;
+import com.octopus.utils.ElementGeometryService;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+public class ElementGeometryServiceImpl implements ElementGeometryService {
+    private static final String GEOMETRY_SCRIPT = """
+            return arguments[0].map(function (element) {
+                var rect = element.getBoundingClientRect();
+                return {
+                    tagName: element.tagName.toLowerCase(),
+                    left: Math.floor(rect.left),
+                    top: Math.floor(rect.top),
+                    width: Math.floor(rect.width),
+                    height: Math.floor(rect.height),
+                    scrollX: Math.floor(window.scrollX),
+                    scrollY: Math.floor(window.scrollY)
+                };
+            });
+            """;
+
+    @Override
+    public ElementGeometry getGeometry(final JavascriptExecutor javascriptExecutor, final WebElement element) {
+        return getGeometries(javascriptExecutor, List.of(element)).get(0);
+    }
+
+    @Override
+    public List<ElementGeometry> getGeometries(final JavascriptExecutor javascriptExecutor, final List<WebElement> elements) {
+        if (elements.isEmpty()) {
+            return List.of();
+        }
+
+        final Object result = javascriptExecutor.executeScript(GEOMETRY_SCRIPT, elements);
+
+        if (!(result instanceof List<?> geometries)) {
+            throw new ScriptException("The element geometry script returned " + result);
+        }
+
+        return geometries.stream()
+                .map(Map.class::cast)
+                .map(this::toElementGeometry)
+                .collect(Collectors.toList());
+    }
+
+    private ElementGeometry toElementGeometry(final Map<?, ?> geometry) {
+        return new ElementGeometry(
+                String.valueOf(geometry.get("tagName")),
+                getLong(geometry, "left"),
+                getLong(geometry, "top"),
+                getLong(geometry, "width"),
+                getLong(geometry, "height"),
+                getLong(geometry, "scrollX"),
+                getLong(geometry, "scrollY"));
+    }
+
+    private long getLong(final Map<?, ?> geometry, final String key) {
+        return geometry.get(key) instanceof Number number ? number.longValue() : 0L;
+    }
+}
@@ -0,0 +1,121 @@
+package com.octopus.utils.impl;
+
+import com.octopus.utils.ElementState;
+import com.octopus.utils.ElementWatcher;
+import com.octopus.utils.LocatorMatch;
+import com.octopus.utils.LocatorStrategy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.openqa.selenium.JavascriptExecutor;
+
+public class ElementWatcherImpl implements ElementWatcher {
+    /**
+     * The state passed to the script when waiting for an element to be removed.
+     */
+    private static final String ABSENT = "absent";
+
+    /**
+     * An async script that checks the locator whenever the page is mutated, and calls back once the
+     * locator reaches the requested state or the timeout expires. Changes to visibility that are not
+     * caused by a mutation, like the end of a CSS transition, are caught by a slower interval check.
+     */
+    private static final String WATCH_SCRIPT = LocatorResolverImpl.FIND_MATCHES_FUNCTION
+            + LocatorResolverImpl.ORDER_STRATEGIES_FUNCTION + """
+            var callback = arguments[arguments.length - 1];
+            var locator = arguments[0];
+            var strategies = orderStrategies(arguments[1], arguments[2]);
+            var state = arguments[3];
+            var isClickable = function (element) {
+                var style = window.getComputedStyle(element);
+                return element.getClientRects().length !== 0
+                    && style.visibility !== 'hidden'
+                    && !element.disabled;
+            };
+            var check = function () {
+                for (var i = 0; i < strategies.length; ++i) {
+                    var matches = findMatches(locator, strategies[i]);
+                    if (matches.length !== 0) {
+                        if (state === 'absent') {
+                            return null;
+                        }
+                        // A later strategy may match an element that is in the requested state
+                        if (state === 'clickable' && !isClickable(matches[0])) {
+                            continue;
+                        }
+                        return {element: matches[0], strategy: strategies[i], count: matches.length, page: page};
+                    }
+                }
+                return state === 'absent' ? {absent: true} : null;
+            };
+            var done = false;
+            var observer = null;
+            var interval = null;
+            var timer = null;
+            var finish = function (result) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                if (observer) {
+                    observer.disconnect();
+                }
+                clearInterval(interval);
+                clearTimeout(timer);
+                callback(result);
+            };
+            var recheck = function () {
+                var result = check();
+                if (result) {
+                    finish(result);
+                }
+            };
+            recheck();
+            if (!done) {
+                observer = new MutationObserver(recheck);
+                observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+                interval = setInterval(recheck, 250);
+                timer = setTimeout(function () {
+                    finish(null);
+                }, arguments[4]);
+            }
+            """;
+
+    @Override
+    public Optional<LocatorMatch> waitForElement(final JavascriptExecutor javascriptExecutor,
+                                                 final String locator,
+                                                 final List<LocatorStrategy> strategies,
+                                                 final Map<String, LocatorStrategy> preferred,
+                                                 final ElementState state,
+                                                 final long timeout) {
+        return LocatorResolverImpl.toLocatorMatch(
+                watch(javascriptExecutor, locator, strategies, preferred, state.getScriptName(), timeout));
+    }
+
+    @Override
+    public boolean waitForNoElement(final JavascriptExecutor javascriptExecutor,
+                                    final String locator,
+                                    final List<LocatorStrategy> strategies,
+                                    final long timeout) {
+        return watch(javascriptExecutor, locator, strategies, Map.of(), ABSENT, timeout) instanceof Map<?, ?> result
+                && Boolean.TRUE.equals(result.get("absent"));
+    }
+
+    private Object watch(final JavascriptExecutor javascriptExecutor,
+                         final String locator,
+                         final List<LocatorStrategy> strategies,
+                         final Map<String, LocatorStrategy> preferred,
+                         final String state,
+                         final long timeout) {
+        return javascriptExecutor.executeAsyncScript(
+                WATCH_SCRIPT,
+                locator,
+                strategies.stream().map(LocatorStrategy::getScriptName).collect(Collectors.toList()),
+                preferred.entrySet().stream().collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        e -> e.getValue().getScriptName())),
+                state,
+                Math.max(0, timeout));
+    }
+}
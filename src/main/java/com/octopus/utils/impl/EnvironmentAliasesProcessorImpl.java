@@ -28,14 +28,20 @@ public class EnvironmentAliasesProcessorImpl implements EnvironmentAliasesProces
             Take any header with the prefix "CucumberAlias-" and set it as an
             alias value in the AutomatedBrowserBase class.
         */
-        if (headers != null) {
-            AutomatedBrowserBase.setExternalAliases(
-                    headers.entrySet().stream()
-                            .filter(s -> s.getKey().startsWith(Constants.ALIAS_HEADER_PREFIX))
-                            .collect(Collectors.toMap(x ->
-                                            x.getKey().replaceAll(Constants.ALIAS_HEADER_PREFIX, ""),
-                                    x -> x.getValue())));
+        AutomatedBrowserBase.setExternalAliases(getHeaderVarsAsAliases(headers));
+    }
+
+    @Override
+    public Map<String, String> getHeaderVarsAsAliases(Map<String, String> headers) {
+        if (headers == null) {
+            return Map.of();
         }
+
+        return headers.entrySet().stream()
+                .filter(s -> s.getKey().startsWith(Constants.ALIAS_HEADER_PREFIX))
+                .collect(Collectors.toMap(x ->
+                                x.getKey().replaceAll(Constants.ALIAS_HEADER_PREFIX, ""),
+                        x -> x.getValue()));
     }
 
     @Override
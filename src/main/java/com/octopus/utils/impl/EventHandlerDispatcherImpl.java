@@ -0,0 +1,129 @@
+package com.octopus.utils.impl;
+
+import com.octopus.eventhandlers.EventHandler;
+import com.octopus.exceptions.ConfigurationException;
+import com.octopus.utils.EventHandlerDispatcher;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * An event handler dispatcher that starts each handler on the shared daemon executor as soon as the handlers
+ * producing the results it consumes have finished. All the critical handlers share the one timeout, so a slow
+ * endpoint can not hold up the caller for longer than the timeout.
+ *
+ * <p>A handler that throws an exception is logged and treated as if it produced no results, so the handlers
+ * that depend on it still run.</p>
+ *
+ * <p>No handler starts until every handler has been scheduled, so handlers that depend on each other's results
+ * are rejected before any of them run.</p>
+ */
+public class EventHandlerDispatcherImpl implements EventHandlerDispatcher {
+    private static final Logger LOGGER = Logger.getLogger(EventHandlerDispatcherImpl.class.toString());
+
+    @Override
+    public Map<String, String> dispatch(final List<EventHandler> handlers,
+                                        final Map<String, String> headers,
+                                        final BiFunction<EventHandler, Map<String, String>, Map<String, String>> finished,
+                                        final long timeout,
+                                        final Runnable completed) {
+        final CompletableFuture<Void> start = new CompletableFuture<>();
+        final Map<EventHandler, CompletableFuture<Map<String, String>>> runs = new IdentityHashMap<>();
+        try {
+            for (final EventHandler handler : handlers) {
+                schedule(handler, handlers, finished, start, runs, Collections.newSetFromMap(new IdentityHashMap<>()));
+            }
+        } catch (final RuntimeException ex) {
+            // Nothing has started, so the handlers that were already scheduled never run
+            start.cancel(false);
+            completed.run();
+            throw ex;
+        }
+
+        CompletableFuture.allOf(runs.values().toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, ex) -> completed.run());
+        start.complete(null);
+
+        final CompletableFuture<?>[] critical = handlers.stream()
+                .filter(handler -> handler.isCritical(headers))
+                .map(runs::get)
+                .toArray(CompletableFuture<?>[]::new);
+
+        try {
+            CompletableFuture.allOf(critical).get(timeout, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException ex) {
+            LOGGER.warning("Timed out waiting for the event handlers "
+                    + handlers.stream()
+                    .filter(handler -> handler.isCritical(headers) && !runs.get(handler).isDone())
+                    .map(handler -> handler.getClass().getSimpleName())
+                    .collect(Collectors.joining(", ")));
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException ex) {
+            // Failures are handled by each run
+        }
+
+        final Map<String, String> results = new HashMap<>();
+        handlers.stream()
+                .map(runs::get)
+                .filter(run -> run.isDone() && !run.isCompletedExceptionally())
+                .forEach(run -> results.putAll(run.join()));
+        return results;
+    }
+
+    /**
+     * Schedule a handler after the handlers it depends on, scheduling those first if required.
+     */
+    private CompletableFuture<Map<String, String>> schedule(
+            final EventHandler handler,
+            final List<EventHandler> handlers,
+            final BiFunction<EventHandler, Map<String, String>, Map<String, String>> finished,
+            final CompletableFuture<Void> start,
+            final Map<EventHandler, CompletableFuture<Map<String, String>>> runs,
+            final Set<EventHandler> visiting) {
+        if (runs.containsKey(handler)) {
+            return runs.get(handler);
+        }
+
+        if (!visiting.add(handler)) {
+            throw new ConfigurationException("The event handler " + handler.getClass().getSimpleName()
+                    + " depends on its own results");
+        }
+
+        final List<CompletableFuture<Map<String, String>>> dependencies = handlers.stream()
+                .filter(other -> other != handler)
+                .filter(other -> !Collections.disjoint(other.produces(), handler.consumes()))
+                .map(other -> schedule(other, handlers, finished, start, runs, visiting))
+                .collect(Collectors.toList());
+
+        final CompletableFuture<Map<String, String>> run = CompletableFuture
+                .allOf(start, CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0])))
+                .thenApplyAsync(ignored -> {
+                    final Map<String, String> previousResults = new HashMap<>();
+                    dependencies.forEach(dependency -> previousResults.putAll(dependency.join()));
+                    return previousResults;
+                }, DaemonExecutor.INSTANCE)
+                .thenApply(previousResults -> {
+                    try {
+                        return finished.apply(handler, previousResults);
+                    } catch (final RuntimeException ex) {
+                        LOGGER.warning("The event handler " + handler.getClass().getSimpleName() + " failed: " + ex);
+                        return previousResults;
+                    }
+                });
+
+        visiting.remove(handler);
+        runs.put(handler, run);
+        return run;
+    }
+}
@@ -0,0 +1,150 @@
+package com.octopus.utils.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.octopus.exceptions.ConfigurationException;
+import com.octopus.utils.FeatureDaemon;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.vavr.control.Try;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.TeeOutputStream;
+
+/**
+ * A feature daemon built on the HTTP server that ships with the JDK. It only listens on the loopback
+ * interface, as anyone who can reach it can run features.
+ *
+ * <p>Requests are run one at a time on the same thread. This means the standard output and logs of a run can be
+ * captured and streamed back without mixing in the output of other runs, and that any browser shared between
+ * scenarios stays with the thread that opened it.</p>
+ */
+public class FeatureDaemonImpl implements FeatureDaemon {
+    private static final Logger LOGGER = Logger.getLogger(FeatureDaemonImpl.class.toString());
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "feature-daemon"));
+
+    @Override
+    public void start(final int port, final ToIntFunction<List<String>> runner) {
+        final HttpServer server = Try.of(() -> HttpServer.create(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0))
+                .getOrElseThrow(ex -> new ConfigurationException("Failed to listen for features on port " + port, ex));
+        server.createContext(RUN_PATH, exchange -> handleRun(exchange, runner));
+        server.setExecutor(EXECUTOR);
+        server.start();
+        LOGGER.info("Waiting for features to run at http://localhost:" + port + RUN_PATH);
+    }
+
+    private void handleRun(final HttpExchange exchange, final ToIntFunction<List<String>> runner) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            final Try<JsonObject> request = Try.of(() -> JsonParser.parseString(
+                    IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8)).getAsJsonObject());
+            if (request.isFailure()) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            final List<String> args = Try.of(() -> StreamSupport.stream(
+                            request.get().getAsJsonArray(ARGS_FIELD).spliterator(), false)
+                            .map(JsonElement::getAsString)
+                            .collect(Collectors.toList()))
+                    .getOrElse(List.of());
+            final Map<String, String> properties = new HashMap<>();
+            Try.run(() -> request.get().getAsJsonObject(PROPERTIES_FIELD).entrySet()
+                    .forEach(entry -> properties.put(entry.getKey(), entry.getValue().getAsString())));
+
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            // A length of 0 streams the response in chunks as the output is written
+            exchange.sendResponseHeaders(200, 0);
+
+            final OutputStream body = exchange.getResponseBody();
+            final int exitCode = runWithOutput(body, () -> runWithProperties(properties, () -> runner.applyAsInt(args)));
+            body.write((String.format(EXIT_CODE_MESSAGE, exitCode) + "\n").getBytes(StandardCharsets.UTF_8));
+            body.flush();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Run the features with the system properties of the request, and restore the properties of the daemon
+     * afterwards so they do not leak into the next run.
+     */
+    private int runWithProperties(final Map<String, String> properties, final IntSupplier run) {
+        final Map<String, String> original = new HashMap<>();
+        properties.keySet().forEach(name -> original.put(name, System.getProperty(name)));
+        properties.forEach(System::setProperty);
+        try {
+            return run.getAsInt();
+        } finally {
+            original.forEach((name, value) -> {
+                if (value == null) {
+                    System.clearProperty(name);
+                } else {
+                    System.setProperty(name, value);
+                }
+            });
+        }
+    }
+
+    /**
+     * Run the features, copying the standard output, standard error and logs to the response as well as to the
+     * console of the daemon.
+     */
+    private int runWithOutput(final OutputStream body, final IntSupplier run) {
+        // PrintStream swallows errors, so a client that disconnects does not fail the run
+        final PrintStream client = new PrintStream(body, true, StandardCharsets.UTF_8);
+        final PrintStream originalOut = System.out;
+        final PrintStream originalErr = System.err;
+        final Handler handler = new StreamHandler(client, new SimpleFormatter()) {
+            @Override
+            public synchronized void publish(final LogRecord record) {
+                super.publish(record);
+                flush();
+            }
+        };
+        final Logger rootLogger = Logger.getLogger("");
+
+        System.setOut(new PrintStream(new TeeOutputStream(originalOut, client), true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(new TeeOutputStream(originalErr, client), true, StandardCharsets.UTF_8));
+        rootLogger.addHandler(handler);
+        try {
+            return run.getAsInt();
+        } catch (final RuntimeException ex) {
+            LOGGER.severe("The features failed to run: " + ex);
+            return 1;
+        } finally {
+            rootLogger.removeHandler(handler);
+            handler.flush();
+            System.out.flush();
+            System.err.flush();
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.octopus.utils.impl;
+
+import com.octopus.exceptions.ConfigurationException;
+import com.octopus.utils.GherkinFeature;
+import com.octopus.utils.GherkinFeature.Scenario;
+import com.octopus.utils.GherkinFeature.Step;
+import com.octopus.utils.GherkinParser;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * A parser for the subset of Gherkin used by nested features: English keywords, backgrounds, scenarios,
+ * scenario outlines, data tables and doc strings. Rules are not supported, and features that use them must
+ * be run by Cucumber.
+ */
+public class GherkinParserImpl implements GherkinParser {
+    /**
+     * The parsed features, keyed by path, along with the modification time of the file they were parsed from.
+     */
+    private static final Map<String, Pair<Long, GherkinFeature>> CACHE = new ConcurrentHashMap<>();
+    private static final String[] STEP_KEYWORDS = {"Given ", "When ", "Then ", "And ", "But ", "* "};
+    private static final String[] SCENARIO_KEYWORDS = {"Scenario:", "Example:"};
+    private static final String[] OUTLINE_KEYWORDS = {"Scenario Outline:", "Scenario Template:"};
+    private static final String[] EXAMPLES_KEYWORDS = {"Examples:", "Scenarios:"};
+    private static final String[] DOC_STRING_DELIMITERS = {"\"\"\"", "```"};
+
+    @Override
+    public GherkinFeature parse(final File feature) {
+        final String path = feature.getAbsolutePath();
+        final long lastModified = feature.lastModified();
+        final Pair<Long, GherkinFeature> cached = CACHE.get(path);
+        if (cached != null && cached.getLeft() == lastModified) {
+            return cached.getRight();
+        }
+
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(feature.toPath(), StandardCharsets.UTF_8);
+        } catch (final IOException ex) {
+            throw new ConfigurationException("Failed to read the feature file " + feature, ex);
+        }
+
+        final GherkinFeature parsed = new Parser(path, lines).parse();
+        CACHE.put(path, Pair.of(lastModified, parsed));
+        return parsed;
+    }
+
+    /**
+     * The state of parsing a single file.
+     */
+    private static class Parser {
+        private final String path;
+        private final List<String> lines;
+        private final List<Scenario> scenarios = new ArrayList<>();
+        private final List<Step> background = new ArrayList<>();
+        private String featureName = "";
+        private String scenarioName;
+        private int scenarioLine;
+        private boolean outline;
+        private boolean inBackground;
+        private boolean inExamples;
+        private List<Step> steps;
+        private List<List<String>> examples;
+        private List<List<String>> dataTable;
+        private int dataTableLine;
+
+        Parser(final String path, final List<String> lines) {
+            this.path = path;
+            this.lines = lines;
+        }
+
+        GherkinFeature parse() {
+            for (int i = 0; i < lines.size(); ++i) {
+                final String line = lines.get(i).trim();
+
+                if (line.startsWith("|")) {
+                    addTableRow(line, i + 1);
+                    continue;
+                }
+                endDataTable();
+
+                if (line.isEmpty() || line.startsWith("@")) {
+                    continue;
+                }
+
+                if (line.startsWith("#")) {
+                    if (line.matches("#\\s*language\\s*:.*") && !line.matches("#\\s*language\\s*:\\s*en\\s*")) {
+                        throw unsupported("languages other than English", i + 1);
+                    }
+                    continue;
+                }
+
+                if (StringUtils.startsWithAny(line, DOC_STRING_DELIMITERS)) {
+                    i = addDocString(i);
+                } else if (line.startsWith("Feature:")) {
+                    featureName = StringUtils.substringAfter(line, ":").trim();
+                } else if (line.startsWith("Rule:")) {
+                    throw unsupported("rules", i + 1);
+                } else if (line.startsWith("Background:")) {
+                    endScenario();
+                    inBackground = true;
+                    steps = background;
+                } else if (StringUtils.startsWithAny(line, OUTLINE_KEYWORDS)) {
+                    startScenario(line, i + 1, true);
+                } else if (StringUtils.startsWithAny(line, SCENARIO_KEYWORDS)) {
+                    startScenario(line, i + 1, false);
+                } else if (StringUtils.startsWithAny(line, EXAMPLES_KEYWORDS)) {
+                    if (!outline) {
+                        throw unsupported("examples outside of a scenario outline", i + 1);
+                    }
+                    expandOutline();
+                    inExamples = true;
+                    examples = new ArrayList<>();
+                } else if (StringUtils.startsWithAny(line, STEP_KEYWORDS) && steps != null && !inExamples) {
+                    steps.add(new Step(StringUtils.substringAfter(line, " ").trim(), i + 1, null, null));
+                }
+                // Anything else is a description
+            }
+
+            endDataTable();
+            endScenario();
+            return new GherkinFeature(featureName, scenarios);
+        }
+
+        private void startScenario(final String line, final int lineNumber, final boolean isOutline) {
+            endScenario();
+            scenarioName = StringUtils.substringAfter(line, ":").trim();
+            scenarioLine = lineNumber;
+            outline = isOutline;
+            steps = new ArrayList<>();
+        }
+
+        private void endScenario() {
+            if (outline) {
+                expandOutline();
+            } else if (scenarioName != null) {
+                scenarios.add(new Scenario(scenarioName, scenarioLine, withBackground(steps)));
+            }
+
+            scenarioName = null;
+            outline = false;
+            inBackground = false;
+            inExamples = false;
+            examples = null;
+            steps = null;
+        }
+
+        /**
+         * Add a scenario for every row of the examples that have been read, leaving the outline steps in place for
+         * any further examples.
+         */
+        private void expandOutline() {
+            if (examples == null || examples.isEmpty()) {
+                return;
+            }
+
+            final List<String> header = examples.get(0);
+            for (final List<String> row : examples.subList(1, examples.size())) {
+                final List<Step> expanded = steps.stream()
+                        .map(step -> new Step(
+                                substitute(step.getText(), header, row),
+                                step.getLine(),
+                                step.getDataTable() == null ? null : step.getDataTable().stream()
+                                        .map(cells -> cells.stream()
+                                                .map(cell -> cell == null ? null : substitute(cell, header, row))
+                                                .collect(Collectors.toList()))
+                                        .collect(Collectors.toList()),
+                                step.getDocString() == null ? null : substitute(step.getDocString(), header, row)))
+                        .collect(Collectors.toList());
+                scenarios.add(new Scenario(
+                        substitute(scenarioName, header, row),
+                        scenarioLine,
+                        withBackground(expanded)));
+            }
+            examples = new ArrayList<>();
+        }
+
+        private String substitute(final String text, final List<String> header, final List<String> row) {
+            String substituted = text;
+            for (int i = 0; i < header.size() && i < row.size(); ++i) {
+                substituted = substituted.replace("<" + header.get(i) + ">", StringUtils.defaultString(row.get(i)));
+            }
+            return substituted;
+        }
+
+        private List<Step> withBackground(final List<Step> scenarioSteps) {
+            final List<Step> all = new ArrayList<>(background);
+            all.addAll(scenarioSteps);
+            return all;
+        }
+
+        private void addTableRow(final String line, final int lineNumber) {
+            final List<String> cells = parseCells(line);
+            if (inExamples) {
+                examples.add(cells);
+            } else if (steps != null && !steps.isEmpty()) {
+                if (dataTable == null) {
+                    dataTable = new ArrayList<>();
+                    dataTableLine = lineNumber;
+                }
+                dataTable.add(cells);
+            } else {
+                throw unsupported("a table that does not follow a step", lineNumber);
+            }
+        }
+
+        private void endDataTable() {
+            if (dataTable == null) {
+                return;
+            }
+
+            final Step step = steps.remove(steps.size() - 1);
+            if (step.getDataTable() != null || step.getDocString() != null) {
+                throw unsupported("a step with more than one argument", dataTableLine);
+            }
+            steps.add(new Step(step.getText(), step.getLine(), dataTable, null));
+            dataTable = null;
+        }
+
+        /**
+         * @return The index of the line that closes the doc string.
+         */
+        private int addDocString(final int start) {
+            final String opening = lines.get(start);
+            final int indent = opening.indexOf(opening.trim());
+            final String delimiter = opening.trim().substring(0, 3);
+            if (steps == null || steps.isEmpty()) {
+                throw unsupported("a doc string that does not follow a step", start + 1);
+            }
+
+            final List<String> content = new ArrayList<>();
+            for (int i = start + 1; i < lines.size(); ++i) {
+                if (lines.get(i).trim().startsWith(delimiter)) {
+                    final Step step = steps.remove(steps.size() - 1);
+                    if (step.getDataTable() != null || step.getDocString() != null) {
+                        throw unsupported("a step with more than one argument", start + 1);
+                    }
+                    steps.add(new Step(step.getText(), step.getLine(), null, String.join("\n", content)));
+                    return i;
+                }
+
+                // Remove the indentation of the opening delimiter
+                final String line = lines.get(i);
+                final int leading = line.length() - StringUtils.stripStart(line, null).length();
+                content.add(line.substring(Math.min(indent, leading))
+                        .replace("\\" + delimiter.charAt(0) + delimiter.charAt(1) + delimiter.charAt(2), delimiter));
+            }
+
+            throw unsupported("an unterminated doc string", start + 1);
+        }
+
+        private List<String> parseCells(final String line) {
+            final List<String> cells = new ArrayList<>();
+            final StringBuilder cell = new StringBuilder();
+            // Skip the leading pipe, and ignore anything after the last pipe
+            for (int i = 1; i < line.length(); ++i) {
+                final char c = line.charAt(i);
+                if (c == '\\' && i + 1 < line.length()) {
+                    final char next = line.charAt(++i);
+                    cell.append(next == 'n' ? '\n' : next);
+                } else if (c == '|') {
+                    final String value = cell.toString().trim();
+                    cells.add(value.isEmpty() ? null : value);
+                    cell.setLength(0);
+                } else {
+                    cell.append(c);
+                }
+            }
+            return cells;
+        }
+
+        private ConfigurationException unsupported(final String feature, final int line) {
+            return new ConfigurationException("The feature " + path + " uses " + feature + " on line " + line
+                    + ", which is not supported when running nested features in this JVM");
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 
 public class JavaLauncherUtilsImpl implements JavaLauncherUtils {
@@ -42,7 +43,7 @@ public class JavaLauncherUtilsImpl implements JavaLauncherUtils {
             }
 
             // First see if the supplied file is an absolute path, otherwise assume it is in the same directory as the current feature file
-            if (StringUtils.isBlank(args)) {
+            if (StringUtils.isNotBlank(args)) {
                 cmd.append(" ");
                 cmd.append(args);
             }
@@ -53,6 +54,44 @@ public class JavaLauncherUtilsImpl implements JavaLauncherUtils {
         }
     }
 
+    @Override
+    public Process startAppExternally(final List<String> vmArgs,
+                                      final List<String> args,
+                                      final Map<String, String> environment,
+                                      final File output) {
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + "/bin/java");
+        for (final String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            // The debugger agent can only listen on a port once
+            if (!arg.contains("-agentlib")) {
+                command.add(arg);
+            }
+        }
+        command.addAll(vmArgs);
+
+        final String mainCommand = System.getProperty("sun.java.command").split(" ")[0];
+        if (mainCommand.endsWith(".jar")) {
+            command.add("-jar");
+            command.add(new File(mainCommand).getPath());
+        } else {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(mainCommand);
+        }
+        command.addAll(args);
+
+        final ProcessBuilder processBuilder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(output);
+        processBuilder.environment().putAll(environment);
+
+        try {
+            return processBuilder.start();
+        } catch (final IOException ex) {
+            throw new ScriptException("Failed to start the child process.", ex);
+        }
+    }
+
     @Override
     public int launchAppInternally(final String[] args) {
         final ArrayList<String> options = new ArrayList<>(Constants.DEFAULT_CUCUMBER_OPTIONS);
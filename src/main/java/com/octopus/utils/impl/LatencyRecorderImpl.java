@@ -0,0 +1,102 @@
+package com.octopus.utils.impl;
+
+import com.google.gson.GsonBuilder;
+import com.octopus.exceptions.SaveException;
+import com.octopus.utils.LatencyHistogram;
+import com.octopus.utils.LatencyRecorder;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+
+public class LatencyRecorderImpl implements LatencyRecorder {
+    private static final double[] PERCENTILES = {50, 95, 99};
+    /**
+     * Histograms are shared by every recorder, so any number of timing decorators contribute to
+     * the same report. Scenarios can run in parallel threads, so each thread has its own scenario
+     * histograms.
+     */
+    private static final ThreadLocal<ConcurrentMap<String, LatencyHistogram>> SCENARIO_HISTOGRAMS =
+            ThreadLocal.withInitial(ConcurrentHashMap::new);
+    private static final ConcurrentMap<String, LatencyHistogram> RUN_HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final List<Map<String, Object>> SCENARIOS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void record(final String command, final String strategy, final long nanos) {
+        final String key = strategy == null ? command : command + " [" + strategy + "]";
+        final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        SCENARIO_HISTOGRAMS.get().computeIfAbsent(key, k -> new LatencyHistogram()).record(micros);
+        RUN_HISTOGRAMS.computeIfAbsent(key, k -> new LatencyHistogram()).record(micros);
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getScenarioHistograms() {
+        return new TreeMap<>(SCENARIO_HISTOGRAMS.get());
+    }
+
+    @Override
+    public String endScenario(final String scenario) {
+        final Map<String, LatencyHistogram> histograms = getScenarioHistograms();
+        SCENARIO_HISTOGRAMS.get().clear();
+
+        if (histograms.isEmpty()) {
+            return "";
+        }
+
+        final Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("scenario", scenario);
+        entry.put("commands", toReport(histograms));
+        SCENARIOS.add(entry);
+
+        final StringBuilder summary = new StringBuilder("\nCommand latencies in milliseconds for " + scenario);
+        histograms.forEach((key, histogram) -> summary.append(String.format(
+                "%n%-60s count %6d  p50 %9.1f  p95 %9.1f  p99 %9.1f  max %9.1f",
+                key,
+                histogram.getCount(),
+                histogram.getPercentile(50) / 1000.0,
+                histogram.getPercentile(95) / 1000.0,
+                histogram.getPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0)));
+        return summary.toString();
+    }
+
+    @Override
+    public void writeReport(final File file) {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenarios", new ArrayList<>(SCENARIOS));
+        report.put("total", toReport(new TreeMap<>(RUN_HISTOGRAMS)));
+
+        try {
+            FileUtils.write(
+                    file,
+                    new GsonBuilder().setPrettyPrinting().create().toJson(report),
+                    StandardCharsets.UTF_8);
+        } catch (final IOException ex) {
+            throw new SaveException("Failed to save the latency report to " + file, ex);
+        }
+    }
+
+    private Map<String, Object> toReport(final Map<String, LatencyHistogram> histograms) {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        histograms.forEach((key, histogram) -> {
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", histogram.getCount());
+            stats.put("meanMicros", histogram.getMean());
+            for (final double percentile : PERCENTILES) {
+                stats.put("p" + (int) percentile + "Micros", histogram.getPercentile(percentile));
+            }
+            stats.put("maxMicros", histogram.getMax());
+            report.put(key, stats);
+        });
+        return report;
+    }
+}
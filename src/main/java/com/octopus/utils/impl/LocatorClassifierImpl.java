@@ -0,0 +1,46 @@
+package com.octopus.utils.impl;
+
+import com.octopus.utils.LocatorClassifier;
+import com.octopus.utils.LocatorStrategy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+
+public class LocatorClassifierImpl implements LocatorClassifier {
+    /**
+     * Locators that start like a path expression, which is never a valid CSS selector. These can still be
+     * link text, names or ids, like "(edit)" or "/docs".
+     */
+    private static final Pattern PATH_PREFIX = Pattern.compile("^\\s*(\\.{0,2}/|\\()");
+    /**
+     * Whitespace, which HTML ids and class names can not contain. Any other character is legal in both.
+     */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s");
+    /**
+     * Locators that start like a CSS id or class selector. As an XPath expression these are either invalid,
+     * or an operation on the context node that results in a number or boolean rather than an element.
+     */
+    private static final Pattern CSS_PREFIX = Pattern.compile("^[#.][A-Za-z_-]");
+
+    @Override
+    public List<LocatorStrategy> getCandidateStrategies(final String locator) {
+        if (StringUtils.isEmpty(locator)) {
+            return List.of();
+        }
+
+        final boolean pathPrefix = PATH_PREFIX.matcher(locator).find();
+        final boolean whitespace = WHITESPACE.matcher(locator).find();
+        final boolean cssPrefix = CSS_PREFIX.matcher(locator).find();
+
+        return Arrays.stream(LocatorStrategy.values())
+                .filter(strategy -> switch (strategy) {
+                    case ID, CLASS_NAME -> !whitespace;
+                    case CSS_SELECTOR -> !pathPrefix;
+                    case XPATH -> !cssPrefix;
+                    default -> true;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,158 @@
+package com.octopus.utils.impl;
+
+import com.octopus.utils.LocatorMatch;
+import com.octopus.utils.LocatorResolver;
+import com.octopus.utils.LocatorStrategy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+public class LocatorResolverImpl implements LocatorResolver {
+
+    /**
+     * A function that returns the elements matched by a locator using one strategy. It mirrors the
+     * queries that the matching By classes make, but lets every strategy be tested in a single
+     * round trip to the browser.
+     */
+    static final String FIND_MATCHES_FUNCTION = """
+            var findMatches = function (locator, strategy) {
+                var matches = [];
+                try {
+                    if (strategy === 'id') {
+                        matches = document.querySelectorAll('#' + CSS.escape(locator));
+                    } else if (strategy === 'xpath') {
+                        var snapshot = document.evaluate(
+                            locator, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                        for (var i = 0; i < snapshot.snapshotLength; ++i) {
+                            if (snapshot.snapshotItem(i).nodeType === Node.ELEMENT_NODE) {
+                                matches.push(snapshot.snapshotItem(i));
+                            }
+                        }
+                    } else if (strategy === 'cssSelector') {
+                        matches = document.querySelectorAll(locator);
+                    } else if (strategy === 'className') {
+                        matches = document.getElementsByClassName(locator);
+                    } else if (strategy === 'linkText') {
+                        var links = document.getElementsByTagName('a');
+                        for (var j = 0; j < links.length; ++j) {
+                            if ((links[j].innerText || links[j].textContent || '').trim() === locator.trim()) {
+                                matches.push(links[j]);
+                            }
+                        }
+                    } else if (strategy === 'name') {
+                        matches = document.getElementsByName(locator);
+                    }
+                } catch (e) {
+                    // The locator is not valid for this strategy
+                    return [];
+                }
+                return Array.prototype.slice.call(matches);
+            };
+            """;
+
+    /**
+     * Captures the current page origin and path, and defines a function that moves the preferred
+     * strategy for that page to the front of the list of strategies to test.
+     */
+    static final String ORDER_STRATEGIES_FUNCTION = """
+            var page = window.location.origin + window.location.pathname;
+            var orderStrategies = function (strategies, preferred) {
+                var ordered = strategies.slice();
+                var index = ordered.indexOf(preferred[page]);
+                if (index > 0) {
+                    ordered.splice(index, 1);
+                    ordered.unshift(preferred[page]);
+                }
+                return ordered;
+            };
+            """;
+
+    private static final String RESOLVE_SCRIPT = FIND_MATCHES_FUNCTION + ORDER_STRATEGIES_FUNCTION + """
+            var strategies = orderStrategies(arguments[1], arguments[2]);
+            for (var i = 0; i < strategies.length; ++i) {
+                var matches = findMatches(arguments[0], strategies[i]);
+                if (matches.length !== 0) {
+                    return {element: matches[0], strategy: strategies[i], count: matches.length, page: page};
+                }
+            }
+            return null;
+            """;
+
+    private static final String RESOLVE_ALL_SCRIPT = FIND_MATCHES_FUNCTION + ORDER_STRATEGIES_FUNCTION + """
+            var strategies = orderStrategies(arguments[1], arguments[2]);
+            var results = [];
+            for (var i = 0; i < strategies.length; ++i) {
+                var matches = findMatches(arguments[0], strategies[i]);
+                if (matches.length !== 0) {
+                    results.push({element: matches[0], strategy: strategies[i], count: matches.length, page: page});
+                }
+            }
+            return results;
+            """;
+
+    @Override
+    public Optional<LocatorMatch> resolve(final JavascriptExecutor javascriptExecutor,
+                                          final String locator,
+                                          final List<LocatorStrategy> strategies,
+                                          final Map<String, LocatorStrategy> preferred) {
+        if (strategies.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Object result = javascriptExecutor.executeScript(
+                RESOLVE_SCRIPT,
+                locator,
+                strategies.stream().map(LocatorStrategy::getScriptName).collect(Collectors.toList()),
+                preferred.entrySet().stream().collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        e -> e.getValue().getScriptName())));
+
+        return toLocatorMatch(result);
+    }
+
+    @Override
+    public List<LocatorMatch> resolveAll(final JavascriptExecutor javascriptExecutor,
+                                         final String locator,
+                                         final List<LocatorStrategy> strategies,
+                                         final Map<String, LocatorStrategy> preferred) {
+        if (strategies.isEmpty()) {
+            return List.of();
+        }
+
+        final Object result = javascriptExecutor.executeScript(
+                RESOLVE_ALL_SCRIPT,
+                locator,
+                strategies.stream().map(LocatorStrategy::getScriptName).collect(Collectors.toList()),
+                preferred.entrySet().stream().collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        e -> e.getValue().getScriptName())));
+
+        if (!(result instanceof List<?> list)) {
+            return List.of();
+        }
+
+        return list.stream()
+                .map(LocatorResolverImpl::toLocatorMatch)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Converts the object returned by a locator script into a LocatorMatch.
+     */
+    static Optional<LocatorMatch> toLocatorMatch(final Object result) {
+        if (!(result instanceof Map<?, ?> map) || !(map.get("element") instanceof WebElement element)) {
+            return Optional.empty();
+        }
+
+        return LocatorStrategy.fromScriptName(String.valueOf(map.get("strategy")))
+                .map(strategy -> new LocatorMatch(
+                        element,
+                        strategy,
+                        map.get("count") instanceof Number count ? count.intValue() : 1,
+                        String.valueOf(map.get("page"))));
+    }
+}
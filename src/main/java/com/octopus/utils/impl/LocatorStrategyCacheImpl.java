@@ -0,0 +1,93 @@
+package com.octopus.utils.impl;
+
+import com.octopus.utils.LocatorStrategy;
+import com.octopus.utils.LocatorStrategyCache;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A LocatorStrategyCache that holds the most recently used locators, evicting the least recently
+ * used locator once the maximum size is reached.
+ */
+public class LocatorStrategyCacheImpl implements LocatorStrategyCache {
+    /**
+     * The number of pages tracked for any one locator.
+     */
+    private static final int MAX_PAGES_PER_LOCATOR = 16;
+
+    private final Map<String, Map<String, LocatorStrategy>> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxLocators The maximum number of locators to cache.
+     */
+    public LocatorStrategyCacheImpl(final int maxLocators) {
+        this.cache = new LruMap<>(maxLocators);
+    }
+
+    @Override
+    public synchronized Optional<LocatorStrategy> getStrategy(final String locator, final String page) {
+        return Optional.ofNullable(cache.get(locator))
+                .map(pages -> pages.get(page));
+    }
+
+    @Override
+    public synchronized Map<String, LocatorStrategy> getStrategies(final String locator) {
+        return Optional.ofNullable(cache.get(locator))
+                .<Map<String, LocatorStrategy>>map(HashMap::new)
+                .orElseGet(Map::of);
+    }
+
+    @Override
+    public synchronized boolean recordStrategy(final String locator, final String page, final LocatorStrategy strategy) {
+        final LocatorStrategy previous = cache
+                .computeIfAbsent(locator, k -> new LruMap<>(MAX_PAGES_PER_LOCATOR))
+                .put(page, strategy);
+
+        if (previous == strategy) {
+            hits.incrementAndGet();
+            return true;
+        }
+
+        misses.incrementAndGet();
+        return false;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public synchronized void clear() {
+        cache.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * A LinkedHashMap in access order that drops the eldest entry once it grows past its maximum size.
+     */
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private final int maxSize;
+
+        LruMap(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
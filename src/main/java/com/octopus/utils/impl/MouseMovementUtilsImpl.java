@@ -3,6 +3,8 @@ package com.octopus.utils.impl;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.octopus.Constants;
+import com.octopus.utils.ElementGeometry;
+import com.octopus.utils.ElementGeometryService;
 import com.octopus.utils.GetElement;
 import com.octopus.utils.MouseMovementUtils;
 import com.octopus.utils.RetryService;
@@ -16,7 +18,6 @@ import java.util.Optional;
 import java.util.logging.Logger;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
 /**
  * Implementation of MouseMovementUtils
@@ -26,6 +27,7 @@ public class MouseMovementUtilsImpl implements MouseMovementUtils {
 
     private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
     private static final RetryService RETRY_SERVICE = new RetryServiceImpl();
+    private static final ElementGeometryService ELEMENT_GEOMETRY_SERVICE = new ElementGeometryServiceImpl();
 
     @Override
     public void mouseGlide(final int x1, final int y1, final int x2, final int y2, final int time, final int steps) {
@@ -85,23 +87,13 @@ public class MouseMovementUtilsImpl implements MouseMovementUtils {
                 The element reference of <reference> is stale; either the element is no longer attached to the DOM, it is not in the current frame context, or the document has been refreshed.
                 We retry here to allow the movement to complete if the source element disappears.
              */
-            final Long[] rect = RETRY_SERVICE.getTemplate()
-                    .execute(context -> {
-                        final WebElement webElement = element.getElement();
-                        final Long top = (Long) javascriptExecutor.executeScript(
-                                "return Math.floor(arguments[0].getBoundingClientRect().top);", webElement);
-                        final Long left = (Long) javascriptExecutor.executeScript(
-                                "return Math.floor(arguments[0].getBoundingClientRect().left);", webElement);
-                        final Long height = (Long) javascriptExecutor.executeScript(
-                                "return Math.floor(arguments[0].getBoundingClientRect().height);", webElement);
-                        final Long width = (Long) javascriptExecutor.executeScript(
-                                "return Math.floor(arguments[0].getBoundingClientRect().width);", webElement);
-                        return new Long[]{left, top, width, height};
-                    });
+            final ElementGeometry geometry = RETRY_SERVICE.getTemplate()
+                    .execute(context -> ELEMENT_GEOMETRY_SERVICE.getGeometry(
+                            javascriptExecutor, element.getElement()));
 
             mouseGlide(
-                    Math.min(d.width - 1, (int) ((rect[0] + rect[2] / 2) * zoom)),
-                    Math.min(d.height - 1, (int) ((rect[1] + verticalOffset + rect[3] / 2) * zoom)),
+                    Math.min(d.width - 1, (int) (geometry.getCenterX() * zoom)),
+                    Math.min(d.height - 1, (int) ((geometry.getCenterY() + verticalOffset) * zoom)),
                     Constants.MOUSE_MOVE_TIME,
                     Constants.MOUSE_MOVE_STEPS);
         }
@@ -0,0 +1,82 @@
+package com.octopus.utils.impl;
+
+import com.octopus.decoratorbase.AutomatedBrowserBase;
+import com.octopus.exceptions.SaveException;
+import com.octopus.utils.CucumberArgsUtils;
+import com.octopus.utils.MultiBrowserRunner;
+import com.octopus.utils.ReportMerger;
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * A multi-browser runner that runs each target in its own thread. The target is held in an inheritable
+ * thread local, so the threads Cucumber creates to run scenarios in parallel see the target of their run.
+ */
+public class MultiBrowserRunnerImpl implements MultiBrowserRunner {
+    private static final Logger LOGGER = Logger.getLogger(MultiBrowserRunnerImpl.class.toString());
+    private static final CucumberArgsUtils CUCUMBER_ARGS_UTILS = new CucumberArgsUtilsImpl();
+    private static final ReportMerger REPORT_MERGER = new ReportMergerImpl();
+    private static final InheritableThreadLocal<String> BROWSER_TARGET = new InheritableThreadLocal<>();
+
+    @Override
+    public int run(final List<String> targets, final List<String> args) {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        final List<CompletableFuture<Integer>> runs = targets.stream()
+                .map(target -> CompletableFuture.supplyAsync(
+                        AutomatedBrowserBase.inAliasScope(
+                                () -> runTarget(target, CUCUMBER_ARGS_UTILS.suffixPluginOutputs(args, target), classLoader)),
+                        DaemonExecutor.INSTANCE))
+                .collect(Collectors.toList());
+
+        final int retValue = runs.stream()
+                .mapToInt(DaemonExecutor::join)
+                .max()
+                .orElse(0);
+
+        mergeReports(targets, args);
+
+        return retValue;
+    }
+
+    @Override
+    public Optional<String> getBrowserTarget() {
+        return Optional.ofNullable(BROWSER_TARGET.get());
+    }
+
+    private int runTarget(final String target, final List<String> args, final ClassLoader classLoader) {
+        // The executor threads are reused, so the context is set for the run and removed afterwards
+        BROWSER_TARGET.set(target);
+        try {
+            LOGGER.info("Running the features against " + target);
+            return io.cucumber.core.cli.Main.run(args.toArray(new String[0]), classLoader);
+        } finally {
+            BROWSER_TARGET.remove();
+        }
+    }
+
+    private void mergeReports(final List<String> targets, final List<String> args) {
+        for (final Pair<String, String> output : CUCUMBER_ARGS_UTILS.getPluginOutputs(args)) {
+            final Map<String, File> reports = new LinkedHashMap<>();
+            for (final String target : targets) {
+                reports.put(target, new File(CUCUMBER_ARGS_UTILS.suffixPath(output.getRight(), target)));
+            }
+
+            try {
+                if (!REPORT_MERGER.merge(output.getLeft(), reports, new File(output.getRight()))) {
+                    LOGGER.info("The " + output.getLeft() + " reports can not be merged, so each browser has its own report: "
+                            + reports.values());
+                }
+            } catch (final SaveException ex) {
+                LOGGER.warning(ex.getMessage());
+            }
+        }
+    }
+}
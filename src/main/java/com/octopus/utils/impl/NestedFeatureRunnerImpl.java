@@ -0,0 +1,188 @@
+package com.octopus.utils.impl;
+
+import com.octopus.decoratorbase.AutomatedBrowserBase;
+import com.octopus.exceptions.ConfigurationException;
+import com.octopus.utils.GherkinFeature;
+import com.octopus.utils.GherkinFeature.Scenario;
+import com.octopus.utils.GherkinFeature.Step;
+import com.octopus.utils.GherkinParser;
+import com.octopus.utils.NestedFeatureRunner;
+import com.octopus.utils.StepDefinitionIndex;
+import com.octopus.utils.StepDefinitionIndex.Match;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * A nested feature runner that calls the step definitions and hooks of AutomatedBrowserBase directly, in the same
+ * order Cucumber would. Each scenario gets a new glue instance, just as it would in a new Cucumber runtime.
+ *
+ * <p>Step arguments are converted to String, int and Integer parameters, data tables to Map&lt;String, String&gt;
+ * parameters, and doc strings to String parameters, which covers every step definition in AutomatedBrowserBase.
+ * Plugins like the step pause handler are not notified of nested steps.</p>
+ */
+public class NestedFeatureRunnerImpl implements NestedFeatureRunner {
+    private static final Logger LOGGER = Logger.getLogger(NestedFeatureRunnerImpl.class.toString());
+    private static final GherkinParser GHERKIN_PARSER = new GherkinParserImpl();
+    private static final StepDefinitionIndex STEP_DEFINITION_INDEX = new StepDefinitionIndexImpl();
+    private static final Type STRING_MAP = getStringMapType();
+
+    @Override
+    public Optional<Integer> run(final File feature) {
+        final GherkinFeature parsed;
+        try {
+            parsed = GHERKIN_PARSER.parse(feature);
+        } catch (final ConfigurationException ex) {
+            LOGGER.info(ex.getMessage());
+            return Optional.empty();
+        }
+
+        for (final Scenario scenario : parsed.getScenarios()) {
+            for (final Step step : scenario.getSteps()) {
+                final String problem = checkStep(step);
+                if (problem != null) {
+                    LOGGER.info("The feature " + feature + " will be run by Cucumber, as the step \"" + step.getText()
+                            + "\" on line " + step.getLine() + " " + problem);
+                    return Optional.empty();
+                }
+            }
+        }
+
+        int failed = 0;
+        for (final Scenario scenario : parsed.getScenarios()) {
+            if (!runScenario(feature, scenario)) {
+                ++failed;
+            }
+        }
+        return Optional.of(failed);
+    }
+
+    /**
+     * @return A description of why the step can not be run in this JVM, or null if it can.
+     */
+    private String checkStep(final Step step) {
+        final List<Match> matches = STEP_DEFINITION_INDEX.findMatches(AutomatedBrowserBase.class, step.getText());
+        if (matches.isEmpty()) {
+            return "is undefined";
+        }
+        if (matches.size() > 1) {
+            return "is ambiguous";
+        }
+
+        final Method method = matches.get(0).getMethod();
+        final Type[] parameters = method.getGenericParameterTypes();
+        final int argumentCount = matches.get(0).getArguments().size();
+        final boolean hasDocString = step.getDocString() != null;
+        final boolean hasDataTable = step.getDataTable() != null;
+
+        if (parameters.length != argumentCount + (hasDocString || hasDataTable ? 1 : 0)) {
+            return "has the wrong number of arguments for " + method.getName();
+        }
+
+        for (int i = 0; i < argumentCount; ++i) {
+            if (!isSupported(parameters[i])) {
+                return "has an argument of an unsupported type for " + method.getName();
+            }
+        }
+
+        if (hasDataTable && !STRING_MAP.equals(parameters[parameters.length - 1])) {
+            return "has a data table, which is only supported for Map<String, String> parameters";
+        }
+
+        if (hasDocString && parameters[parameters.length - 1] != String.class) {
+            return "has a doc string, which is only supported for String parameters";
+        }
+
+        return null;
+    }
+
+    private boolean isSupported(final Type type) {
+        return type == String.class || type == int.class || type == Integer.class;
+    }
+
+    /**
+     * @return true if the scenario passed, and false otherwise.
+     */
+    private boolean runScenario(final File feature, final Scenario scenario) {
+        final AutomatedBrowserBase glue = new AutomatedBrowserBase();
+        glue.reuseSharedBrowser();
+
+        boolean failed = false;
+        for (final Step step : scenario.getSteps()) {
+            glue.openElementContext();
+            try {
+                invoke(glue, step);
+            } catch (final Throwable ex) {
+                LOGGER.severe("The step \"" + step.getText() + "\" on line " + step.getLine() + " of "
+                        + feature + " failed: " + ex);
+                failed = true;
+                break;
+            } finally {
+                glue.closeElementContext();
+            }
+        }
+
+        glue.afterScenario(scenario.getName(), failed);
+        return !failed;
+    }
+
+    private void invoke(final AutomatedBrowserBase glue, final Step step) throws Throwable {
+        final Match match = STEP_DEFINITION_INDEX.findMatches(AutomatedBrowserBase.class, step.getText()).get(0);
+        final Type[] parameters = match.getMethod().getGenericParameterTypes();
+        final Object[] arguments = new Object[parameters.length];
+
+        for (int i = 0; i < match.getArguments().size(); ++i) {
+            arguments[i] = convert(match.getArguments().get(i), parameters[i]);
+        }
+
+        if (step.getDataTable() != null) {
+            arguments[arguments.length - 1] = toMap(step.getDataTable());
+        } else if (step.getDocString() != null) {
+            arguments[arguments.length - 1] = step.getDocString();
+        }
+
+        try {
+            match.getMethod().invoke(glue, arguments);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private Object convert(final String argument, final Type type) {
+        if (type == String.class || argument == null) {
+            return argument;
+        }
+        return Integer.parseInt(argument);
+    }
+
+    /**
+     * Convert a two column data table to a map, as Cucumber does for Map&lt;String, String&gt; parameters.
+     */
+    private Map<String, String> toMap(final List<List<String>> dataTable) {
+        final Map<String, String> map = new LinkedHashMap<>();
+        for (final List<String> row : dataTable) {
+            if (row.size() != 2) {
+                throw new ConfigurationException("A data table converted to a map must have two columns");
+            }
+            map.put(row.get(0), row.get(1));
+        }
+        return map;
+    }
+
+    private static Type getStringMapType() {
+        try {
+            return ((ParameterizedType) NestedFeatureRunnerImpl.class
+                    .getDeclaredMethod("toMap", List.class)
+                    .getGenericReturnType());
+        } catch (final NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
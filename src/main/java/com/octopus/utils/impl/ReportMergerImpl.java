@@ -0,0 +1,431 @@
+package com.octopus.utils.impl;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.octopus.exceptions.SaveException;
+import com.octopus.utils.ReportMerger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Merges json, junit and plain text reports. The html and message reports are complete documents of a
+ * single run, so they are left as they are.
+ */
+public class ReportMergerImpl implements ReportMerger {
+    private static final List<String> TEXT_PLUGINS = List.of("pretty", "progress", "summary", "rerun", "usage");
+    private static final List<String> JUNIT_TOTALS = List.of("tests", "failures", "errors", "skipped");
+
+    @Override
+    public boolean merge(final String plugin, final Map<String, File> reports, final File destination) {
+        return merge(plugin, reports, destination, true);
+    }
+
+    @Override
+    public boolean combine(final String plugin, final Map<String, File> reports, final File destination) {
+        return merge(plugin, reports, destination, false);
+    }
+
+    @Override
+    public boolean mergeAttempts(final String plugin, final List<File> reports, final File destination) {
+        try {
+            if ("json".equals(plugin)) {
+                mergeJsonAttempts(reports, destination);
+            } else if ("junit".equals(plugin)) {
+                mergeJunitAttempts(reports, destination);
+            } else if ("rerun".equals(plugin)) {
+                // Only the scenarios that failed in the last attempt are still failing
+                final File last = reports.get(reports.size() - 1);
+                if (last.exists()) {
+                    FileUtils.copyFile(last, destination);
+                }
+            } else if (TEXT_PLUGINS.contains(plugin)) {
+                final Map<String, File> labelledReports = new LinkedHashMap<>();
+                for (int i = 0; i < reports.size(); ++i) {
+                    labelledReports.put("attempt " + (i + 1), reports.get(i));
+                }
+                mergeText(plugin, labelledReports, destination);
+            } else {
+                return false;
+            }
+        } catch (final Exception ex) {
+            throw new SaveException("Failed to merge the " + plugin + " reports into " + destination, ex);
+        }
+
+        reports.forEach(FileUtils::deleteQuietly);
+        return true;
+    }
+
+    /**
+     * @param labelled true if the reports are for the same scenarios, and the label identifying each run is added
+     *                 to the merged report, and false if the reports are for different scenarios.
+     */
+    private boolean merge(final String plugin,
+                          final Map<String, File> reports,
+                          final File destination,
+                          final boolean labelled) {
+        try {
+            if ("json".equals(plugin)) {
+                mergeJson(reports, destination, labelled);
+            } else if ("junit".equals(plugin)) {
+                mergeJunit(reports, destination, labelled);
+            } else if (TEXT_PLUGINS.contains(plugin)) {
+                mergeText(plugin, reports, destination);
+            } else {
+                return false;
+            }
+        } catch (final Exception ex) {
+            throw new SaveException("Failed to merge the " + plugin + " reports into " + destination, ex);
+        }
+
+        reports.values().forEach(FileUtils::deleteQuietly);
+        return true;
+    }
+
+    /**
+     * The json report is an array of features, so the features of each report are combined. When labelled, the
+     * label is added to the feature names and ids, so reporting tools show the same feature once for each run.
+     * Otherwise, the scenarios of a feature that was split between runs are gathered back into one feature.
+     */
+    private void mergeJson(final Map<String, File> reports, final File destination, final boolean labelled) throws IOException {
+        final JsonArray merged = new JsonArray();
+        final Map<String, JsonObject> featuresByUri = new HashMap<>();
+        for (final Map.Entry<String, File> report : reports.entrySet()) {
+            if (!report.getValue().exists()) {
+                continue;
+            }
+
+            final JsonElement features = JsonParser.parseString(
+                    FileUtils.readFileToString(report.getValue(), StandardCharsets.UTF_8));
+            if (!features.isJsonArray()) {
+                continue;
+            }
+
+            for (final JsonElement feature : features.getAsJsonArray()) {
+                if (!feature.isJsonObject()) {
+                    merged.add(feature);
+                } else if (labelled) {
+                    labelFeature(feature.getAsJsonObject(), report.getKey());
+                    merged.add(feature);
+                } else {
+                    combineFeature(feature.getAsJsonObject(), featuresByUri, merged);
+                }
+            }
+        }
+
+        FileUtils.write(destination, new GsonBuilder().setPrettyPrinting().create().toJson(merged), StandardCharsets.UTF_8);
+    }
+
+    private void combineFeature(final JsonObject feature, final Map<String, JsonObject> featuresByUri, final JsonArray merged) {
+        final String uri = feature.has("uri") ? feature.get("uri").getAsString() : null;
+        final JsonObject existing = uri == null ? null : featuresByUri.get(uri);
+        if (existing == null) {
+            if (uri != null) {
+                featuresByUri.put(uri, feature);
+            }
+            merged.add(feature);
+            return;
+        }
+
+        if (!feature.has("elements") || !feature.get("elements").isJsonArray()) {
+            return;
+        }
+
+        if (!existing.has("elements") || !existing.get("elements").isJsonArray()) {
+            existing.add("elements", new JsonArray());
+        }
+
+        final List<JsonElement> elements = new ArrayList<>();
+        existing.getAsJsonArray("elements").forEach(elements::add);
+        feature.getAsJsonArray("elements").forEach(elements::add);
+        elements.sort(Comparator.comparingInt(this::getLine));
+
+        final JsonArray sorted = new JsonArray();
+        elements.forEach(sorted::add);
+        existing.add("elements", sorted);
+    }
+
+    /**
+     * Each attempt replaces the scenarios it reran in the features of the earlier attempts. Features are matched
+     * by uri and name, as the features of a multi-browser run share a uri but are named after their browser.
+     */
+    private void mergeJsonAttempts(final List<File> reports, final File destination) throws IOException {
+        final JsonArray merged = new JsonArray();
+        final Map<String, JsonObject> features = new HashMap<>();
+        for (final File report : reports) {
+            if (!report.exists()) {
+                continue;
+            }
+
+            final JsonElement attempt = JsonParser.parseString(FileUtils.readFileToString(report, StandardCharsets.UTF_8));
+            if (!attempt.isJsonArray()) {
+                continue;
+            }
+
+            for (final JsonElement feature : attempt.getAsJsonArray()) {
+                if (!feature.isJsonObject()) {
+                    continue;
+                }
+
+                final String key = getString(feature.getAsJsonObject(), "uri") + "\n" + getString(feature.getAsJsonObject(), "name");
+                final JsonObject existing = features.get(key);
+                if (existing == null) {
+                    features.put(key, feature.getAsJsonObject());
+                    merged.add(feature);
+                } else {
+                    replaceScenarios(existing, feature.getAsJsonObject());
+                }
+            }
+        }
+
+        FileUtils.write(destination, new GsonBuilder().setPrettyPrinting().create().toJson(merged), StandardCharsets.UTF_8);
+    }
+
+    private void replaceScenarios(final JsonObject existing, final JsonObject attempt) {
+        final Map<Integer, List<JsonElement>> scenarios = new TreeMap<>(groupScenarios(existing));
+        scenarios.putAll(groupScenarios(attempt));
+
+        final JsonArray elements = new JsonArray();
+        scenarios.values().forEach(group -> group.forEach(elements::add));
+        existing.add("elements", elements);
+    }
+
+    /**
+     * Cucumber writes the background of a feature as a separate element before each scenario, so each scenario
+     * is grouped with the background before it.
+     *
+     * @return The groups of elements, keyed by the line of the scenario.
+     */
+    private Map<Integer, List<JsonElement>> groupScenarios(final JsonObject feature) {
+        final Map<Integer, List<JsonElement>> scenarios = new LinkedHashMap<>();
+        if (!feature.has("elements") || !feature.get("elements").isJsonArray()) {
+            return scenarios;
+        }
+
+        List<JsonElement> group = new ArrayList<>();
+        for (final JsonElement element : feature.getAsJsonArray("elements")) {
+            group.add(element);
+            if (!(element.isJsonObject() && "background".equals(getString(element.getAsJsonObject(), "type")))) {
+                scenarios.put(getLine(element), group);
+                group = new ArrayList<>();
+            }
+        }
+        return scenarios;
+    }
+
+    private String getString(final JsonObject object, final String name) {
+        return object.has(name) && object.get(name).isJsonPrimitive() ? object.get(name).getAsString() : "";
+    }
+
+    private int getLine(final JsonElement element) {
+        return element.isJsonObject() && element.getAsJsonObject().has("line")
+                ? element.getAsJsonObject().get("line").getAsInt()
+                : 0;
+    }
+
+    private void labelFeature(final JsonObject feature, final String label) {
+        if (feature.has("name")) {
+            feature.addProperty("name", feature.get("name").getAsString() + " [" + label + "]");
+        }
+        if (feature.has("id")) {
+            feature.addProperty("id", label + ";" + feature.get("id").getAsString());
+        }
+        if (feature.has("elements") && feature.get("elements").isJsonArray()) {
+            for (final JsonElement element : feature.getAsJsonArray("elements")) {
+                if (element.isJsonObject() && element.getAsJsonObject().has("id")) {
+                    element.getAsJsonObject().addProperty("id", label + ";" + element.getAsJsonObject().get("id").getAsString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Each junit report is a test suite. When labelled, the suites are combined under a testsuites element, named
+     * after the label of their run. Otherwise, the test cases are combined into a single suite.
+     */
+    private void mergeJunit(final Map<String, File> reports, final File destination, final boolean labelled) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        final Document merged = factory.newDocumentBuilder().newDocument();
+        final Element testSuites = merged.createElement(labelled ? "testsuites" : "testsuite");
+        merged.appendChild(testSuites);
+        if (!labelled) {
+            testSuites.setAttribute("name", "Cucumber");
+        }
+
+        final long[] totals = new long[JUNIT_TOTALS.size()];
+        for (final Map.Entry<String, File> report : reports.entrySet()) {
+            if (!report.getValue().exists()) {
+                continue;
+            }
+
+            final Element root = factory.newDocumentBuilder().parse(report.getValue()).getDocumentElement();
+            final NodeList suites = "testsuites".equals(root.getTagName())
+                    ? root.getElementsByTagName("testsuite")
+                    : null;
+
+            for (int i = 0; i < (suites == null ? 1 : suites.getLength()); ++i) {
+                final Element suite = (Element) merged.importNode(suites == null ? root : suites.item(i), true);
+                for (int j = 0; j < totals.length; ++j) {
+                    totals[j] += NumberUtils.toLong(suite.getAttribute(JUNIT_TOTALS.get(j)), 0);
+                }
+
+                final NodeList testCases = suite.getElementsByTagName("testcase");
+                if (labelled) {
+                    suite.setAttribute("name", report.getKey());
+                    for (int j = 0; j < testCases.getLength(); ++j) {
+                        final Element testCase = (Element) testCases.item(j);
+                        testCase.setAttribute("classname", "[" + report.getKey() + "] " + testCase.getAttribute("classname"));
+                    }
+                    testSuites.appendChild(suite);
+                } else {
+                    // The node list is live, so moving the test cases removes them from the list
+                    while (testCases.getLength() > 0) {
+                        testSuites.appendChild(testCases.item(0));
+                    }
+                }
+            }
+        }
+
+        for (int j = 0; j < totals.length; ++j) {
+            testSuites.setAttribute(JUNIT_TOTALS.get(j), String.valueOf(totals[j]));
+        }
+
+        final Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(merged), new StreamResult(destination));
+    }
+
+    /**
+     * Each attempt replaces the test cases it reran in the report of the first attempt, and the totals of each
+     * suite are counted again. A test case is matched by its class name and name, preferring a failed match,
+     * as the examples of a scenario outline can share a name.
+     */
+    private void mergeJunitAttempts(final List<File> reports, final File destination) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        Document merged = null;
+        for (final File report : reports) {
+            if (!report.exists()) {
+                continue;
+            }
+
+            final Document attempt = factory.newDocumentBuilder().parse(report);
+            if (merged == null) {
+                merged = attempt;
+                continue;
+            }
+
+            final NodeList testCases = attempt.getElementsByTagName("testcase");
+            for (int i = 0; i < testCases.getLength(); ++i) {
+                replaceTestCase(merged, (Element) merged.importNode(testCases.item(i), true));
+            }
+        }
+
+        if (merged == null) {
+            return;
+        }
+
+        countJunitTotals(merged);
+
+        final Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(merged), new StreamResult(destination));
+    }
+
+    private void replaceTestCase(final Document merged, final Element testCase) {
+        final NodeList existing = merged.getElementsByTagName("testcase");
+        Element match = null;
+        for (int i = 0; i < existing.getLength(); ++i) {
+            final Element candidate = (Element) existing.item(i);
+            if (candidate.getAttribute("classname").equals(testCase.getAttribute("classname"))
+                    && candidate.getAttribute("name").equals(testCase.getAttribute("name"))
+                    && (match == null || isFailed(candidate) && !isFailed(match))) {
+                match = candidate;
+            }
+        }
+
+        if (match != null) {
+            match.getParentNode().replaceChild(testCase, match);
+            return;
+        }
+
+        final NodeList suites = merged.getDocumentElement().getElementsByTagName("testsuite");
+        final Element suite = suites.getLength() == 0
+                ? merged.getDocumentElement()
+                : (Element) suites.item(suites.getLength() - 1);
+        suite.appendChild(testCase);
+    }
+
+    private boolean isFailed(final Element testCase) {
+        return testCase.getElementsByTagName("failure").getLength() != 0
+                || testCase.getElementsByTagName("error").getLength() != 0;
+    }
+
+    private void countJunitTotals(final Document merged) {
+        final List<Element> suites = new ArrayList<>();
+        suites.add(merged.getDocumentElement());
+        final NodeList nested = merged.getDocumentElement().getElementsByTagName("testsuite");
+        for (int i = 0; i < nested.getLength(); ++i) {
+            suites.add((Element) nested.item(i));
+        }
+
+        for (final Element suite : suites) {
+            final NodeList testCases = suite.getElementsByTagName("testcase");
+            final long[] totals = new long[JUNIT_TOTALS.size()];
+            for (int i = 0; i < testCases.getLength(); ++i) {
+                final Element testCase = (Element) testCases.item(i);
+                ++totals[0];
+                totals[1] += testCase.getElementsByTagName("failure").getLength() == 0 ? 0 : 1;
+                totals[2] += testCase.getElementsByTagName("error").getLength() == 0 ? 0 : 1;
+                totals[3] += testCase.getElementsByTagName("skipped").getLength() == 0 ? 0 : 1;
+            }
+
+            for (int j = 0; j < totals.length; ++j) {
+                suite.setAttribute(JUNIT_TOTALS.get(j), String.valueOf(totals[j]));
+            }
+        }
+    }
+
+    /**
+     * Text reports are appended one after the other. The rerun report lists the failed scenarios, so it is
+     * appended without headings to remain a valid rerun file.
+     */
+    private void mergeText(final String plugin, final Map<String, File> reports, final File destination) throws IOException {
+        final StringBuilder merged = new StringBuilder();
+        for (final Map.Entry<String, File> report : reports.entrySet()) {
+            if (!report.getValue().exists()) {
+                continue;
+            }
+
+            final String content = FileUtils.readFileToString(report.getValue(), StandardCharsets.UTF_8);
+            if ("rerun".equals(plugin)) {
+                merged.append(content.trim()).append(content.isBlank() ? "" : System.lineSeparator());
+            } else {
+                merged.append("=== ").append(report.getKey()).append(" ===").append(System.lineSeparator())
+                        .append(content).append(System.lineSeparator());
+            }
+        }
+
+        FileUtils.write(destination, merged.toString(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,23 +1,59 @@
 package com.octopus.utils.impl;
 
+import com.octopus.utils.ElementContext;
 import com.octopus.utils.RetryService;
+import java.util.Map;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
 import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.listener.RetryListenerSupport;
 import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 
 public class RetryServiceImpl implements RetryService {
+    private static final ElementContext ELEMENT_CONTEXT = new ElementContextImpl();
+
     @Override
     public RetryTemplate getTemplate(final int retries, final int backoff) {
         final SimpleRetryPolicy retryPolicy = new SimpleRetryPolicy();
         retryPolicy.setMaxAttempts(retries);
 
+        return buildTemplate(retryPolicy, backoff);
+    }
+
+    @Override
+    public RetryTemplate getStaleElementTemplate() {
+        final SimpleRetryPolicy retryPolicy = new SimpleRetryPolicy(
+                3,
+                Map.<Class<? extends Throwable>, Boolean>of(StaleElementReferenceException.class, true));
+
+        return buildTemplate(retryPolicy, 100);
+    }
+
+    private RetryTemplate buildTemplate(final SimpleRetryPolicy retryPolicy, final int backoff) {
         final FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
         backOffPolicy.setBackOffPeriod(backoff); // 1.5 seconds
 
         final RetryTemplate template = new RetryTemplate();
         template.setRetryPolicy(retryPolicy);
         template.setBackOffPolicy(backOffPolicy);
+        template.registerListener(new ElementContextListener());
 
         return template;
     }
+
+    /**
+     * Elements are shared across the decorators for the duration of a step. Any failed attempt may be
+     * down to the page having changed, so the shared elements are discarded and the next attempt resolves
+     * them again from the current page.
+     */
+    private static class ElementContextListener extends RetryListenerSupport {
+        @Override
+        public <T, E extends Throwable> void onError(final RetryContext context,
+                                                     final RetryCallback<T, E> callback,
+                                                     final Throwable throwable) {
+            ELEMENT_CONTEXT.invalidate();
+        }
+    }
 }
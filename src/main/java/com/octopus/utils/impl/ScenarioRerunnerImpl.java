@@ -0,0 +1,121 @@
+package com.octopus.utils.impl;
+
+import com.octopus.exceptions.SaveException;
+import com.octopus.utils.CucumberArgsUtils;
+import com.octopus.utils.ReportMerger;
+import com.octopus.utils.ScenarioRerunner;
+import io.vavr.control.Try;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * A rerunner that uses the Cucumber rerun plugin to record the failed scenarios of each attempt, and passes
+ * the recorded scenarios to the next attempt with the @ argument.
+ */
+public class ScenarioRerunnerImpl implements ScenarioRerunner {
+    private static final Logger LOGGER = Logger.getLogger(ScenarioRerunnerImpl.class.toString());
+    private static final CucumberArgsUtils CUCUMBER_ARGS_UTILS = new CucumberArgsUtilsImpl();
+    private static final ReportMerger REPORT_MERGER = new ReportMergerImpl();
+    private static final String ATTEMPT_LABEL = "attempt-";
+
+    @Override
+    public int run(final List<String> args,
+                   final int attempts,
+                   final long retryDelay,
+                   final ToIntFunction<List<String>> cucumber) {
+        if (attempts <= 1) {
+            return cucumber.applyAsInt(args);
+        }
+
+        final File rerunDirectory = Try.of(() -> Files.createTempDirectory("rerun").toFile())
+                .getOrElseThrow(ex -> new SaveException("Failed to create the directory for the rerun files", ex));
+        final List<String> options = CUCUMBER_ARGS_UTILS.getOptions(args);
+
+        int retValue = 0;
+        int attempt = 0;
+        List<String> attemptArgs = args;
+        try {
+            while (attempt < attempts) {
+                ++attempt;
+                final File rerunFile = new File(rerunDirectory, ATTEMPT_LABEL + attempt + ".txt");
+                final List<String> runArgs = new ArrayList<>(List.of("--plugin", "rerun:" + rerunFile.getAbsolutePath()));
+                runArgs.addAll(CUCUMBER_ARGS_UTILS.suffixPluginOutputs(attemptArgs, ATTEMPT_LABEL + attempt));
+
+                retValue = cucumber.applyAsInt(runArgs);
+                if (retValue == 0 || attempt == attempts) {
+                    break;
+                }
+
+                final String failed = Try.of(() -> FileUtils.readFileToString(rerunFile, StandardCharsets.UTF_8))
+                        .getOrElse("");
+                if (StringUtils.isBlank(failed)) {
+                    // The run failed without failing a scenario, like when a feature can not be parsed
+                    LOGGER.info("Attempt " + attempt + " failed without recording any failed scenarios, so it will be repeated");
+                } else {
+                    LOGGER.info("Attempt " + attempt + " failed, so the failed scenarios will be rerun: "
+                            + failed.trim().replaceAll("\\s+", " "));
+                    attemptArgs = new ArrayList<>(options);
+                    attemptArgs.add("@" + rerunFile.getAbsolutePath());
+                }
+
+                Try.run(() -> Thread.sleep(retryDelay));
+            }
+        } finally {
+            mergeReports(args, attempt);
+            FileUtils.deleteQuietly(rerunDirectory);
+        }
+
+        return retValue;
+    }
+
+    private void mergeReports(final List<String> args, final int attempts) {
+        if (attempts == 0) {
+            return;
+        }
+
+        for (final Pair<String, String> output : CUCUMBER_ARGS_UTILS.getPluginOutputs(args)) {
+            final File destination = new File(output.getRight());
+            final List<File> reports = IntStream.rangeClosed(1, attempts)
+                    .mapToObj(attempt -> new File(CUCUMBER_ARGS_UTILS.suffixPath(output.getRight(), ATTEMPT_LABEL + attempt)))
+                    .collect(Collectors.toList());
+
+            try {
+                if (attempts == 1 || !REPORT_MERGER.mergeAttempts(output.getLeft(), reports, destination)) {
+                    // Reports that can not be merged are replaced by the report of the last attempt
+                    moveReport(reports.get(attempts - 1), destination);
+                    if (attempts != 1) {
+                        LOGGER.info("The " + output.getLeft() + " reports can not be merged, so " + destination
+                                + " holds the last attempt, and the earlier attempts are in "
+                                + reports.subList(0, attempts - 1));
+                    }
+                }
+            } catch (final SaveException ex) {
+                LOGGER.warning(ex.getMessage());
+            }
+        }
+    }
+
+    private void moveReport(final File report, final File destination) {
+        if (!report.exists()) {
+            return;
+        }
+
+        try {
+            FileUtils.deleteQuietly(destination);
+            FileUtils.moveFile(report, destination);
+        } catch (final IOException ex) {
+            throw new SaveException("Failed to move the report " + report + " to " + destination, ex);
+        }
+    }
+}
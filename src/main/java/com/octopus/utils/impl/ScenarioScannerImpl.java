@@ -0,0 +1,99 @@
+package com.octopus.utils.impl;
+
+import com.octopus.exceptions.ConfigurationException;
+import com.octopus.utils.ScenarioScanner;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A scenario scanner that recognises the English Gherkin keywords.
+ */
+public class ScenarioScannerImpl implements ScenarioScanner {
+    private static final Pattern LOCATION_RE = Pattern.compile("^(.+?\\.feature)((?::\\d+)+)$");
+    private static final String[] SCENARIO_KEYWORDS = {"Scenario:", "Scenario Outline:", "Scenario Template:", "Example:"};
+    private static final String[] DOC_STRING_DELIMITERS = {"\"\"\"", "```"};
+
+    @Override
+    public List<String> getScenarioLocations(final List<String> featurePaths) {
+        final List<String> locations = new ArrayList<>();
+        for (final String featurePath : featurePaths) {
+            final Matcher matcher = LOCATION_RE.matcher(featurePath);
+            if (matcher.matches()) {
+                final String path = getFile(matcher.group(1)).getAbsolutePath();
+                for (final String line : matcher.group(2).substring(1).split(":")) {
+                    locations.add(path + ":" + line);
+                }
+                continue;
+            }
+
+            final File file = getFile(featurePath);
+            if (file.isDirectory()) {
+                for (final File feature : findFeatures(file)) {
+                    locations.addAll(scanFeature(feature));
+                }
+            } else {
+                locations.addAll(scanFeature(file));
+            }
+        }
+        return locations;
+    }
+
+    private File getFile(final String path) {
+        if (path.startsWith("classpath:") || path.startsWith("@")) {
+            throw new ConfigurationException("The feature path " + path + " can not be scanned for scenarios");
+        }
+
+        final File file = new File(StringUtils.removeStart(path, "file:"));
+        if (!file.exists()) {
+            throw new ConfigurationException("The feature path " + path + " does not exist");
+        }
+        return file;
+    }
+
+    private List<File> findFeatures(final File directory) {
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            return paths.filter(p -> p.toString().endsWith(".feature"))
+                    .sorted()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+        } catch (final IOException ex) {
+            throw new ConfigurationException("Failed to find the feature files in " + directory, ex);
+        }
+    }
+
+    private List<String> scanFeature(final File feature) {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(feature.toPath(), StandardCharsets.UTF_8);
+        } catch (final IOException ex) {
+            throw new ConfigurationException("Failed to read the feature file " + feature, ex);
+        }
+
+        final List<String> locations = new ArrayList<>();
+        String docStringDelimiter = null;
+        for (int i = 0; i < lines.size(); ++i) {
+            final String line = lines.get(i).trim();
+            if (docStringDelimiter != null) {
+                // Keywords inside a doc string are just text
+                if (line.startsWith(docStringDelimiter)) {
+                    docStringDelimiter = null;
+                }
+            } else if (StringUtils.startsWithAny(line, DOC_STRING_DELIMITERS)) {
+                docStringDelimiter = line.substring(0, 3);
+            } else if (StringUtils.startsWithAny(line, SCENARIO_KEYWORDS)) {
+                locations.add(feature.getAbsolutePath() + ":" + (i + 1));
+            }
+        }
+        return locations;
+    }
+}
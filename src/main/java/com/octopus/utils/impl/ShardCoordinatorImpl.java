@@ -0,0 +1,282 @@
+package com.octopus.utils.impl;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.octopus.Constants;
+import com.octopus.exceptions.ConfigurationException;
+import com.octopus.exceptions.SaveException;
+import com.octopus.utils.CucumberArgsUtils;
+import com.octopus.utils.JavaLauncherUtils;
+import com.octopus.utils.ReportMerger;
+import com.octopus.utils.ScenarioScanner;
+import com.octopus.utils.ShardCoordinator;
+import com.octopus.utils.SystemPropertyUtils;
+import io.vavr.control.Try;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * A shard coordinator that balances the scenarios between workers by their duration in previous runs. Each
+ * worker is assigned the longest remaining scenario in turn, until every scenario has been assigned. The
+ * durations are read from, and saved back to, the shard timings file.
+ */
+public class ShardCoordinatorImpl implements ShardCoordinator {
+    private static final Logger LOGGER = Logger.getLogger(ShardCoordinatorImpl.class.toString());
+    private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
+    private static final CucumberArgsUtils CUCUMBER_ARGS_UTILS = new CucumberArgsUtilsImpl();
+    private static final ScenarioScanner SCENARIO_SCANNER = new ScenarioScannerImpl();
+    private static final JavaLauncherUtils JAVA_LAUNCHER_UTILS = new JavaLauncherUtilsImpl();
+    private static final ReportMerger REPORT_MERGER = new ReportMergerImpl();
+    private static final String WORKER_LABEL = "worker-";
+
+    @Override
+    public int run(final List<String> args, final int workers) {
+        final List<String> scenarios;
+        try {
+            scenarios = SCENARIO_SCANNER.getScenarioLocations(CUCUMBER_ARGS_UTILS.getFeaturePaths(args));
+        } catch (final ConfigurationException ex) {
+            LOGGER.warning("Running the features in this JVM, as the scenarios could not be split between workers: "
+                    + ex.getMessage());
+            return JAVA_LAUNCHER_UTILS.launchAppInternally(args.toArray(new String[0]));
+        }
+
+        if (scenarios.isEmpty()) {
+            return JAVA_LAUNCHER_UTILS.launchAppInternally(args.toArray(new String[0]));
+        }
+
+        final File timingsFile = getTimingsFile();
+        final Map<String, Long> timings = readTimings(timingsFile);
+        final List<List<String>> shards = assignShards(scenarios, timings, Math.min(workers, scenarios.size()));
+        final List<String> options = CUCUMBER_ARGS_UTILS.getOptions(args);
+        final List<String> displays = getDisplays();
+
+        final File workDirectory = Try.of(() -> Files.createTempDirectory("shards").toFile())
+                .getOrElseThrow(ex -> new SaveException("Failed to create the shard directory", ex));
+        try {
+            final List<Process> processes = new ArrayList<>();
+            for (int i = 0; i < shards.size(); ++i) {
+                final String label = WORKER_LABEL + (i + 1);
+                final List<String> workerArgs = new ArrayList<>(CUCUMBER_ARGS_UTILS.suffixPluginOutputs(options, label));
+                // Every worker writes a json report, which records the scenario durations
+                workerArgs.add("--plugin");
+                workerArgs.add("json:" + new File(workDirectory, label + ".json").getAbsolutePath());
+                workerArgs.addAll(shards.get(i));
+
+                final Map<String, String> environment = displays.isEmpty()
+                        ? Map.of()
+                        : Map.of("DISPLAY", displays.get(i % displays.size()));
+
+                LOGGER.info("Starting " + label + " with " + shards.get(i).size() + " scenarios");
+                processes.add(JAVA_LAUNCHER_UTILS.startAppExternally(
+                        // The workers must not become coordinators or daemons themselves
+                        List.of("-D" + Constants.SHARD_WORKERS + "=0", "-D" + Constants.DAEMON_PORT + "=0"),
+                        workerArgs,
+                        environment,
+                        new File(workDirectory, label + ".log")));
+            }
+
+            int retValue = 0;
+            for (int i = 0; i < processes.size(); ++i) {
+                final Process process = processes.get(i);
+                final int exitCode = Try.of(process::waitFor).getOrElse(1);
+                retValue = Math.max(retValue, exitCode);
+                printLog(WORKER_LABEL + (i + 1), new File(workDirectory, WORKER_LABEL + (i + 1) + ".log"));
+            }
+
+            saveTimings(timingsFile, timings, scenarios, workDirectory, shards.size());
+            combineReports(options, shards.size());
+
+            return retValue;
+        } finally {
+            FileUtils.deleteQuietly(workDirectory);
+        }
+    }
+
+    /**
+     * Assign the longest scenarios first, each to the worker with the least work. Scenarios with no recorded
+     * duration are assumed to take the average duration.
+     */
+    private List<List<String>> assignShards(final List<String> scenarios, final Map<String, Long> timings, final int workers) {
+        final long defaultDuration = (long) scenarios.stream()
+                .filter(timings::containsKey)
+                .mapToLong(timings::get)
+                .average()
+                .orElse(1);
+
+        final List<String> longestFirst = scenarios.stream()
+                .sorted(Comparator.comparingLong((String s) -> timings.getOrDefault(s, defaultDuration)).reversed())
+                .collect(Collectors.toList());
+
+        final List<List<String>> shards = new ArrayList<>();
+        final long[] load = new long[workers];
+        for (int i = 0; i < workers; ++i) {
+            shards.add(new ArrayList<>());
+        }
+
+        for (final String scenario : longestFirst) {
+            int lightest = 0;
+            for (int i = 1; i < workers; ++i) {
+                if (load[i] < load[lightest]) {
+                    lightest = i;
+                }
+            }
+            shards.get(lightest).add(scenario);
+            load[lightest] += timings.getOrDefault(scenario, defaultDuration);
+        }
+
+        // Run each worker's scenarios in the order they appear in the features
+        shards.forEach(shard -> shard.sort(Comparator.comparingInt(scenarios::indexOf)));
+        return shards;
+    }
+
+    private List<String> getDisplays() {
+        return Arrays.stream(SYSTEM_PROPERTY_UTILS.getPropertyNullAsEmpty(Constants.SHARD_DISPLAYS).split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .collect(Collectors.toList());
+    }
+
+    private File getTimingsFile() {
+        return new File(StringUtils.defaultIfBlank(
+                SYSTEM_PROPERTY_UTILS.getProperty(Constants.SHARD_TIMINGS_FILE),
+                Constants.DEFAULT_SHARD_TIMINGS_FILE));
+    }
+
+    private Map<String, Long> readTimings(final File timingsFile) {
+        if (!timingsFile.exists()) {
+            return new HashMap<>();
+        }
+
+        return Try.of(() -> FileUtils.readFileToString(timingsFile, StandardCharsets.UTF_8))
+                .<Map<String, Long>>map(json -> new GsonBuilder().create().fromJson(
+                        json,
+                        new TypeToken<HashMap<String, Long>>() {
+                        }.getType()))
+                .onFailure(ex -> LOGGER.warning("Failed to read the shard timings from " + timingsFile + ": " + ex))
+                .filter(map -> map != null)
+                .getOrElseGet(ex -> new HashMap<>());
+    }
+
+    /**
+     * Record the duration of each scenario from the json reports of the workers. Each element of the json report
+     * is a scenario, or a row of a scenario outline's examples, so elements are added to the duration of the
+     * nearest scenario at or above them in the feature.
+     */
+    private void saveTimings(final File timingsFile,
+                             final Map<String, Long> timings,
+                             final List<String> scenarios,
+                             final File workDirectory,
+                             final int workers) {
+        final Map<String, List<Integer>> scenarioLines = new HashMap<>();
+        for (final String scenario : scenarios) {
+            final Pair<String, Integer> location = splitLocation(scenario);
+            scenarioLines.computeIfAbsent(location.getLeft(), k -> new ArrayList<>()).add(location.getRight());
+        }
+
+        final Map<String, Long> durations = new HashMap<>();
+        for (int i = 1; i <= workers; ++i) {
+            final File report = new File(workDirectory, WORKER_LABEL + i + ".json");
+            final JsonElement features = Try.of(() -> JsonParser.parseString(FileUtils.readFileToString(report, StandardCharsets.UTF_8)))
+                    .getOrNull();
+            if (features == null || !features.isJsonArray()) {
+                continue;
+            }
+
+            for (final JsonElement feature : features.getAsJsonArray()) {
+                final JsonObject featureObject = feature.getAsJsonObject();
+                final String path = getFeaturePath(featureObject);
+                final List<Integer> lines = scenarioLines.get(path);
+                if (lines == null || !featureObject.has("elements")) {
+                    continue;
+                }
+
+                for (final JsonElement element : featureObject.getAsJsonArray("elements")) {
+                    final JsonObject elementObject = element.getAsJsonObject();
+                    final int line = elementObject.has("line") ? elementObject.get("line").getAsInt() : 0;
+                    lines.stream()
+                            .filter(l -> l <= line)
+                            .max(Integer::compare)
+                            .ifPresent(l -> durations.merge(path + ":" + l, getDuration(elementObject), Long::sum));
+                }
+            }
+        }
+
+        if (durations.isEmpty()) {
+            return;
+        }
+
+        final Map<String, Long> updated = new LinkedHashMap<>(timings);
+        updated.putAll(durations);
+        try {
+            FileUtils.write(timingsFile, new GsonBuilder().setPrettyPrinting().create().toJson(updated), StandardCharsets.UTF_8);
+        } catch (final IOException ex) {
+            LOGGER.warning("Failed to save the shard timings to " + timingsFile + ": " + ex);
+        }
+    }
+
+    private String getFeaturePath(final JsonObject feature) {
+        final String uri = feature.has("uri") ? feature.get("uri").getAsString() : "";
+        return new File(StringUtils.removeStart(uri, "file:")).getAbsolutePath();
+    }
+
+    private long getDuration(final JsonObject element) {
+        long duration = 0;
+        for (final String steps : List.of("before", "steps", "after")) {
+            if (!element.has(steps)) {
+                continue;
+            }
+            for (final JsonElement step : element.getAsJsonArray(steps)) {
+                final JsonObject result = step.getAsJsonObject().getAsJsonObject("result");
+                if (result != null && result.has("duration")) {
+                    duration += result.get("duration").getAsLong();
+                }
+            }
+        }
+        return duration;
+    }
+
+    private Pair<String, Integer> splitLocation(final String location) {
+        final int separator = location.lastIndexOf(':');
+        return Pair.of(location.substring(0, separator), Integer.parseInt(location.substring(separator + 1)));
+    }
+
+    private void combineReports(final List<String> options, final int workers) {
+        for (final Pair<String, String> output : CUCUMBER_ARGS_UTILS.getPluginOutputs(options)) {
+            final Map<String, File> reports = new LinkedHashMap<>();
+            for (int i = 1; i <= workers; ++i) {
+                reports.put(WORKER_LABEL + i, new File(CUCUMBER_ARGS_UTILS.suffixPath(output.getRight(), WORKER_LABEL + i)));
+            }
+
+            try {
+                if (!REPORT_MERGER.combine(output.getLeft(), reports, new File(output.getRight()))) {
+                    LOGGER.info("The " + output.getLeft() + " reports can not be combined, so each worker has its own report: "
+                            + reports.values());
+                }
+            } catch (final SaveException ex) {
+                LOGGER.warning(ex.getMessage());
+            }
+        }
+    }
+
+    private void printLog(final String label, final File log) {
+        Try.of(() -> FileUtils.readFileToString(log, StandardCharsets.UTF_8))
+                .peek(content -> System.out.println("=== " + label + " ===" + System.lineSeparator() + content));
+    }
+}
@@ -2,18 +2,37 @@ package com.octopus.utils.impl;
 
 import com.octopus.Constants;
 import com.octopus.exceptions.WebElementException;
+import com.octopus.utils.ElementContext;
+import com.octopus.utils.ElementGeometryService;
+import com.octopus.utils.ElementState;
+import com.octopus.utils.ElementWatcher;
 import com.octopus.utils.ExpectedConditionCallback;
+import com.octopus.utils.LocatorClassifier;
+import com.octopus.utils.LocatorMatch;
+import com.octopus.utils.LocatorResolver;
+import com.octopus.utils.LocatorStrategy;
+import com.octopus.utils.LocatorStrategyCache;
 import com.octopus.utils.SimpleBy;
 import com.octopus.utils.SystemPropertyUtils;
 import io.vavr.control.Try;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
@@ -23,9 +42,55 @@ public class SimpleByImpl implements SimpleBy {
 
   static final Logger LOGGER = Logger.getLogger(SimpleByImpl.class.toString());
   private static final SystemPropertyUtils SYSTEM_PROPERTY_UTILS = new SystemPropertyUtilsImpl();
+  private static final LocatorResolver LOCATOR_RESOLVER = new LocatorResolverImpl();
+  private static final LocatorClassifier LOCATOR_CLASSIFIER = new LocatorClassifierImpl();
+  private static final ElementWatcher ELEMENT_WATCHER = new ElementWatcherImpl();
+  private static final ElementContext ELEMENT_CONTEXT = new ElementContextImpl();
+  private static final ElementGeometryService ELEMENT_GEOMETRY_SERVICE = new ElementGeometryServiceImpl();
+  /**
+   * Driver classes that have rejected async scripts, and so fall back to polling.
+   */
+  private static final Set<Class<?>> ASYNC_UNSUPPORTED = ConcurrentHashMap.newKeySet();
+  /**
+   * The strategy cache is shared by every SimpleByImpl instance.
+   */
+  private static final LocatorStrategyCache LOCATOR_STRATEGY_CACHE = new LocatorStrategyCacheImpl(
+      SYSTEM_PROPERTY_UTILS.getPropertyAsInt(
+          Constants.LOCATOR_STRATEGY_CACHE_SIZE,
+          Constants.DEFAULT_LOCATOR_STRATEGY_CACHE_SIZE));
+  /**
+   * The strategy that most recently resolved an element on this thread.
+   */
+  private static final ThreadLocal<LocatorStrategy> LAST_STRATEGY = new ThreadLocal<>();
   private static final int MILLISECONDS_PER_SECOND = 1000;
   private static final int SUB_SECOND_TIME_SLICE = 100;
   private static final int SECOND_TIME_SLICE = 1000;
+  /**
+   * The longest time a single async wait script runs for. This is kept below the default script
+   * timeout of 30 seconds, so the driver timeouts never need to be changed. Longer waits are split
+   * into multiple scripts.
+   */
+  private static final int MAX_WATCH_TIME = 20000;
+
+  @Override
+  public LocatorStrategyCache getLocatorStrategyCache() {
+    return LOCATOR_STRATEGY_CACHE;
+  }
+
+  @Override
+  public Optional<LocatorStrategy> getLastStrategy() {
+    return Optional.ofNullable(LAST_STRATEGY.get());
+  }
+
+  @Override
+  public void clearLastStrategy() {
+    LAST_STRATEGY.remove();
+  }
+
+  private void recordStrategy(final String locator, final String page, final LocatorStrategy strategy) {
+    LAST_STRATEGY.set(strategy);
+    LOCATOR_STRATEGY_CACHE.recordStrategy(locator, page, strategy);
+  }
 
   @Override
   public WebElement getElement(
@@ -52,44 +117,385 @@ public class SimpleByImpl implements SimpleBy {
       final ExpectedConditionCallback expectedConditionCallback,
       final int timeSlice) {
 
-    final List<Try<By>> byInstances = List.of(
-        Try.of(() -> By.id(locator)),
-        Try.of(() -> By.xpath(locator)),
-        Try.of(() -> By.cssSelector(locator)),
-        Try.of(() -> By.className(locator)),
-        Try.of(() -> By.linkText(locator)),
-        Try.of(() -> By.name(locator))
-    );
+    if (!(expectedConditionCallback instanceof ElementState elementState)) {
+      return resolveElement(webDriver, locator, waitTime, expectedConditionCallback, timeSlice);
+    }
+
+    // Reuse the element if another decorator already resolved it during this step
+    final Optional<WebElement> shared = ELEMENT_CONTEXT.getElement(webDriver, locator, elementState);
+    if (shared.isPresent()) {
+      return shared.get();
+    }
+
+    final WebElement element =
+        resolveElement(webDriver, locator, waitTime, expectedConditionCallback, timeSlice);
+    ELEMENT_CONTEXT.putElement(webDriver, locator, elementState, element);
+    return element;
+  }
+
+  private WebElement resolveElement(
+      final WebDriver webDriver,
+      final String locator,
+      final int waitTime,
+      final ExpectedConditionCallback expectedConditionCallback,
+      final int timeSlice) {
+
+    final List<LocatorStrategy> strategies = getStrategies(locator);
+    final long deadline = System.currentTimeMillis() + (long) waitTime * MILLISECONDS_PER_SECOND;
+
+    Optional<WebElement> element = findElement(
+        webDriver,
+        locator,
+        waitTime,
+        expectedConditionCallback,
+        timeSlice,
+        deadline,
+        strategies);
+
+    // The classifier only rules strategies out by syntax, so test every strategy once before failing
+    if (element.isEmpty()) {
+      final List<LocatorStrategy> allStrategies = getAllStrategies(locator);
+      if (!allStrategies.equals(strategies)) {
+        element = findElement(
+            webDriver,
+            locator,
+            0,
+            expectedConditionCallback,
+            timeSlice,
+            System.currentTimeMillis(),
+            allStrategies);
+      }
+    }
+
+    return element.orElseThrow(() -> new WebElementException(
+        "All attempts to find element located with " + locator + " failed after " + waitTime
+            + " seconds"));
+  }
+
+  /**
+   * @return The matched element, or empty if the deadline passed.
+   */
+  private Optional<WebElement> findElement(
+      final WebDriver webDriver,
+      final String locator,
+      final int waitTime,
+      final ExpectedConditionCallback expectedConditionCallback,
+      final int timeSlice,
+      final long deadline,
+      final List<LocatorStrategy> strategies) {
+
+    if (webDriver instanceof JavascriptExecutor javascriptExecutor) {
+      if (expectedConditionCallback instanceof ElementState elementState
+          && waitTime > 0
+          && !ASYNC_UNSUPPORTED.contains(webDriver.getClass())) {
+        final Try<Optional<WebElement>> element = getElementByWatcher(
+            webDriver,
+            javascriptExecutor,
+            locator,
+            deadline,
+            elementState,
+            strategies);
+
+        if (element.isSuccess()) {
+          return element.get();
+        }
+
+        // The async script was interrupted, for example by the page navigating, so poll for the remaining time.
+        LOGGER.fine("Element watcher failed, falling back to polling: "
+            + element.getCause().getMessage());
+      }
+
+      final Try<Optional<WebElement>> element = getElementByScript(
+          webDriver,
+          javascriptExecutor,
+          locator,
+          deadline,
+          expectedConditionCallback,
+          strategies);
+
+      if (element.isSuccess()) {
+        return element.get();
+      }
+
+      // If the script could not be run, fall back to testing each strategy with its own wait.
+      LOGGER.fine("Locator script failed, falling back to individual lookups: "
+          + element.getCause().getMessage());
+    }
+
+    return getElementByPolling(
+        webDriver,
+        locator,
+        deadline,
+        expectedConditionCallback,
+        timeSlice,
+        strategies);
+  }
+
+  @Override
+  public boolean waitForElementToBeAbsent(
+      final WebDriver webDriver,
+      final String locator,
+      final int waitTime) {
+
+    final List<LocatorStrategy> strategies = getStrategies(locator);
+    final long deadline = System.currentTimeMillis() + (long) waitTime * MILLISECONDS_PER_SECOND;
+
+    if (webDriver instanceof JavascriptExecutor javascriptExecutor
+        && waitTime > 0
+        && !ASYNC_UNSUPPORTED.contains(webDriver.getClass())) {
+      final Try<Boolean> absent = watchForAbsence(webDriver, javascriptExecutor, locator, deadline, strategies);
+      if (absent.isSuccess()) {
+        return absent.get();
+      }
+
+      LOGGER.fine("Element watcher failed, falling back to polling: " + absent.getCause().getMessage());
+    }
+
+    // Poll for the element to be removed, sleeping between each check
+    do {
+      final boolean present = webDriver instanceof JavascriptExecutor javascriptExecutor
+          ? Try.of(() -> LOCATOR_RESOLVER.resolve(javascriptExecutor, locator, strategies, Map.of()).isPresent())
+          .getOrElseGet(ignored -> isPresent(webDriver, locator, strategies))
+          : isPresent(webDriver, locator, strategies);
+
+      if (!present) {
+        return true;
+      }
+
+      final long remaining = deadline - System.currentTimeMillis();
+      if (remaining > 0) {
+        Try.run(() -> Thread.sleep(Math.min(SUB_SECOND_TIME_SLICE, remaining)));
+      }
+    } while (System.currentTimeMillis() < deadline);
+
+    return false;
+  }
+
+  /**
+   * @return The strategies that the locator syntax allows, and that accept the locator.
+   */
+  private List<LocatorStrategy> getStrategies(final String locator) {
+    return LOCATOR_CLASSIFIER.getCandidateStrategies(locator)
+        .stream()
+        .filter(s -> s.getBy(locator).isSuccess())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @return Every strategy that accepts the locator, regardless of its syntax.
+   */
+  private List<LocatorStrategy> getAllStrategies(final String locator) {
+    return Arrays.stream(LocatorStrategy.values())
+        .filter(s -> s.getBy(locator).isSuccess())
+        .collect(Collectors.toList());
+  }
+
+  private boolean isPresent(
+      final WebDriver webDriver,
+      final String locator,
+      final List<LocatorStrategy> strategies) {
+    return strategies.stream()
+        .anyMatch(s -> Try.of(() -> !webDriver.findElements(s.getBy(locator).get()).isEmpty())
+            .getOrElse(false));
+  }
+
+  /**
+   * Waits for the element with a MutationObserver in the page, so the driver is only contacted when
+   * the page changes in a way that satisfies the element state, or when a watch script times out.
+   *
+   * @return The matched element, empty if the deadline passed, or a failure if the async script
+   * could not be executed.
+   */
+  private Try<Optional<WebElement>> getElementByWatcher(
+      final WebDriver webDriver,
+      final JavascriptExecutor javascriptExecutor,
+      final String locator,
+      final long deadline,
+      final ElementState elementState,
+      final List<LocatorStrategy> strategies) {
+
+    do {
+      final long timeout = Math.min(MAX_WATCH_TIME, deadline - System.currentTimeMillis());
+      final Try<Optional<LocatorMatch>> match = Try.of(() -> ELEMENT_WATCHER.waitForElement(
+          javascriptExecutor,
+          locator,
+          strategies,
+          LOCATOR_STRATEGY_CACHE.getStrategies(locator),
+          elementState,
+          timeout));
+
+      if (match.isFailure()) {
+        recordAsyncFailure(webDriver, match.getCause());
+        return Try.failure(match.getCause());
+      }
+
+      if (match.get().isPresent()) {
+        // Confirm the element with the same condition the driver would use
+        final By by = match.get().get().getStrategy().getBy(locator).get();
+        final WebElement element = Try.of(() ->
+                elementState.getExpectedCondition(by).apply(webDriver))
+            .getOrNull();
+
+        if (element != null) {
+          recordStrategy(
+              locator,
+              match.get().get().getPage(),
+              match.get().get().getStrategy());
+          if (match.get().get().getMatchCount() > 1) {
+            saveMultipleElements(webDriver, by, locator);
+          }
+          return Try.success(Optional.of(element));
+        }
+
+        // The page and the driver disagree about the element, so don't immediately ask again
+        final long remaining = deadline - System.currentTimeMillis();
+        if (remaining > 0) {
+          Try.run(() -> Thread.sleep(Math.min(SUB_SECOND_TIME_SLICE, remaining)));
+        }
+      }
+    } while (System.currentTimeMillis() < deadline);
+
+    return Try.success(Optional.empty());
+  }
+
+  private Try<Boolean> watchForAbsence(
+      final WebDriver webDriver,
+      final JavascriptExecutor javascriptExecutor,
+      final String locator,
+      final long deadline,
+      final List<LocatorStrategy> strategies) {
+
+    do {
+      final long timeout = Math.min(MAX_WATCH_TIME, deadline - System.currentTimeMillis());
+      final Try<Boolean> absent = Try.of(() -> ELEMENT_WATCHER.waitForNoElement(
+          javascriptExecutor,
+          locator,
+          strategies,
+          timeout));
+
+      if (absent.isFailure()) {
+        recordAsyncFailure(webDriver, absent.getCause());
+        return absent;
+      }
+
+      if (absent.get()) {
+        return absent;
+      }
+    } while (System.currentTimeMillis() < deadline);
+
+    return Try.success(false);
+  }
 
-    long time = -1;
+  /**
+   * Drivers that do not implement async scripts are remembered so they are not asked again.
+   */
+  private void recordAsyncFailure(final WebDriver webDriver, final Throwable cause) {
+    if (cause instanceof UnsupportedCommandException) {
+      ASYNC_UNSUPPORTED.add(webDriver.getClass());
+    }
+  }
+
+  /**
+   * Resolves the locator by testing every strategy in a single script execution per poll. Each strategy
+   * that matched is then checked against the expected condition in order, so an element that exists but
+   * is not yet in the expected state does not hide a later strategy whose element is.
+   *
+   * @return The matched element, empty if the deadline passed, or a failure if the locator script
+   * could not be executed.
+   */
+  private Try<Optional<WebElement>> getElementByScript(
+      final WebDriver webDriver,
+      final JavascriptExecutor javascriptExecutor,
+      final String locator,
+      final long deadline,
+      final ExpectedConditionCallback expectedConditionCallback,
+      final List<LocatorStrategy> strategies) {
 
-    while (time < waitTime * MILLISECONDS_PER_SECOND) {
-      for (final Try<By> by : byInstances) {
+    do {
+      final Try<List<LocatorMatch>> matches =
+          Try.of(() -> LOCATOR_RESOLVER.resolveAll(
+              javascriptExecutor,
+              locator,
+              strategies,
+              LOCATOR_STRATEGY_CACHE.getStrategies(locator)));
+
+      if (matches.isFailure()) {
+        return Try.failure(matches.getCause());
+      }
+
+      for (final LocatorMatch match : matches.get()) {
+        final By by = match.getStrategy().getBy(locator).get();
+        final WebElement element = Try.of(() ->
+                expectedConditionCallback.getExpectedCondition(by).apply(webDriver))
+            .getOrNull();
+
+        if (element != null) {
+          recordStrategy(locator, match.getPage(), match.getStrategy());
+          if (match.getMatchCount() > 1) {
+            saveMultipleElements(webDriver, by, locator);
+          }
+          return Try.success(Optional.of(element));
+        }
+      }
+
+      final long remaining = deadline - System.currentTimeMillis();
+      if (remaining > 0) {
+        Try.run(() -> Thread.sleep(Math.min(SUB_SECOND_TIME_SLICE, remaining)));
+      }
+    } while (System.currentTimeMillis() < deadline);
+
+    return Try.success(Optional.empty());
+  }
+
+  private Optional<WebElement> getElementByPolling(
+      final WebDriver webDriver,
+      final String locator,
+      final long deadline,
+      final ExpectedConditionCallback expectedConditionCallback,
+      final int timeSlice,
+      final List<LocatorStrategy> strategies) {
+
+    // Try the strategy that last resolved this locator on the current page first
+    final String page = getPage(webDriver);
+    final Optional<LocatorStrategy> preferred = LOCATOR_STRATEGY_CACHE.getStrategy(locator, page);
+    final List<LocatorStrategy> orderedStrategies = strategies.stream()
+        .sorted(Comparator.comparing(s -> preferred.map(p -> p != s).orElse(true)))
+        .collect(Collectors.toList());
+
+    do {
+      for (final LocatorStrategy strategy : orderedStrategies) {
         try {
+          final By by = strategy.getBy(locator).get();
           final WebDriverWait wait = new WebDriverWait(
               webDriver,
               Duration.ofMillis(timeSlice),
               Duration.ZERO);
           final ExpectedCondition<WebElement> condition =
-              expectedConditionCallback.getExpectedCondition(by.get());
+              expectedConditionCallback.getExpectedCondition(by);
           final WebElement element = wait.until(condition);
 
-          saveMultipleElements(webDriver, by.get(), locator);
+          recordStrategy(locator, page, strategy);
+          saveMultipleElements(webDriver, by, locator);
 
-          return element;
+          return Optional.of(element);
         } catch (final Exception ignored) {
           /*
             Do nothing
           */
         }
-
-        time += timeSlice;
       }
-    }
+    } while (System.currentTimeMillis() < deadline);
 
-    throw new WebElementException(
-        "All attempts to find element located with " + locator + " failed after " + waitTime
-            + " seconds");
+    return Optional.empty();
+  }
+
+  /**
+   * @return The origin and path of the current page, matching the key used by the locator script.
+   */
+  private String getPage(final WebDriver webDriver) {
+    return Try.of(() -> URI.create(webDriver.getCurrentUrl()))
+        .map(uri -> uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath())
+        .getOrElse("");
   }
 
   private void saveMultipleElements(final WebDriver webDriver, final By by, final String locator) {
@@ -101,10 +507,20 @@ public class SimpleByImpl implements SimpleBy {
     LOGGER.info("\nMatched " + matched.size() + " elements with the locator on the page "
         + webDriver.getCurrentUrl());
     LOGGER.info(locator);
-    matched.stream().forEach(e -> {
-      LOGGER.info(e.getTagName() +
-          " X: " + e.getLocation().x +
-          " Y: " + e.getLocation().y);
+
+    // Measure every match with one script rather than three driver calls per element
+    final List<String> descriptions = Try.of(() -> ELEMENT_GEOMETRY_SERVICE.getGeometries(
+            (JavascriptExecutor) webDriver, matched))
+        .map(geometries -> geometries.stream()
+            .map(g -> g.getTagName() + " X: " + g.getPageX() + " Y: " + g.getPageY())
+            .collect(Collectors.toList()))
+        .getOrElseGet(ex -> matched.stream()
+            .map(e -> e.getTagName() + " X: " + e.getLocation().x + " Y: " + e.getLocation().y)
+            .collect(Collectors.toList()));
+
+    for (int i = 0; i < matched.size(); ++i) {
+      final WebElement e = matched.get(i);
+      LOGGER.info(descriptions.get(i));
 
       if (SYSTEM_PROPERTY_UTILS.getPropertyAsBoolean(Constants.SAVE_SCREENSHOTS_OF_MATCHED_ELEMENTS,
           false)) {
@@ -114,7 +530,7 @@ public class SimpleByImpl implements SimpleBy {
           LOGGER.info(temp.toFile().getCanonicalPath());
         });
       }
-    });
+    }
     LOGGER.info("Consider fixing the locator to be specific to a single element.");
 
   }
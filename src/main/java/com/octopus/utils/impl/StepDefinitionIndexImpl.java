@@ -0,0 +1,63 @@
+package com.octopus.utils.impl;
+
+import com.octopus.utils.StepDefinitionIndex;
+import io.cucumber.java.en.And;
+import io.cucumber.java.en.But;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * A step definition index shared by every instance. The step definitions of a glue class are found once, and
+ * the matches for each step text are cached, as nested features tend to repeat the same steps.
+ */
+public class StepDefinitionIndexImpl implements StepDefinitionIndex {
+    private static final Map<Class<?>, List<Pair<Pattern, Method>>> DEFINITIONS = new ConcurrentHashMap<>();
+    private static final Map<Pair<Class<?>, String>, List<Match>> MATCHES = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Match> findMatches(final Class<?> glue, final String stepText) {
+        return MATCHES.computeIfAbsent(Pair.of(glue, stepText), key -> {
+            final List<Match> matches = new ArrayList<>();
+            for (final Pair<Pattern, Method> definition : DEFINITIONS.computeIfAbsent(glue, this::findDefinitions)) {
+                final Matcher matcher = definition.getLeft().matcher(stepText);
+                if (matcher.matches()) {
+                    final List<String> arguments = new ArrayList<>();
+                    for (int i = 1; i <= matcher.groupCount(); ++i) {
+                        arguments.add(matcher.group(i));
+                    }
+                    matches.add(new Match(definition.getRight(), Collections.unmodifiableList(arguments)));
+                }
+            }
+            return List.copyOf(matches);
+        });
+    }
+
+    private List<Pair<Pattern, Method>> findDefinitions(final Class<?> glue) {
+        return Arrays.stream(glue.getMethods())
+                .flatMap(method -> getExpressions(method).map(expression -> Pair.of(Pattern.compile(expression), method)))
+                .collect(Collectors.toList());
+    }
+
+    private Stream<String> getExpressions(final Method method) {
+        return Stream.of(
+                        Arrays.stream(method.getAnnotationsByType(Given.class)).map(Given::value),
+                        Arrays.stream(method.getAnnotationsByType(When.class)).map(When::value),
+                        Arrays.stream(method.getAnnotationsByType(Then.class)).map(Then::value),
+                        Arrays.stream(method.getAnnotationsByType(And.class)).map(And::value),
+                        Arrays.stream(method.getAnnotationsByType(But.class)).map(But::value))
+                .flatMap(expressions -> expressions);
+    }
+}
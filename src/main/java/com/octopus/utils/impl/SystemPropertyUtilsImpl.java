@@ -3,8 +3,11 @@ package com.octopus.utils.impl;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.octopus.utils.SystemPropertyUtils;
+import java.lang.management.ManagementFactory;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -148,4 +151,19 @@ public class SystemPropertyUtilsImpl implements SystemPropertyUtils {
                         .collect(Collectors.toList())
         );
     }
+
+    @Override
+    public Map<String, String> getCommandLineProperties() {
+        final Map<String, String> properties = new HashMap<>();
+        for (final String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (arg.startsWith("-D")) {
+                final String name = StringUtils.substringBefore(arg.substring(2), "=");
+                // The property may have been changed or removed since the JVM started
+                if (StringUtils.isNotEmpty(name) && System.getProperty(name) != null) {
+                    properties.put(name, System.getProperty(name));
+                }
+            }
+        }
+        return properties;
+    }
 }
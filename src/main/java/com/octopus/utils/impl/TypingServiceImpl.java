@@ -0,0 +1,91 @@
+package com.octopus.utils.impl;
+
+import com.octopus.utils.TypingService;
+import io.vavr.control.Try;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.interactions.Interactive;
+
+/**
+ * Types delayed keystrokes in chunks. Each chunk is a single Actions sequence with a pause between
+ * each key, so the browser keeps the requested cadence while the driver only makes one round trip
+ * per chunk instead of one per character.
+ */
+public class TypingServiceImpl implements TypingService {
+    /**
+     * The longest time a single chunk of keystrokes takes to type, in milliseconds. This keeps each
+     * Actions request well under the driver command timeout.
+     */
+    private static final int MAX_CHUNK_DURATION = 5000;
+    /**
+     * The most characters typed in a single chunk.
+     */
+    private static final int MAX_CHUNK_LENGTH = 256;
+
+    @Override
+    public void type(final WebDriver webDriver, final WebElement element, final String text, final int keystrokeDelay) {
+        if (keystrokeDelay <= 0 || text.isEmpty()) {
+            element.sendKeys(text);
+            return;
+        }
+
+        final List<String> keys = text.codePoints()
+                .mapToObj(Character::toString)
+                .collect(Collectors.toList());
+
+        if (!(webDriver instanceof Interactive)) {
+            element.sendKeys(keys.get(0));
+            typeKeys(element, keys.subList(1, keys.size()), keystrokeDelay);
+            return;
+        }
+
+        final int chunkLength = Math.max(1, Math.min(MAX_CHUNK_LENGTH, MAX_CHUNK_DURATION / keystrokeDelay));
+        for (int start = 0; start < keys.size(); start += chunkLength) {
+            final int end = Math.min(keys.size(), start + chunkLength);
+            int next = start;
+
+            // Sending a key to the element gives it focus, so the rest of the chunk can be sent to the keyboard.
+            // The page can move the focus while typing, like to an autocomplete list, so it is checked again
+            // before each chunk.
+            if (start == 0 || !hasFocus(webDriver, element)) {
+                if (start != 0) {
+                    Try.run(() -> Thread.sleep(keystrokeDelay));
+                }
+                element.sendKeys(keys.get(next++));
+            }
+
+            if (next == end) {
+                continue;
+            }
+
+            final Actions actions = new Actions(webDriver);
+            keys.subList(next, end).forEach(key -> actions.pause(Duration.ofMillis(keystrokeDelay)).sendKeys(key));
+
+            try {
+                actions.perform();
+            } catch (final UnsupportedCommandException ex) {
+                // Some remote drivers don't support actions, which fails before any key is typed, so type the
+                // rest of the text one key at a time. Other failures may happen part way through the chunk,
+                // and are not retried as that would type some keys twice.
+                typeKeys(element, keys.subList(next, keys.size()), keystrokeDelay);
+                return;
+            }
+        }
+    }
+
+    private boolean hasFocus(final WebDriver webDriver, final WebElement element) {
+        return Try.of(() -> element.equals(webDriver.switchTo().activeElement())).getOrElse(false);
+    }
+
+    private void typeKeys(final WebElement element, final List<String> keys, final int keystrokeDelay) {
+        keys.forEach(key -> {
+            Try.run(() -> Thread.sleep(keystrokeDelay));
+            element.sendKeys(key);
+        });
+    }
+}
@@ -5,25 +5,56 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
 
 public class ZipUtilsImpl implements ZipUtils {
+    /**
+     * Browser binaries are tens of megabytes, so copy them in large blocks.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     public void unzipFile(final String fileZip, final String outputDirectory) throws IOException {
+        try (final InputStream input = new FileInputStream(fileZip)) {
+            unzipStream(input, outputDirectory, Set.of());
+        }
+    }
 
-        final byte[] buffer = new byte[1024];
+    public void unzipStream(final InputStream input, final String outputDirectory, final Set<String> executables) throws IOException {
+        final Path outputPath = new File(outputDirectory).toPath().toAbsolutePath().normalize();
+        final byte[] buffer = new byte[BUFFER_SIZE];
 
-        try (final ZipInputStream zis = new ZipInputStream(new FileInputStream(fileZip))) {
+        // Closing the zip stream must not close the caller's stream
+        try (final ZipInputStream zis = new ZipInputStream(CloseShieldInputStream.wrap(input))) {
             ZipEntry zipEntry = zis.getNextEntry();
             while (zipEntry != null) {
-                final String fileName = zipEntry.getName();
-                final File newFile = new File(outputDirectory + "/" + fileName);
-                try (final FileOutputStream fos = new FileOutputStream(newFile)) {
-                    int len;
-                    while ((len = zis.read(buffer)) > 0) {
-                        fos.write(buffer, 0, len);
+                final Path newFile = outputPath.resolve(zipEntry.getName()).normalize();
+                // Reject entries like ../../etc/passwd that would be written outside the output directory
+                if (!newFile.startsWith(outputPath)) {
+                    throw new ZipException("The zip entry " + zipEntry.getName() + " is outside the output directory");
+                }
+
+                if (zipEntry.isDirectory()) {
+                    Files.createDirectories(newFile);
+                } else {
+                    Files.createDirectories(newFile.getParent());
+                    try (final OutputStream fos = new FileOutputStream(newFile.toFile())) {
+                        int len;
+                        while ((len = zis.read(buffer)) > 0) {
+                            fos.write(buffer, 0, len);
+                        }
+                    }
+                    if (executables.contains(outputPath.relativize(newFile).toString())) {
+                        newFile.toFile().setExecutable(true);
                     }
                 }
                 zipEntry = zis.getNextEntry();
@@ -34,7 +65,7 @@ public class ZipUtilsImpl implements ZipUtils {
 
     public void zipDirectory(final String fileZip, final String inputDirectory) throws IOException {
         final File inputDirectoryFile = new File(inputDirectory);
-        final byte[] buffer = new byte[1024];
+        final byte[] buffer = new byte[BUFFER_SIZE];
 
         try (final FileOutputStream fos = new FileOutputStream(fileZip)) {
             try (final ZipOutputStream zos = new ZipOutputStream(fos)) {
@@ -0,0 +1,94 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.octopus.BrowserChain.Term;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+public class BrowserChainTest {
+
+  @Test
+  public void parsesDriverAndDecorators() {
+    final BrowserChain chain = BrowserChain.parse("chrome(headless)+implicitWait(10)+proxy+highlight");
+    assertEquals(Term.CHROME, chain.getDriver());
+    assertTrue(chain.isHeadless());
+    assertEquals(10, chain.getImplicitWait());
+    assertTrue(chain.hasDecorator(Term.PROXY));
+    assertTrue(chain.hasDecorator(Term.HIGHLIGHT));
+    assertFalse(chain.hasDecorator(Term.MOUSE_MOVEMENT));
+  }
+
+  @Test
+  public void canonicalSpecIsOrderedOutermostFirst() {
+    assertEquals("firefox+implicitWait(5)+proxy+mouseMovement+highlight",
+        BrowserChain.parse(" Firefox + highlight+mousemovement +proxy+implicitWait( 5 )").getCanonicalSpec());
+  }
+
+  @Test
+  public void timingDefaultsToTheOutsideOfTheChain() {
+    assertEquals("chrome+timing(outer)+proxy", BrowserChain.parse("chrome+proxy+timing").getCanonicalSpec());
+    assertEquals("chrome+timing(both)", BrowserChain.parse("chrome+timing(Both)").getCanonicalSpec());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsUnknownTimingLayer() {
+    BrowserChain.parse("chrome+timing(middle)");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsMissingDriver() {
+    BrowserChain.parse("implicitWait(10)+proxy");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsDriverAfterDecorators() {
+    BrowserChain.parse("proxy+chrome");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsTwoDrivers() {
+    BrowserChain.parse("chrome+firefox");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsDuplicateDecorators() {
+    BrowserChain.parse("chrome+highlight+highlight");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsUnknownTerms() {
+    BrowserChain.parse("chrome+sparkles");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsInvalidImplicitWait() {
+    BrowserChain.parse("chrome+implicitWait(soon)");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsProxyWithRemoteBrowsers() {
+    BrowserChain.parse("browserStackEdge+proxy");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsEmptyTerms() {
+    BrowserChain.parse("chrome++proxy");
+  }
+
+  @Test
+  public void enableTimingDoesNotTimeChainsWithTimingTwice() {
+    System.setProperty(Constants.ENABLE_TIMING, "true");
+    try {
+      final AutomatedBrowserFactory factory = new AutomatedBrowserFactory();
+      assertEquals(1, StringUtils.countMatches(
+          factory.getAutomatedBrowser("chrome(headless)+timing").toString(), "TimingDecorator("));
+      assertEquals(1, StringUtils.countMatches(
+          factory.getAutomatedBrowser("chrome(headless)+highlight").toString(), "TimingDecorator("));
+    } finally {
+      System.clearProperty(Constants.ENABLE_TIMING);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+
+import com.octopus.utils.CucumberArgsUtils;
+import com.octopus.utils.impl.CucumberArgsUtilsImpl;
+import java.io.File;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+public class CucumberArgsUtilsTest {
+
+  private static final CucumberArgsUtils CUCUMBER_ARGS_UTILS = new CucumberArgsUtilsImpl();
+
+  private static final List<String> ARGS = List.of(
+      "--glue", "com.octopus.decoratorbase",
+      "--plugin", "json:target/report.json",
+      "-p", "pretty",
+      "--plugin", "com.octopus.stephandlers.impl.SlackStepHandler",
+      "--plugin", "junit:C:\\reports\\junit",
+      "features/test.feature");
+
+  @Test
+  public void findsPluginsThatWriteToFiles() {
+    assertEquals(
+        List.of(Pair.of("json", "target/report.json"), Pair.of("junit", "C:\\reports\\junit")),
+        CUCUMBER_ARGS_UTILS.getPluginOutputs(ARGS));
+  }
+
+  @Test
+  public void suffixesPluginOutputs() {
+    final List<String> suffixed = CUCUMBER_ARGS_UTILS.suffixPluginOutputs(ARGS, "chrome(headless)+proxy");
+    assertEquals("json:target/report-chrome_headless__proxy.json", suffixed.get(3));
+    assertEquals("pretty", suffixed.get(5));
+    assertEquals("junit:C:\\reports\\junit-chrome_headless__proxy", suffixed.get(9));
+    assertEquals("features/test.feature", suffixed.get(10));
+  }
+
+  @Test
+  public void suffixesBeforeTheExtension() {
+    assertEquals("out/rerun-FirefoxHeadless.txt", CUCUMBER_ARGS_UTILS.suffixPath("out/rerun.txt", "FirefoxHeadless"));
+    assertEquals("out/rerun-FirefoxHeadless", CUCUMBER_ARGS_UTILS.suffixPath("out/rerun", "FirefoxHeadless"));
+  }
+
+  @Test
+  public void resolvesRelativePaths() {
+    final File directory = new File("/work");
+    final List<String> resolved = CUCUMBER_ARGS_UTILS.resolvePaths(
+        List.of(
+            "--glue", "com.octopus.decoratorbase",
+            "--plugin", "json:target/report.json",
+            "--plugin", "pretty",
+            "--tags", "@smoke",
+            "@target/rerun.txt",
+            "features/test.feature:10:20",
+            "classpath:features",
+            "/features/absolute.feature"),
+        directory);
+    assertEquals("com.octopus.decoratorbase", resolved.get(1));
+    assertEquals("json:" + new File(directory, "target/report.json").getAbsolutePath(), resolved.get(3));
+    assertEquals("pretty", resolved.get(5));
+    assertEquals("@smoke", resolved.get(7));
+    assertEquals("@" + new File(directory, "target/rerun.txt").getAbsolutePath(), resolved.get(8));
+    assertEquals(new File(directory, "features/test.feature").getAbsolutePath() + ":10:20", resolved.get(9));
+    assertEquals("classpath:features", resolved.get(10));
+    assertEquals("/features/absolute.feature", resolved.get(11));
+  }
+}
@@ -0,0 +1,198 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.octopus.eventhandlers.EventHandler;
+import com.octopus.eventhandlers.impl.SeqLogging;
+import com.octopus.eventhandlers.impl.SlackWebHook;
+import com.octopus.exceptions.ConfigurationException;
+import com.octopus.utils.EventHandlerDispatcher;
+import com.octopus.utils.impl.EventHandlerDispatcherImpl;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class EventHandlerDispatcherTest {
+
+  private static final EventHandlerDispatcher EVENT_HANDLER_DISPATCHER = new EventHandlerDispatcherImpl();
+
+  @Test
+  public void runsHandlersAfterTheResultsTheyConsume() throws InterruptedException {
+    final TestHandler consumer = new TestHandler(Set.of(), Set.of("url"), true);
+    final TestHandler producer = new TestHandler(Set.of("url"), Set.of(), true);
+    final CountDownLatch completed = new CountDownLatch(1);
+
+    final Map<String, String> results = EVENT_HANDLER_DISPATCHER.dispatch(
+        List.of(consumer, producer),
+        Map.of(),
+        (handler, previousResults) -> {
+          final Map<String, String> handlerResults = new HashMap<>(previousResults);
+          if (handler == producer) {
+            sleep(100);
+            handlerResults.put("url", "https://example.org");
+          } else {
+            handlerResults.put("sent", previousResults.getOrDefault("url", "missing"));
+          }
+          return handlerResults;
+        },
+        5000,
+        completed::countDown);
+
+    assertEquals("https://example.org", results.get("sent"));
+    assertTrue(completed.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void returnsOnceCriticalHandlersTimeOut() throws InterruptedException {
+    final TestHandler slow = new TestHandler(Set.of("slow"), Set.of(), true);
+    final TestHandler fast = new TestHandler(Set.of("fast"), Set.of(), true);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch completed = new CountDownLatch(1);
+
+    final long start = System.currentTimeMillis();
+    final Map<String, String> results = EVENT_HANDLER_DISPATCHER.dispatch(
+        List.of(slow, fast),
+        Map.of(),
+        (handler, previousResults) -> {
+          if (handler == slow) {
+            await(release);
+            return Map.of("slow", "done");
+          }
+          return Map.of("fast", "done");
+        },
+        200,
+        completed::countDown);
+
+    assertTrue(System.currentTimeMillis() - start < 2000);
+    assertEquals(Map.of("fast", "done"), results);
+    // Resources used by the handlers are not released until the slow handler finishes
+    assertFalse(completed.await(100, TimeUnit.MILLISECONDS));
+    release.countDown();
+    assertTrue(completed.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void doesNotWaitForHandlersThatAreNotCritical() throws InterruptedException {
+    final TestHandler background = new TestHandler(Set.of(), Set.of(), false);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch completed = new CountDownLatch(1);
+
+    final long start = System.currentTimeMillis();
+    final Map<String, String> results = EVENT_HANDLER_DISPATCHER.dispatch(
+        List.of(background),
+        Map.of(),
+        (handler, previousResults) -> {
+          await(release);
+          return Map.of("background", "done");
+        },
+        5000,
+        completed::countDown);
+
+    assertTrue(System.currentTimeMillis() - start < 2000);
+    assertTrue(results.isEmpty());
+    assertFalse(completed.await(100, TimeUnit.MILLISECONDS));
+    release.countDown();
+    assertTrue(completed.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void rejectsHandlersThatDependOnEachOther() {
+    final TestHandler first = new TestHandler(Set.of("first"), Set.of("second"), true);
+    final TestHandler second = new TestHandler(Set.of("second"), Set.of("first"), true);
+    final TestHandler independent = new TestHandler(Set.of(), Set.of(), true);
+    final AtomicInteger calls = new AtomicInteger();
+    final AtomicInteger completed = new AtomicInteger();
+
+    try {
+      EVENT_HANDLER_DISPATCHER.dispatch(
+          List.of(independent, first, second),
+          Map.of(),
+          (handler, previousResults) -> {
+            calls.incrementAndGet();
+            return previousResults;
+          },
+          1000,
+          completed::incrementAndGet);
+      fail("Expected the circular dependency to be rejected");
+    } catch (final ConfigurationException ex) {
+      // expected
+    }
+
+    sleep(100);
+    assertEquals(0, calls.get());
+    assertEquals(1, completed.get());
+  }
+
+  @Test
+  public void notificationsAreCriticalUnlessSentInTheBackground() {
+    assertTrue(new SlackWebHook().isCritical(Map.of()));
+    assertFalse(new SlackWebHook().isCritical(Map.of("Slack-Background", "true")));
+    assertTrue(new SeqLogging().isCritical(Map.of()));
+    assertFalse(new SeqLogging().isCritical(Map.of(SeqLogging.SEQ_BACKGROUND, "true")));
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * A handler that only declares its dependencies. The work is done by the function passed to the dispatcher.
+   */
+  private static class TestHandler implements EventHandler {
+    private final Set<String> produces;
+    private final Set<String> consumes;
+    private final boolean critical;
+
+    TestHandler(final Set<String> produces, final Set<String> consumes, final boolean critical) {
+      this.produces = produces;
+      this.consumes = consumes;
+      this.critical = critical;
+    }
+
+    @Override
+    public Map<String, String> finished(final String id,
+                                        final boolean status,
+                                        final String featureFile,
+                                        final String txtOutput,
+                                        final String htmlOutputDir,
+                                        final Map<String, String> headers,
+                                        final Map<String, String> previousResults) {
+      return previousResults;
+    }
+
+    @Override
+    public Set<String> produces() {
+      return produces;
+    }
+
+    @Override
+    public Set<String> consumes() {
+      return consumes;
+    }
+
+    @Override
+    public boolean isCritical(final Map<String, String> headers) {
+      return critical;
+    }
+  }
+}
@@ -22,6 +22,8 @@ public class FactoryTest {
     return Arrays.asList(
         "FirefoxHeadless",
         "ChromeHeadless",
+        "FirefoxHeadlessFast",
+        "ChromeHeadlessFast",
         "FirefoxNoImplicitWaitNoProxy",
         "ChromeNoImplicitWaitNoProxy",
         "FirefoxNoImplicitWait",
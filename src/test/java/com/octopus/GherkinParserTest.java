@@ -0,0 +1,76 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.octopus.utils.GherkinFeature;
+import com.octopus.utils.GherkinParser;
+import com.octopus.utils.impl.GherkinParserImpl;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+public class GherkinParserTest {
+
+  private static final GherkinParser GHERKIN_PARSER = new GherkinParserImpl();
+
+  @Test
+  public void expandsOutlinesWithBackgrounds() throws IOException {
+    final File feature = File.createTempFile("parser", ".feature");
+    try {
+      FileUtils.write(feature, String.join("\n",
+          "Feature: Parsing",
+          "  Background:",
+          "    Given I open the browser \"Chrome\"",
+          "  Scenario Outline: Visit <name>",
+          "    When I open the URL \"<url>\"",
+          "    And I set the following aliases:",
+          "      | Name | <name> |",
+          "      | Empty |      |",
+          "    Examples:",
+          "      | name | url              |",
+          "      | one  | https://one.com/ |",
+          "      | two  | https://two.com/ |"), StandardCharsets.UTF_8);
+
+      final GherkinFeature parsed = GHERKIN_PARSER.parse(feature);
+      assertEquals("Parsing", parsed.getName());
+      assertEquals(2, parsed.getScenarios().size());
+
+      final GherkinFeature.Scenario second = parsed.getScenarios().get(1);
+      assertEquals("Visit two", second.getName());
+      assertEquals(3, second.getSteps().size());
+      assertEquals("I open the browser \"Chrome\"", second.getSteps().get(0).getText());
+      assertEquals("I open the URL \"https://two.com/\"", second.getSteps().get(1).getText());
+      assertEquals(
+          List.of(List.of("Name", "two"), Arrays.asList("Empty", null)),
+          second.getSteps().get(2).getDataTable());
+    } finally {
+      FileUtils.deleteQuietly(feature);
+    }
+  }
+
+  @Test
+  public void removesDocStringIndentation() throws IOException {
+    final File feature = File.createTempFile("parser", ".feature");
+    try {
+      FileUtils.write(feature, String.join("\n",
+          "Feature: Parsing",
+          "  Scenario: Script",
+          "    Given I run the following JavaScript:",
+          "      \"\"\"",
+          "      first",
+          "        second",
+          "      \"\"\""), StandardCharsets.UTF_8);
+
+      final GherkinFeature.Step step = GHERKIN_PARSER.parse(feature).getScenarios().get(0).getSteps().get(0);
+      assertEquals("first\n  second", step.getDocString());
+      assertNull(step.getDataTable());
+    } finally {
+      FileUtils.deleteQuietly(feature);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+
+import com.octopus.utils.LatencyHistogram;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void emptyHistogramReportsZero() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(99));
+  }
+
+  @Test
+  public void smallValuesAreExact() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 20; ++i) {
+      histogram.record(i);
+    }
+    assertEquals(10, histogram.getPercentile(50));
+    assertEquals(19, histogram.getPercentile(95));
+    assertEquals(20, histogram.getMax());
+  }
+
+  @Test
+  public void largeValuesAreWithinBucketPrecision() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100000; ++i) {
+      histogram.record(i);
+    }
+    assertEquals(100000, histogram.getCount());
+    assertEquals(50000, histogram.getPercentile(50), 50000 * 0.07);
+    assertEquals(95000, histogram.getPercentile(95), 95000 * 0.07);
+    assertEquals(99000, histogram.getPercentile(99), 99000 * 0.07);
+    assertEquals(100000, histogram.getPercentile(100));
+  }
+
+  @Test
+  public void negativeValuesAreRecordedAsZero() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    assertEquals(0, histogram.getPercentile(50));
+  }
+}
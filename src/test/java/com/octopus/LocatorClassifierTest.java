@@ -0,0 +1,75 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.octopus.utils.LocatorClassifier;
+import com.octopus.utils.LocatorStrategy;
+import com.octopus.utils.impl.LocatorClassifierImpl;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class LocatorClassifierTest {
+
+  private static final LocatorClassifier LOCATOR_CLASSIFIER = new LocatorClassifierImpl();
+
+  @Test
+  public void pathsSkipCssSelectors() {
+    final List<LocatorStrategy> strategies =
+        LOCATOR_CLASSIFIER.getCandidateStrategies("//a[@id='search']");
+
+    assertFalse(strategies.contains(LocatorStrategy.CSS_SELECTOR));
+    assertTrue(strategies.contains(LocatorStrategy.XPATH));
+    assertFalse(LOCATOR_CLASSIFIER.getCandidateStrategies("(//button)[2]")
+        .contains(LocatorStrategy.CSS_SELECTOR));
+    assertFalse(LOCATOR_CLASSIFIER.getCandidateStrategies("./span")
+        .contains(LocatorStrategy.CSS_SELECTOR));
+  }
+
+  @Test
+  public void pathLikeTextKeepsLinkTextAndName() {
+    for (final String locator : List.of("(edit)", "/docs")) {
+      final List<LocatorStrategy> strategies = LOCATOR_CLASSIFIER.getCandidateStrategies(locator);
+
+      assertTrue(strategies.contains(LocatorStrategy.LINK_TEXT));
+      assertTrue(strategies.contains(LocatorStrategy.NAME));
+      assertTrue(strategies.contains(LocatorStrategy.ID));
+    }
+  }
+
+  @Test
+  public void idsWithPunctuationKeepIdAndClassName() {
+    final List<LocatorStrategy> strategies =
+        LOCATOR_CLASSIFIER.getCandidateStrategies("field[0]=a,'b'");
+
+    assertTrue(strategies.contains(LocatorStrategy.ID));
+    assertTrue(strategies.contains(LocatorStrategy.CLASS_NAME));
+  }
+
+  @Test
+  public void selectorsSkipIdAndClassName() {
+    final List<LocatorStrategy> strategies =
+        LOCATOR_CLASSIFIER.getCandidateStrategies("div.results > a[href]");
+
+    assertFalse(strategies.contains(LocatorStrategy.ID));
+    assertFalse(strategies.contains(LocatorStrategy.CLASS_NAME));
+    assertTrue(strategies.contains(LocatorStrategy.CSS_SELECTOR));
+  }
+
+  @Test
+  public void cssIdSelectorSkipsXPath() {
+    final List<LocatorStrategy> strategies =
+        LOCATOR_CLASSIFIER.getCandidateStrategies("#search");
+
+    assertFalse(strategies.contains(LocatorStrategy.XPATH));
+    assertTrue(strategies.contains(LocatorStrategy.CSS_SELECTOR));
+  }
+
+  @Test
+  public void plainWordsKeepEveryStrategy() {
+    assertEquals(Arrays.asList(LocatorStrategy.values()),
+        LOCATOR_CLASSIFIER.getCandidateStrategies("search"));
+  }
+}
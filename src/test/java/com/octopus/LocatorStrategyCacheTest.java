@@ -0,0 +1,53 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.octopus.utils.LocatorStrategy;
+import com.octopus.utils.LocatorStrategyCache;
+import com.octopus.utils.impl.LocatorStrategyCacheImpl;
+import java.util.Optional;
+import org.junit.Test;
+
+public class LocatorStrategyCacheTest {
+
+  private static final String PAGE = "https://example.org/index.html";
+
+  @Test
+  public void countsHitsAndMisses() {
+    final LocatorStrategyCache cache = new LocatorStrategyCacheImpl(10);
+
+    assertFalse(cache.recordStrategy("search", PAGE, LocatorStrategy.ID));
+    assertTrue(cache.recordStrategy("search", PAGE, LocatorStrategy.ID));
+    assertFalse(cache.recordStrategy("search", PAGE, LocatorStrategy.NAME));
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(Optional.of(LocatorStrategy.NAME), cache.getStrategy("search", PAGE));
+  }
+
+  @Test
+  public void keysByPage() {
+    final LocatorStrategyCache cache = new LocatorStrategyCacheImpl(10);
+
+    cache.recordStrategy("search", PAGE, LocatorStrategy.ID);
+
+    assertEquals(Optional.empty(), cache.getStrategy("search", "https://example.org/other.html"));
+    assertEquals(1, cache.getStrategies("search").size());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedLocator() {
+    final LocatorStrategyCache cache = new LocatorStrategyCacheImpl(2);
+
+    cache.recordStrategy("first", PAGE, LocatorStrategy.ID);
+    cache.recordStrategy("second", PAGE, LocatorStrategy.ID);
+    cache.getStrategy("first", PAGE);
+    cache.recordStrategy("third", PAGE, LocatorStrategy.ID);
+
+    assertTrue(cache.getStrategy("first", PAGE).isPresent());
+    assertFalse(cache.getStrategy("second", PAGE).isPresent());
+    assertTrue(cache.getStrategy("third", PAGE).isPresent());
+  }
+}
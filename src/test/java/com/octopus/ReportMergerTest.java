@@ -0,0 +1,97 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.octopus.utils.ReportMerger;
+import com.octopus.utils.impl.ReportMergerImpl;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+public class ReportMergerTest {
+
+  private static final ReportMerger REPORT_MERGER = new ReportMergerImpl();
+  private static final String BACKGROUND = "{\"type\":\"background\",\"line\":3}";
+
+  @Test
+  public void keepsTheLatestJsonResultOfEachScenario() throws IOException {
+    final File directory = Files.createTempDirectory("reports").toFile();
+    try {
+      final File first = write(directory, "first.json", "[{\"uri\":\"a.feature\",\"name\":\"A\",\"elements\":["
+          + BACKGROUND + "," + scenario(5, "passed") + "," + BACKGROUND + "," + scenario(9, "failed") + "]}]");
+      final File second = write(directory, "second.json", "[{\"uri\":\"a.feature\",\"name\":\"A\",\"elements\":["
+          + BACKGROUND + "," + scenario(9, "passed") + "]}]");
+      final File merged = new File(directory, "merged.json");
+
+      assertTrue(REPORT_MERGER.mergeAttempts("json", List.of(first, second), merged));
+
+      final JsonArray features = JsonParser.parseString(FileUtils.readFileToString(merged, StandardCharsets.UTF_8))
+          .getAsJsonArray();
+      assertEquals(1, features.size());
+      final JsonArray elements = features.get(0).getAsJsonObject().getAsJsonArray("elements");
+      assertEquals(4, elements.size());
+      assertEquals("background", elements.get(2).getAsJsonObject().get("type").getAsString());
+      final JsonObject rerun = elements.get(3).getAsJsonObject();
+      assertEquals(9, rerun.get("line").getAsInt());
+      assertEquals("passed", rerun.get("status").getAsString());
+      assertFalse(first.exists());
+      assertFalse(second.exists());
+    } finally {
+      FileUtils.deleteQuietly(directory);
+    }
+  }
+
+  @Test
+  public void recountsTheJunitTotals() throws IOException {
+    final File directory = Files.createTempDirectory("reports").toFile();
+    try {
+      final File first = write(directory, "first.xml", "<testsuite tests=\"2\" failures=\"1\">"
+          + "<testcase classname=\"A\" name=\"one\"/>"
+          + "<testcase classname=\"A\" name=\"two\"><failure/></testcase></testsuite>");
+      final File second = write(directory, "second.xml", "<testsuite tests=\"1\" failures=\"0\">"
+          + "<testcase classname=\"A\" name=\"two\"/></testsuite>");
+      final File merged = new File(directory, "merged.xml");
+
+      assertTrue(REPORT_MERGER.mergeAttempts("junit", List.of(first, second), merged));
+
+      final String report = FileUtils.readFileToString(merged, StandardCharsets.UTF_8);
+      assertTrue(report.contains("tests=\"2\""));
+      assertTrue(report.contains("failures=\"0\""));
+      assertFalse(report.contains("<failure"));
+    } finally {
+      FileUtils.deleteQuietly(directory);
+    }
+  }
+
+  @Test
+  public void leavesHtmlReportsAsTheyAre() throws IOException {
+    final File directory = Files.createTempDirectory("reports").toFile();
+    try {
+      final File first = write(directory, "first.html", "<html></html>");
+
+      assertFalse(REPORT_MERGER.mergeAttempts("html", List.of(first), new File(directory, "merged.html")));
+      assertTrue(first.exists());
+    } finally {
+      FileUtils.deleteQuietly(directory);
+    }
+  }
+
+  private String scenario(final int line, final String status) {
+    return "{\"type\":\"scenario\",\"line\":" + line + ",\"status\":\"" + status + "\"}";
+  }
+
+  private File write(final File directory, final String name, final String content) throws IOException {
+    final File file = new File(directory, name);
+    FileUtils.write(file, content, StandardCharsets.UTF_8);
+    return file;
+  }
+}
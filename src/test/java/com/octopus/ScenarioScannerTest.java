@@ -0,0 +1,54 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+
+import com.octopus.utils.ScenarioScanner;
+import com.octopus.utils.impl.ScenarioScannerImpl;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+public class ScenarioScannerTest {
+
+  private static final ScenarioScanner SCENARIO_SCANNER = new ScenarioScannerImpl();
+
+  @Test
+  public void findsScenariosOutsideDocStrings() throws IOException {
+    final File feature = File.createTempFile("scanner", ".feature");
+    try {
+      FileUtils.write(feature, String.join("\n",
+          "Feature: Scanning",
+          "  Scenario: First",
+          "    Given I run the step",
+          "      \"\"\"",
+          "      Scenario: Not a scenario",
+          "      \"\"\"",
+          "  Scenario Outline: Second",
+          "    Given I run the step",
+          "    Examples:",
+          "      | a |",
+          "      | 1 |"), StandardCharsets.UTF_8);
+
+      assertEquals(
+          List.of(feature.getAbsolutePath() + ":2", feature.getAbsolutePath() + ":7"),
+          SCENARIO_SCANNER.getScenarioLocations(List.of(feature.getPath())));
+    } finally {
+      FileUtils.deleteQuietly(feature);
+    }
+  }
+
+  @Test
+  public void splitsLocationsWithLines() throws IOException {
+    final File feature = File.createTempFile("scanner", ".feature");
+    try {
+      assertEquals(
+          List.of(feature.getAbsolutePath() + ":3", feature.getAbsolutePath() + ":10"),
+          SCENARIO_SCANNER.getScenarioLocations(List.of(feature.getPath() + ":3:10")));
+    } finally {
+      FileUtils.deleteQuietly(feature);
+    }
+  }
+}
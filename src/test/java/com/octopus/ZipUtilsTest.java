@@ -0,0 +1,67 @@
+package com.octopus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.octopus.utils.ZipUtils;
+import com.octopus.utils.impl.ZipUtilsImpl;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+public class ZipUtilsTest {
+
+  private static final ZipUtils ZIP_UTILS = new ZipUtilsImpl();
+
+  @Test
+  public void extractsStreamedArchives() throws IOException {
+    final File directory = Files.createTempDirectory("unzip").toFile();
+    try {
+      ZIP_UTILS.unzipStream(
+          new ByteArrayInputStream(createZip("bin/driver", "readme.txt")),
+          directory.getAbsolutePath(),
+          Set.of("bin/driver"));
+
+      assertEquals("bin/driver", FileUtils.readFileToString(new File(directory, "bin/driver"), StandardCharsets.UTF_8));
+      assertTrue(new File(directory, "bin/driver").canExecute());
+      assertFalse(new File(directory, "readme.txt").canExecute());
+    } finally {
+      FileUtils.deleteQuietly(directory);
+    }
+  }
+
+  @Test(expected = ZipException.class)
+  public void rejectsEntriesOutsideTheOutputDirectory() throws IOException {
+    final File directory = Files.createTempDirectory("unzip").toFile();
+    try {
+      ZIP_UTILS.unzipStream(
+          new ByteArrayInputStream(createZip("../escaped.txt")),
+          directory.getAbsolutePath(),
+          Set.of());
+    } finally {
+      FileUtils.deleteQuietly(directory);
+    }
+  }
+
+  private byte[] createZip(final String... names) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (final ZipOutputStream zos = new ZipOutputStream(output)) {
+      for (final String name : names) {
+        zos.putNextEntry(new ZipEntry(name));
+        zos.write(name.getBytes(StandardCharsets.UTF_8));
+        zos.closeEntry();
+      }
+    }
+    return output.toByteArray();
+  }
+}